@@ -1,12 +1,23 @@
 package net.sf.jabref.benchmarks;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.Globals;
+import net.sf.jabref.logic.autocompleter.AutoCompletePreferences;
+import net.sf.jabref.logic.autocompleter.AutoCompleter;
+import net.sf.jabref.logic.autocompleter.AutoCompleterFactory;
+import net.sf.jabref.logic.bibtex.comparator.BibDatabaseDiff;
+import net.sf.jabref.logic.bst.VM;
+import net.sf.jabref.logic.duplicates.DuplicateFinder;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.StringSaveSession;
@@ -14,6 +25,8 @@ import net.sf.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import net.sf.jabref.logic.importer.ParseException;
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
+import net.sf.jabref.logic.importer.fileformat.ParallelBibtexParser;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
 import net.sf.jabref.logic.layout.format.HTMLChars;
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import net.sf.jabref.logic.search.SearchQuery;
@@ -23,17 +36,23 @@ import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.database.BibDatabaseModeDetection;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.groups.AllEntriesGroup;
 import net.sf.jabref.model.groups.GroupHierarchyType;
+import net.sf.jabref.model.groups.GroupMembershipIndex;
+import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.groups.KeywordGroup;
 import net.sf.jabref.model.groups.WordKeywordGroup;
 import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.model.search.SearchIndex;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.openjdk.jmh.Main;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.runner.RunnerException;
 
 @State(Scope.Thread)
@@ -41,6 +60,7 @@ public class Benchmarks {
 
     private String bibtexString;
     private final BibDatabase database = new BibDatabase();
+    private SearchIndex searchIndex;
     private String latexConversionString;
     private String htmlConversionString;
 
@@ -65,6 +85,7 @@ public class Benchmarks {
                 new BibDatabaseContext(database, new MetaData(), new Defaults()), database.getEntries(),
                 new SavePreferences());
         bibtexString = saveSession.getStringValue();
+        searchIndex = new SearchIndex(database);
 
         latexConversionString = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
 
@@ -77,6 +98,18 @@ public class Benchmarks {
         return parser.parse(new StringReader(bibtexString));
     }
 
+    @Benchmark
+    public ParserResult parseLargeFile(LargeFileState state) throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences());
+        return parser.parse(new StringReader(state.bibtexString));
+    }
+
+    @Benchmark
+    public ParserResult parallelParseLargeFile(LargeFileState state) throws IOException {
+        ParallelBibtexParser parser = new ParallelBibtexParser(Globals.prefs.getImportFormatPreferences(), state.pool);
+        return parser.parse(new StringReader(state.bibtexString));
+    }
+
     @Benchmark
     public String write() throws Exception {
         BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
@@ -100,6 +133,19 @@ public class Benchmarks {
         return database.getEntries().parallelStream().filter(searchQuery::isMatch).collect(Collectors.toList());
     }
 
+    @Benchmark
+    public List<BibEntry> indexedSearch() {
+        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
+        return searchQuery.getMatches(searchIndex);
+    }
+
+    @Benchmark
+    public List<BibEntry> indexedParallelSearch() {
+        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
+        return searchQuery.getCandidates(searchIndex).parallelStream().filter(searchQuery::isMatch)
+                .collect(Collectors.toList());
+    }
+
     @Benchmark
     public BibDatabaseMode inferBibDatabaseMode() {
         return BibDatabaseModeDetection.inferMode(database);
@@ -129,6 +175,214 @@ public class Benchmarks {
         return group.containsAll(database.getEntries());
     }
 
+    @Benchmark
+    public BibDatabaseDiff compareDatabases(DatabaseDiffState state) {
+        return BibDatabaseDiff.compare(state.originalEntries, state.changedEntries);
+    }
+
+    @Benchmark
+    public int keywordGroupsContain(KeywordGroupsState state) {
+        int hits = 0;
+        for (GroupTreeNode node : state.root.getChildren()) {
+            hits += node.numberOfMatches(state.database.getEntries());
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int keywordGroupsContainIndexed(KeywordGroupsState state) {
+        GroupMembershipIndex index = new GroupMembershipIndex(state.database);
+        int hits = 0;
+        for (GroupTreeNode node : state.root.getChildren()) {
+            hits += node.numberOfMatches(index);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public List<String> completeWord(AutoCompletionState state) {
+        return state.autoCompleter.complete("keyw");
+    }
+
+    @Benchmark
+    public String generateBbl(BstState state) {
+        return state.vm.run(state.entries);
+    }
+
+    @Benchmark
+    public List<List<BibEntry>> findDuplicates(DuplicatesState state) {
+        List<List<BibEntry>> duplicates = Collections.synchronizedList(new ArrayList<>());
+        new DuplicateFinder(BibDatabaseMode.BIBTEX).findDuplicates(state.entries,
+                (first, second) -> duplicates.add(Arrays.asList(first, second)), () -> false);
+        return duplicates;
+    }
+
+    @State(Scope.Benchmark)
+    public static class DuplicatesState {
+
+        @Param({"10000", "50000", "100000"})
+        private int size;
+
+        private final List<BibEntry> entries = new ArrayList<>();
+
+        @Setup
+        public void init() {
+            Random randomizer = new Random(42);
+            for (int i = 0; i < size; i++) {
+                // every tenth entry is a slightly modified copy of an earlier one
+                int number = (i % 10) == 0 ? randomizer.nextInt(i + 1) : i;
+                BibEntry entry = new BibEntry();
+                entry.setType("article");
+                entry.setField("title", "This is my title " + number + ((i % 10) == 0 ? "." : ""));
+                entry.setField("author", "Lastname" + (number % 5000) + ", Firstname and FirstnameA LastnameA");
+                entry.setField("journal", "Journal Title " + (number % 100));
+                entry.setField("year", String.valueOf(1950 + (number % 70)));
+                entries.add(entry);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DatabaseDiffState {
+
+        private final List<BibEntry> originalEntries = new ArrayList<>();
+        private final List<BibEntry> changedEntries = new ArrayList<>();
+
+        @Setup
+        public void init() {
+            for (int i = 0; i < 50000; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setType("article");
+                entry.setCiteKey("id" + i);
+                entry.setField("title", "This is my title " + i);
+                entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+                entry.setField("journal", "Journal Title " + i);
+                entry.setField("year", "1" + i);
+                originalEntries.add(entry);
+                changedEntries.add((BibEntry) entry.clone());
+            }
+
+            // 10 edits: modified fields and keys, a removed and an added entry
+            Random randomizer = new Random(42);
+            for (int i = 0; i < 8; i++) {
+                changedEntries.get(randomizer.nextInt(changedEntries.size())).setField("title", "Changed title " + i);
+            }
+            changedEntries.get(randomizer.nextInt(changedEntries.size())).setCiteKey("changedKey");
+            changedEntries.remove(randomizer.nextInt(changedEntries.size()));
+            changedEntries.add(new BibEntry().withField("title", "Added entry"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class KeywordGroupsState {
+
+        @Param({"1000", "100000"})
+        private int size;
+
+        private final BibDatabase database = new BibDatabase();
+        private final GroupTreeNode root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+
+        @Setup
+        public void init() {
+            Random randomizer = new Random(42);
+            for (int i = 0; i < size; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setCiteKey("id" + i);
+                entry.setField("title", "This is my title " + i);
+                entry.setField("keywords", "keyword" + randomizer.nextInt(1000) + ", Keyword"
+                        + randomizer.nextInt(1000) + ", keyword" + randomizer.nextInt(1000));
+                database.insertEntry(entry);
+            }
+            for (int i = 0; i < 1000; i++) {
+                root.addSubgroup(new WordKeywordGroup("group" + i, GroupHierarchyType.INDEPENDENT, "keywords",
+                        "keyword" + i, false, ',', true));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AutoCompletionState {
+
+        private AutoCompleter<String> autoCompleter;
+
+        @Setup
+        public void init() {
+            Globals.prefs = JabRefPreferences.getInstance();
+
+            autoCompleter = new AutoCompleterFactory(new AutoCompletePreferences(Globals.prefs),
+                    new JournalAbbreviationLoader()).getFor("keywords");
+            Random randomizer = new Random(42);
+            for (int i = 0; i < 100000; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setField("keywords", "keyword" + randomizer.nextInt(10000) + " Keyword"
+                        + randomizer.nextInt(10000) + " keyword" + randomizer.nextInt(100));
+                autoCompleter.addBibtexEntry(entry);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BstState {
+
+        private VM vm;
+        private final List<BibEntry> entries = new ArrayList<>();
+
+        @Setup
+        public void init() throws Exception {
+            vm = new VM(new File("src/test/resources/net/sf/jabref/logic/bst/abbrv.bst"));
+            for (int i = 0; i < 10000; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setType(i % 2 == 0 ? "article" : "inproceedings");
+                entry.setCiteKey("id" + i);
+                entry.setField("title", "This is my title " + i);
+                entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+                entry.setField("journal", "Journal Title " + i);
+                entry.setField("booktitle", "Proceedings Title " + i);
+                entry.setField("pages", i + "--" + (i + 10));
+                entry.setField("year", String.valueOf(1950 + (i % 70)));
+                entries.add(entry);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LargeFileState {
+
+        @Param({"1", "2", "4", "8"})
+        private int parallelism;
+
+        private String bibtexString;
+        private ForkJoinPool pool;
+
+        @Setup
+        public void init() throws Exception {
+            Globals.prefs = JabRefPreferences.getInstance();
+
+            BibDatabase largeDatabase = new BibDatabase();
+            for (int i = 0; i < 100000; i++) {
+                BibEntry entry = new BibEntry();
+                entry.setCiteKey("id" + i);
+                entry.setField("title", "This is my title " + i);
+                entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+                entry.setField("journal", "Journal Title " + i);
+                entry.setField("keyword", "testkeyword");
+                entry.setField("year", "1" + i);
+                largeDatabase.insertEntry(entry);
+            }
+            BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
+            StringSaveSession saveSession = databaseWriter.savePartOfDatabase(
+                    new BibDatabaseContext(largeDatabase, new MetaData(), new Defaults()), largeDatabase.getEntries(),
+                    new SavePreferences());
+            bibtexString = saveSession.getStringValue();
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown
+        public void shutdown() {
+            pool.shutdown();
+        }
+    }
+
     public static void main(String[] args) throws IOException, RunnerException {
         Main.main(args);
     }
@@ -17,7 +17,7 @@ import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
-import net.sf.jabref.logic.bibtex.comparator.EntryComparator;
+import net.sf.jabref.logic.bibtex.comparator.BibDatabaseDiff;
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
 import net.sf.jabref.logic.exporter.FileSaveSession;
@@ -29,14 +29,11 @@ import net.sf.jabref.logic.importer.OpenDatabase;
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.Defaults;
-import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
-import net.sf.jabref.model.database.EntrySorter;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
-import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -47,8 +44,6 @@ import org.apache.commons.logging.LogFactory;
 public class ChangeScanner implements Runnable {
     private static final Log LOGGER = LogFactory.getLog(ChangeScanner.class);
 
-    private static final String[] SORT_BY = new String[] {FieldName.YEAR, FieldName.AUTHOR, FieldName.TITLE};
-
     private final File file;
     private final BibDatabase databaseInMemory;
     private final MetaData metadataInMemory;
@@ -58,8 +53,6 @@ public class ChangeScanner implements Runnable {
     private BibDatabase databaseInTemp;
     private MetaData metadataInTemp;
 
-    private static final double MATCH_THRESHOLD = 0.4;
-
     /**
      * We create an ArrayList to hold the changes we find. These will be added in the form
      * of UndoEdit objects. We instantiate these so that the changes found in the file on disk
@@ -93,26 +86,12 @@ public class ChangeScanner implements Runnable {
             BibDatabase databaseOnDisk = result.getDatabase();
             MetaData metadataOnDisk = result.getMetaData();
 
-            // Sort both databases according to a common sort key.
-            EntryComparator comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInTemp = databaseInTemp.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterOnDisk = databaseOnDisk.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInMem = databaseInMemory.getSorter(comparator);
-
             // Start looking at changes.
             scanMetaData(metadataInMemory, metadataInTemp, metadataOnDisk);
             scanPreamble(databaseInMemory, databaseInTemp, databaseOnDisk);
             scanStrings(databaseInMemory, databaseInTemp, databaseOnDisk);
 
-            scanEntries(sorterInMem, sorterInTemp, sorterOnDisk);
+            scanEntries(databaseInMemory, databaseInTemp, databaseOnDisk);
 
             scanGroups(metadataInTemp, metadataOnDisk);
 
@@ -175,147 +154,36 @@ public class ChangeScanner implements Runnable {
         }
     }
 
-    private void scanEntries(EntrySorter memorySorter, EntrySorter tmpSorter, EntrySorter diskSorter) {
-
-        // Create pointers that are incremented as the entries of each base are used in
-        // successive order from the beginning. Entries "further down" in the "disk" base
-        // can also be matched.
-        int piv1;
-        int piv2 = 0;
-
-        // Create a HashSet where we can put references to entry numbers in the "disk"
-        // database that we have matched. This is to avoid matching them twice.
-        Set<String> used = new HashSet<>(diskSorter.getEntryCount());
-        Set<Integer> notMatched = new HashSet<>(tmpSorter.getEntryCount());
-
-        // Loop through the entries of the "tmp" database, looking for exact matches in the "disk" one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
-        // match being "stolen" from another entry.
-        mainLoop:
-        for (piv1 = 0; piv1 < tmpSorter.getEntryCount(); piv1++) {
-
-            // First check if the similarly placed entry in the other base matches exactly.
-            double comp = -1;
-            // (if there are not any entries left in the "disk" database, comp will stay at -1,
-            // and this entry will be marked as nonmatched).
-            if (!used.contains(String.valueOf(piv2)) && (piv2 < diskSorter.getEntryCount())) {
-                comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(piv2));
-            }
-            if (comp > 1) {
-                used.add(String.valueOf(piv2));
-                piv2++;
-                continue;
-            }
-
-            // No? Then check if another entry matches exactly.
-            if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                for (int i = piv2 + 1; i < diskSorter.getEntryCount(); i++) {
-                    if (used.contains(String.valueOf(i))) {
-                        comp = -1;
-                    } else {
-                        comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                    }
-
-                    if (comp > 1) {
-                        used.add(String.valueOf(i));
-                        continue mainLoop;
-                    }
-                }
-            }
-
-            // No? Add this entry to the list of nonmatched entries.
-            notMatched.add(piv1);
+    private void scanEntries(BibDatabase inMemory, BibDatabase onTmp, BibDatabase onDisk) {
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(onTmp.getEntries(), onDisk.getEntries());
+        if (diff.getModifiedEntries().isEmpty() && diff.getRemovedEntries().isEmpty()
+                && diff.getAddedEntries().isEmpty()) {
+            return;
         }
 
-        // Now we've found all exact matches, look through the remaining entries, looking
-        // for close matches.
-        if (!notMatched.isEmpty()) {
-
-            for (Iterator<Integer> it = notMatched.iterator(); it.hasNext(); ) {
-
-                piv1 = it.next();
-
-                // These two variables will keep track of which entry most closely matches the
-                // one we're looking at, in case none matches completely.
-                int bestMatchI = -1;
-                double bestMatch = 0;
-                double comp;
-
-                if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                    for (int i = piv2; i < diskSorter.getEntryCount(); i++) {
-                        if (used.contains(String.valueOf(i))) {
-                            comp = -1;
-                        } else {
-                            comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                        }
-
-                        if (comp > bestMatch) {
-                            bestMatch = comp;
-                            bestMatchI = i;
-                        }
-                    }
-                }
-
-                if (bestMatch > MATCH_THRESHOLD) {
-                    used.add(String.valueOf(bestMatchI));
-                    it.remove();
-
-                    changes.add(new EntryChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1),
-                            diskSorter.getEntryAt(bestMatchI)));
-                } else {
-                    changes.add(
-                            new EntryDeleteChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1)));
-                }
-
-            }
-
+        BibDatabaseDiff.EntryIndex memoryEntries = new BibDatabaseDiff.EntryIndex(inMemory.getEntries());
+        for (BibDatabaseDiff.EntryModification modification : diff.getModifiedEntries()) {
+            changes.add(new EntryChange(bestFit(memoryEntries, modification.getOriginalEntry()),
+                    modification.getOriginalEntry(), modification.getNewEntry()));
+        }
+        for (BibEntry removedEntry : diff.getRemovedEntries()) {
+            changes.add(new EntryDeleteChange(bestFit(memoryEntries, removedEntry), removedEntry));
         }
 
-        // Finally, look if there are still untouched entries in the disk database. These
-        // may have been added.
-        if (used.size() < diskSorter.getEntryCount()) {
-            for (int i = 0; i < diskSorter.getEntryCount(); i++) {
-                if (!used.contains(String.valueOf(i))) {
-
-                    // See if there is an identical dupe in the mem database:
-                    boolean hasAlready = false;
-                    for (int j = 0; j < memorySorter.getEntryCount(); j++) {
-                        if (DuplicateCheck.compareEntriesStrictly(memorySorter.getEntryAt(j), diskSorter.getEntryAt(i)) >= 1) {
-                            hasAlready = true;
-                            break;
-                        }
-                    }
-                    if (!hasAlready) {
-                        changes.add(new EntryAddChange(diskSorter.getEntryAt(i)));
-                    }
-                }
+        // Entries which are only on disk may have been added, unless there is an identical one in memory.
+        for (BibEntry addedEntry : diff.getAddedEntries()) {
+            if (!memoryEntries.findEqual(addedEntry).isPresent()) {
+                changes.add(new EntryAddChange(addedEntry));
             }
         }
     }
 
     /**
-     * Finds the entry in neu best fitting the specified entry in old. If no entries get a score
+     * Finds the entry in memory best fitting the specified entry of the temporary file. If no entries get a score
      * above zero, an entry is still returned.
-     *
-     * @param oldSorter   EntrySorter
-     * @param newSorter   EntrySorter
-     * @param index int
-     * @return BibEntry
      */
-    private static BibEntry bestFit(EntrySorter oldSorter, EntrySorter newSorter, int index) {
-        double comp = -1;
-        int found = 0;
-        for (int i = 0; i < newSorter.getEntryCount(); i++) {
-            double res = DuplicateCheck.compareEntriesStrictly(oldSorter.getEntryAt(index), newSorter.getEntryAt(i));
-            if (res > comp) {
-                comp = res;
-                found = i;
-            }
-            if (comp > 1) {
-                break;
-            }
-        }
-        return newSorter.getEntryAt(found);
+    private static BibEntry bestFit(BibDatabaseDiff.EntryIndex memoryEntries, BibEntry entry) {
+        return memoryEntries.findBestMatch(entry, -1).orElse(entry);
     }
 
     private void scanPreamble(BibDatabase inMemory, BibDatabase onTmp, BibDatabase onDisk) {
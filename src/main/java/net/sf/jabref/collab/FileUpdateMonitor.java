@@ -2,10 +2,21 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.jabref.logic.util.io.FileUtil;
 
@@ -13,38 +24,159 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
- * This thread monitors a set of files, each associated with a FileUpdateListener, for changes
- * in the file's last modification time stamp. The
+ * This thread monitors a set of files, each associated with a FileUpdateListener, for changes in the file's last
+ * modification time stamp or size.
+ * <p>
+ * The directories of the files are watched by a {@link WatchService}. Reported changes are only checked after no
+ * further change was reported for {@link #DEBOUNCE_DELAY} ms, so that a file being written is reported once. A change
+ * is only reported to the listener if the time stamp or size differs from the one stored for the file, thus own
+ * writes followed by {@link #updateTimeStamp(String)} are ignored. Files which cannot be watched, e.g., because the
+ * file system does not support it, are polled every {@link #WAIT} ms. This includes files on network file systems, as
+ * changes made by other machines are not reported for them. As a safety net, watched files are polled every
+ * {@link #WATCHED_WAIT} ms.
  */
 public class FileUpdateMonitor implements Runnable {
     private static final Log LOGGER = LogFactory.getLog(FileUpdateMonitor.class);
 
     private static final int WAIT = 4000;
+    private static final int WATCHED_WAIT = 60000;
+    private static final int DEBOUNCE_DELAY = 500;
+
+    /**
+     * Types of file stores, whose files may be changed by other machines without the watch service noticing
+     */
+    private static final Set<String> NETWORK_FILE_STORE_TYPES = new HashSet<>(Arrays.asList("cifs", "smb", "smbfs",
+            "smb2", "nfs", "nfs4", "afpfs", "webdav", "davfs", "fuse.sshfs", "9p"));
 
     private int numberOfUpdateListener;
-    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
 
     @Override
     public void run() {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            watchService = service;
+            // files added before the service was available, they may have changed in the meantime
+            for (Entry entry : entries.values()) {
+                watch(entry);
+                entry.markChanged();
+            }
+            monitor(service);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.info("Cannot watch files for changes, polling them instead", e);
+            monitor(null);
+        } finally {
+            watchService = null;
+        }
+    }
+
+    private void monitor(WatchService service) {
+        long lastPoll = System.currentTimeMillis();
+        long lastWatchedPoll = lastPoll;
         // The running variable is used to make the thread stop when needed.
         while (true) {
-            for(Entry e : entries.values()) {
-                try {
-                    if (e.hasBeenUpdated()) {
-                        e.notifyListener();
+            try {
+                if (service == null) {
+                    Thread.sleep(WAIT);
+                } else {
+                    WatchKey key = service.poll(hasPendingChanges() ? DEBOUNCE_DELAY : WAIT, TimeUnit.MILLISECONDS);
+                    while (key != null) {
+                        processEvents(key);
+                        key = service.poll();
                     }
-                } catch (IOException ex) {
-                    e.notifyFileRemoved();
                 }
-            }
-
-            // Sleep for a while before starting a new polling round.
-            try {
-                Thread.sleep(WAIT);
-            } catch (InterruptedException ex) {
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
                 LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
                 return;
             }
+
+            long now = System.currentTimeMillis();
+            boolean pollingRound = (now - lastPoll) >= WAIT;
+            if (pollingRound) {
+                lastPoll = now;
+            }
+            boolean watchedPollingRound = (now - lastWatchedPoll) >= WATCHED_WAIT;
+            if (watchedPollingRound) {
+                lastWatchedPoll = now;
+            }
+            for (Entry e : entries.values()) {
+                if ((pollingRound && !e.isWatched()) || watchedPollingRound
+                        || e.isChangePendingSince(now - DEBOUNCE_DELAY)) {
+                    check(e);
+                }
+            }
+        }
+    }
+
+    private void processEvents(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            for (Entry e : entries.values()) {
+                if (e.isInDirectory(directory) && ((event.kind() == StandardWatchEventKinds.OVERFLOW)
+                        || e.hasFileName((Path) event.context()))) {
+                    e.markChanged();
+                }
+            }
+        }
+        if (!key.reset()) {
+            // the directory is no longer accessible, check and poll the files from now on
+            watchedDirectories.remove(directory, key);
+            for (Entry e : entries.values()) {
+                if (e.isInDirectory(directory)) {
+                    e.setWatched(false);
+                    e.markChanged();
+                }
+            }
+        }
+    }
+
+    private boolean hasPendingChanges() {
+        return entries.values().stream().anyMatch(Entry::isChangePending);
+    }
+
+    private static void check(Entry e) {
+        e.clearChangePending();
+        try {
+            if (e.hasBeenUpdated()) {
+                e.notifyListener();
+            }
+        } catch (IOException ex) {
+            e.notifyFileRemoved();
+        }
+    }
+
+    private void watch(Entry entry) {
+        WatchService service = watchService;
+        if ((service == null) || entry.isWatched()) {
+            return;
+        }
+
+        Path directory = entry.getDirectory();
+        if (isOnNetworkFileStore(directory)) {
+            LOGGER.info(directory + " is on a network file system, polling it instead of watching it");
+            return;
+        }
+        try {
+            WatchKey key = watchedDirectories.get(directory);
+            if ((key == null) || !key.isValid()) {
+                key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirectories.put(directory, key);
+            }
+            entry.setWatched(true);
+        } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+            LOGGER.info("Cannot watch " + directory + " for changes, polling it instead", e);
+        }
+    }
+
+    private static boolean isOnNetworkFileStore(Path directory) {
+        try {
+            String type = Files.getFileStore(directory).type().toLowerCase(Locale.ENGLISH);
+            return NETWORK_FILE_STORE_TYPES.contains(type);
+        } catch (IOException e) {
+            LOGGER.debug("Cannot determine the file system of " + directory, e);
+            return false;
         }
     }
 
@@ -58,9 +190,14 @@ public class FileUpdateMonitor implements Runnable {
         if (!file.exists()) {
             throw new IOException("File not found");
         }
-        numberOfUpdateListener++;
-        String key = String.valueOf(numberOfUpdateListener);
-        entries.put(key, new Entry(ul, file.toPath()));
+        String key;
+        synchronized (this) {
+            numberOfUpdateListener++;
+            key = String.valueOf(numberOfUpdateListener);
+        }
+        Entry entry = new Entry(ul, file.toPath());
+        entries.put(key, entry);
+        watch(entry);
         return key;
     }
 
@@ -92,6 +229,8 @@ public class FileUpdateMonitor implements Runnable {
         Entry entry = entries.get(handle);
         if (entry != null) {
             entry.decreaseTimeStamp();
+            // the file will not be reported as changed again, thus check it again after a delay
+            entry.markChanged();
         }
     }
 
@@ -100,7 +239,17 @@ public class FileUpdateMonitor implements Runnable {
      * @param handle String The handle for the listener to remove.
      */
     public void removeUpdateListener(String handle) {
-        entries.remove(handle);
+        Entry removed = entries.remove(handle);
+        if ((removed != null) && removed.isWatched()) {
+            Path directory = removed.getDirectory();
+            boolean stillWatched = entries.values().stream().anyMatch(entry -> entry.isInDirectory(directory));
+            if (!stillWatched) {
+                WatchKey key = watchedDirectories.remove(directory);
+                if (key != null) {
+                    key.cancel();
+                }
+            }
+        }
     }
 
     public void updateTimeStamp(String key) {
@@ -138,13 +287,16 @@ public class FileUpdateMonitor implements Runnable {
         private final FileUpdateListener listener;
         private final Path file;
         private final Path tmpFile;
-        private long timeStamp;
-        private long fileSize;
+        private volatile long timeStamp;
+        private volatile long fileSize;
+        private volatile boolean watched;
+        /** the time of the last reported change which was not checked yet, 0 if there is none */
+        private volatile long changePendingSince;
 
 
         public Entry(FileUpdateListener ul, Path f) throws IOException {
             listener = ul;
-            file = f;
+            file = f.toAbsolutePath();
             timeStamp = Files.getLastModifiedTime(file).toMillis();
             fileSize = Files.size(file);
             tmpFile = FileUpdateMonitor.getTempFile();
@@ -208,6 +360,46 @@ public class FileUpdateMonitor implements Runnable {
         public void decreaseTimeStamp() {
             timeStamp--;
         }
+
+        public Path getDirectory() {
+            return file.getParent();
+        }
+
+        public boolean isInDirectory(Path directory) {
+            return directory.equals(getDirectory());
+        }
+
+        public boolean hasFileName(Path fileName) {
+            return file.getFileName().equals(fileName);
+        }
+
+        public boolean isWatched() {
+            return watched;
+        }
+
+        public void setWatched(boolean watched) {
+            this.watched = watched;
+        }
+
+        public void markChanged() {
+            changePendingSince = System.currentTimeMillis();
+        }
+
+        public void clearChangePending() {
+            changePendingSince = 0;
+        }
+
+        public boolean isChangePending() {
+            return changePendingSince != 0;
+        }
+
+        /**
+         * Returns whether a change is pending, which was reported at or before the given time
+         */
+        public boolean isChangePendingSince(long time) {
+            long since = changePendingSince;
+            return (since != 0) && (since <= time);
+        }
     }
 
 
@@ -9,14 +9,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
-import java.util.stream.Collectors;
 
 import com.google.common.eventbus.Subscribe;
 import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefException;
 import net.sf.jabref.JabRefExecutorService;
-import net.sf.jabref.gui.worker.Worker;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
@@ -26,22 +23,21 @@ import net.sf.jabref.model.metadata.event.MetaDataChangedEvent;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.CLOSED;
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.NOT_IN_USE;
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.SEARCHABLE;
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.WRITING;
 import static net.sf.jabref.logic.util.io.FileUtil.getListOfLinkedFiles;
 
 
-public class FullTextIndexer implements Worker {
-
-    private static final long PERIOD = 5000L;
+/**
+ * Maintains the full text index of the files linked to the entries of a database.
+ * <p>
+ * Changes of the database are handed over to an {@link IndexingPipeline}, which extracts and indexes the files in the
+ * background. When the indexer is set up, all linked files are checked and the changed ones are reindexed.
+ */
+public class FullTextIndexer {
 
     private static final Log LOGGER = LogFactory.getLog(FullTextIndexer.class);
     private final BibDatabaseContext databaseContext;
     private final LuceneTools lt;
-    private Set<LuceneID> toUpdate;
-    private ScheduledFuture<?> futureTask;
+    private IndexingPipeline pipeline;
 
 
     public FullTextIndexer(final BibDatabaseContext databaseContext) {
@@ -49,28 +45,12 @@ public class FullTextIndexer implements Worker {
         lt = new LuceneTools();
     }
 
-    @Override
-    public void run() {
-        if( toUpdate.isEmpty() ) return;
-
-        try {
-            lt.openWriter();
-            /*int res = JOptionPane.showConfirmDialog(null, "There are " + toUpdate.size() + " files to reindex. Do you want to do it now?", "Reindex", JOptionPane.YES_NO_OPTION);
-            if( res == JOptionPane.YES_OPTION ) {*/
-            LOGGER.info("Re-indexing.");
-            toUpdate.forEach(d -> {
-                lt.updateLuceneDocument(d);
-                toUpdate.remove(d);
-            });
-            //}
-            lt.closeWriter();
-        } catch (Exception e) {
-            LOGGER.error(e.getMessage(), e);
-            e.printStackTrace();
+    public synchronized void setup() throws JabRefException {
+        if( isInUse() ) {
+            LOGGER.debug("Indexer is already set up");
+            return;
         }
-    }
 
-    public void setup() throws JabRefException {
         LOGGER.debug("Setting up indexer");
         final Optional<Path> dbPath = databaseContext.getDatabasePath();
 
@@ -78,42 +58,56 @@ public class FullTextIndexer implements Worker {
 
         Path indexDir = Paths.get(dbPath.get() + ".lucene");
         try {
-            lt.setDirectory(indexDir);
-            if( lt.isEmpty() ) {
-                LOGGER.warn("Index is still empty");
-                lt.createEmptyIndex();
-            }
-            lt.open();
-            toUpdate = isNotUpToDate();
-
-            futureTask = JabRefExecutorService.INSTANCE.scheduleWithFixedDelay(this, 100L, PERIOD);
-
+            lt.open(indexDir);
         } catch (final IOException e) {
             throw new JabRefException("Exception opening/creating the fulltext index", e);
         }
+        pipeline = new IndexingPipeline(lt);
 
         databaseContext.getDatabase()
                 .registerListener(this);
         databaseContext.getMetaData()
                 .registerListener(this);
+
+        // the modification times of the files are checked in the background
+        final List<BibEntry> entries = databaseContext.getDatabase().getEntries();
+        JabRefExecutorService.INSTANCE.execute(() -> entries.forEach(entry -> insertEntry(entry, false)));
     }
 
 
-    public void tearDown() throws JabRefException {
-        if( lt.getStatus() != CLOSED ) throw new JabRefException("Close indexer before destroying it");
+    public synchronized void tearDown() throws JabRefException {
+        if( !isInUse() ) return;
 
         LOGGER.debug("Destroying DB");
         databaseContext.getDatabase()
                 .unregisterListener(this);
 
-        futureTask.cancel(true);
+        pipeline.shutdown();
+        pipeline = null;
+
+        try {
+            lt.close();
+        } catch (final IOException e) {
+            throw new JabRefException("Error closing the fulltext index", e);
+        }
+    }
+
+    private synchronized boolean isInUse() {
+        return pipeline != null;
+    }
 
-        lt.setUnused();
+    /**
+     * Returns the progress of the indexing done in the background
+     */
+    public synchronized Optional<IndexingProgress> getProgress() {
+        return Optional.ofNullable(pipeline).map(IndexingPipeline::getProgress);
     }
 
 
     @Subscribe
-    public void listen(final FieldChangedEvent fieldChangedEvent) {
+    public synchronized void listen(final FieldChangedEvent fieldChangedEvent) {
+        if( !isInUse() ) return;
+
         final String oldValue = fieldChangedEvent.getOldValue();
         final String newValue = fieldChangedEvent.getNewValue();
         if( "file".equals(fieldChangedEvent.getFieldName()) ) {
@@ -123,9 +117,8 @@ public class FullTextIndexer implements Worker {
             fieldChangedEvent.getBibEntry()
                     .getCiteKeyOptional()
                     .ifPresent(key -> {
-
-                        final Set<File> oldFiles = new HashSet<>(getListOfLinkedFiles(oldValue, databaseContext.getFileDirectories(Globals.prefs.getFileDirectoryPreferences())));
-                        final Set<File> newFiles = new HashSet<>(getListOfLinkedFiles(newValue, databaseContext.getFileDirectories(Globals.prefs.getFileDirectoryPreferences())));
+                        final Set<File> oldFiles = new HashSet<>(getListOfLinkedFiles(oldValue, getFileDirectories()));
+                        final Set<File> newFiles = new HashSet<>(getListOfLinkedFiles(newValue, getFileDirectories()));
 
                         final Set<File> added = new HashSet<>(newFiles);
                         added.removeAll(oldFiles);
@@ -133,113 +126,45 @@ public class FullTextIndexer implements Worker {
                         final Set<File> removed = new HashSet<>(oldFiles);
                         removed.removeAll(newFiles);
 
-                        try {
-                            LOGGER.info("update in lucene, file " + oldValue + " to " + newValue);
-                            switch( lt.getStatus() ) {
-                                case SEARCHABLE:
-                                case CLOSED:
-                                    lt.openWriter();
-                                    for( final File f : added ) lt.indexFile(new LuceneID(f, key));
-                                    for( final File f : removed ) lt.removeFile(new LuceneID(f, key));
-                                    lt.closeWriter();
-                                    break;
-                                case WRITING:
-                                    lt.changeEntryKey(oldValue, newValue);
-                                    break;
-                                case NOT_IN_USE:
-                                    LOGGER.warn("Not in use: should not be listening");
-                                    break;
-                            }
-                        } catch (final Exception e) {
-                            e.printStackTrace();
-                        }
+                        LOGGER.info("update in lucene, file " + oldValue + " to " + newValue);
+                        for( final File f : removed ) pipeline.remove(new LuceneID(f, key));
+                        for( final File f : added ) pipeline.index(new LuceneID(f, key), false);
                     });
         }
-        if( fieldChangedEvent.getFieldName()
-                .equals(BibEntry.KEY_FIELD) ) {
-            try {
-                LOGGER.info("update in lucene, changing ID from " + oldValue + " to " + newValue);
-                switch( lt.getStatus() ) {
-                    case SEARCHABLE:
-                    case CLOSED:
-                        lt.openWriter();
-                        lt.changeEntryKey(oldValue, newValue);
-                        lt.closeWriter();
-                        break;
-                    case WRITING:
-                        lt.changeEntryKey(oldValue, newValue);
-                        break;
-                    case NOT_IN_USE:
-                        LOGGER.warn("Not in use: should not be listening");
-                        break;
-                }
-            } catch (final Exception e) {
-                e.printStackTrace();
-            }
+        if( BibEntry.KEY_FIELD.equals(fieldChangedEvent.getFieldName()) ) {
+            LOGGER.info("update in lucene, changing ID from " + oldValue + " to " + newValue);
+            // the key is part of the document id, so the files are indexed again under the new key
+            if( oldValue != null ) pipeline.removeEntry(oldValue);
+            if( newValue != null ) indexFiles(fieldChangedEvent.getBibEntry(), newValue, true);
         }
     }
 
     @Subscribe
-    public void listen(final EntryRemovedEvent entryRemovedEvent) {
-        final BibEntry entry = entryRemovedEvent.getBibEntry();
-        try {
-            switch( lt.getStatus() ) {
-                case SEARCHABLE:
-                case CLOSED:
-                    lt.openWriter();
-                    removeEntry(entry);
-                    lt.closeWriter();
-                    break;
-                case WRITING:
-                    removeEntry(entry);
-                    break;
-                case NOT_IN_USE:
-                    LOGGER.warn("Not in use: should not be listening");
-                    break;
-            }
-        } catch (final Exception e) {
-            e.printStackTrace();
-        }
+    public synchronized void listen(final EntryRemovedEvent entryRemovedEvent) {
+        if( !isInUse() ) return;
+
+        removeEntry(entryRemovedEvent.getBibEntry());
     }
 
     @Subscribe
-    public void listen(final EntryAddedEvent entryAddedEvent) {
-        final BibEntry entry = entryAddedEvent.getBibEntry();
-        try {
-            switch( lt.getStatus() ) {
-                case SEARCHABLE:
-                case CLOSED:
-                    lt.openWriter();
-                    insertEntry(entry);
-                    lt.closeWriter();
-                    break;
-                case WRITING:
-                    insertEntry(entry);
-                    break;
-                case NOT_IN_USE:
-                    LOGGER.warn("Not in use: should not be listening");
-                    break;
-            }
-        } catch (final Exception e) {
-            e.printStackTrace();
-        }
+    public synchronized void listen(final EntryAddedEvent entryAddedEvent) {
+        if( !isInUse() ) return;
+
+        insertEntry(entryAddedEvent.getBibEntry(), false);
     }
 
 
     @Subscribe
     public void listen(final MetaDataChangedEvent event) {
-        LOGGER.debug(lt.getStatus());
         try {
-            if( lt.getStatus() != NOT_IN_USE && !event.getMetaData()
+            if( isInUse() && !event.getMetaData()
                     .isFullTextIndexed() ) {
                 LOGGER.debug("Time to destroy the world");
-                lt.close();
                 tearDown();
-            } else if( lt.getStatus() == NOT_IN_USE && event.getMetaData()
+            } else if( !isInUse() && event.getMetaData()
                     .isFullTextIndexed() ) {
                 LOGGER.debug("Going live");
                 setup();
-                lt.open();
             }
         } catch (final JabRefException e) {
             LOGGER.error(e.getLocalizedMessage());
@@ -247,27 +172,23 @@ public class FullTextIndexer implements Worker {
     }
 
 
-
-    public void recreateIndex() throws JabRefException {
-        lt.openWriter();
-
-        try {
-            LOGGER.debug("recreating. Deleting everything");
-            lt.empty();
-            for( final BibEntry entry : databaseContext.getDatabase()
-                    .getEntries() ) {
-                insertEntry(entry);
-            }
-
-            lt.closeWriter();
-        } catch (final IOException e) {
-            e.printStackTrace();
+    /**
+     * Deletes the index and indexes all linked files again in the background
+     */
+    public synchronized void recreateIndex() throws JabRefException {
+        if( !isInUse() ) throw new JabRefException("Indexer is not set up");
+
+        LOGGER.debug("recreating. Deleting everything");
+        pipeline.removeAll();
+        for( final BibEntry entry : databaseContext.getDatabase()
+                .getEntries() ) {
+            insertEntry(entry, true);
         }
     }
 
 
-    private void insertEntry(final BibEntry entry) throws JabRefException {
-        if( lt.getStatus() != WRITING ) throw new JabRefException("Indexer not in writing state");
+    private synchronized void insertEntry(final BibEntry entry, final boolean force) {
+        if( !isInUse() ) return;
 
         if( !entry.getCiteKeyOptional()
                 .isPresent() ) {
@@ -275,91 +196,46 @@ public class FullTextIndexer implements Worker {
             return;
         }
 
-        final String key = entry.getCiteKeyOptional()
-                .get();
+        indexFiles(entry, entry.getCiteKeyOptional().get(), force);
+    }
 
-        final List<File> files = getListOfLinkedFiles(Collections.singletonList(entry), databaseContext.getFileDirectories(Globals.prefs.getFileDirectoryPreferences()));
+    private void indexFiles(final BibEntry entry, final String key, final boolean force) {
+        final List<File> files = getListOfLinkedFiles(Collections.singletonList(entry), getFileDirectories());
         if( files.isEmpty() ) {
-            LOGGER.warn("Not indexing entry " + key + " , which is without files");
+            LOGGER.debug("Not indexing entry " + key + " , which is without files");
             return;
         }
 
         for( final File file : files )
-            lt.indexFile(new LuceneID(file, key));
+            pipeline.index(new LuceneID(file, key), force);
     }
 
 
-    private void removeEntry(final BibEntry entry) throws JabRefException {
-
-        if( lt.getStatus() != WRITING ) throw new JabRefException("Indexer not in writing state");
-
+    private void removeEntry(final BibEntry entry) {
         if( !entry.getCiteKeyOptional()
                 .isPresent() ) {
             LOGGER.info("Not removing entry without cite key");
             return;
         }
 
-        final String key = entry.getCiteKeyOptional()
-                .get();
-
-        LOGGER.info("Removing entry data for cite key " + key);
-        try {
-            lt.removeFile(new LuceneID(null, key));
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-
-
-    /**
-     * Gives the set of all non-up-to-date entries in the database
-     */
-    private Set<LuceneID> isNotUpToDate() throws JabRefException {
-        if( lt.getStatus() != SEARCHABLE && lt.getStatus() != WRITING )
-            throw new JabRefException("Indexer not in searchable or writable state");
-
-        return databaseContext.getDatabase()
-                .getEntries()
-                .stream()
-                .map(this::isNotUpToDate)
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        pipeline.removeEntry(entry.getCiteKeyOptional().get());
     }
 
-    private Set<LuceneID> isNotUpToDate(BibEntry entry) {
-        if( !entry.getCiteKeyOptional().isPresent() ) {
-            LOGGER.info("Not checking entry without cite key");
-            return Collections.emptySet();
-        }
-
-        final String key = entry.getCiteKeyOptional().get();
-
-        final List<File> files = getListOfLinkedFiles(Collections.singletonList(entry), databaseContext.getFileDirectories(Globals.prefs.getFileDirectoryPreferences()));
-        if( files.isEmpty() ) {
-            LOGGER.warn("Not indexing entry "+key+" , which is without files");
-            return Collections.emptySet();
-        }
-
-        final Set<LuceneID> res = new HashSet<>();
-        files.forEach(file -> {
-            LuceneID lID = new LuceneID(file, key);
-            Optional<Integer> id = lt.lookupDocument(lID);
-
-            if( id.isPresent() ) {
-                lID.id = id.get();
-                if( lt.isUpToDate(lID) )
-                    return;
-            }
-
-            res.add(lID);
-        });
-
-        return res;
+    private List<String> getFileDirectories() {
+        return databaseContext.getFileDirectories(Globals.prefs.getFileDirectoryPreferences());
     }
 
 
     public Set<String> searchForString(String query) throws JabRefException {
         return lt.searchForString(query);
     }
+
+    /**
+     * Returns the hits of the given query in the order of their relevance
+     *
+     * @param query The query, in standard Lucene syntax
+     */
+    public FullTextSearchResult search(String query) throws JabRefException {
+        return lt.search(query);
+    }
 }
@@ -0,0 +1,85 @@
+package net.sf.jabref.fulltext.indexing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * The hits of a full text search, ordered by relevance. Each hit stands for the files of one BibTeX key.
+ */
+public class FullTextSearchResult {
+
+    private final List<Hit> hits;
+
+
+    FullTextSearchResult(List<Hit> hits) {
+        this.hits = Collections.unmodifiableList(new ArrayList<>(hits));
+    }
+
+    /**
+     * Returns the hits, the most relevant one first
+     */
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public Set<String> getKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Hit hit : hits) {
+            keys.add(hit.getCiteKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the entries of the database the hits belong to, the most relevant one first. The entries are looked up
+     * in the BibTeX key index of the database.
+     */
+    public List<BibEntry> getEntries(BibDatabase database) {
+        List<BibEntry> entries = new ArrayList<>();
+        Set<BibEntry> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Hit hit : hits) {
+            for (BibEntry entry : database.getEntriesByKey(hit.getCiteKey())) {
+                if (added.add(entry)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    public static class Hit {
+
+        private final String citeKey;
+        private final float score;
+
+
+        Hit(String citeKey, float score) {
+            this.citeKey = Objects.requireNonNull(citeKey);
+            this.score = score;
+        }
+
+        public String getCiteKey() {
+            return citeKey;
+        }
+
+        /**
+         * Returns the Lucene score of the best matching file
+         */
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return citeKey + " (" + score + ')';
+        }
+    }
+}
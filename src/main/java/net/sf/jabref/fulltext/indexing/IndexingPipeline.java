@@ -0,0 +1,333 @@
+package net.sf.jabref.fulltext.indexing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.jabref.FallbackExceptionHandler;
+import net.sf.jabref.JabRefException;
+import net.sf.jabref.fulltext.extractor.PDFTextExtractor;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Keeps the Lucene index up to date in the background.
+ * <p>
+ * The text of the PDF files is extracted by a pool of worker threads, one per available processor. The extracted
+ * documents are handed over to a single writer thread, which applies all changes to the index in order and commits
+ * them in batches. After each commit, searches see the new documents.
+ * <p>
+ * A file is only extracted if its modification time differs from the indexed one and its content hash changed.
+ * At most {@link #MAX_EXTRACTED_DOCUMENTS} extracted texts wait for the writer at the same time, so that memory
+ * usage stays bounded even if writing is slower than extracting.
+ */
+class IndexingPipeline {
+
+    private static final Log LOGGER = LogFactory.getLog(IndexingPipeline.class);
+
+    private static final int EXTRACTION_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_EXTRACTED_DOCUMENTS = 4 * EXTRACTION_THREADS;
+    private static final int DOCUMENTS_PER_COMMIT = 100;
+    private static final long IDLE_COMMIT_DELAY = 1000L;
+    private static final long PROGRESS_LOG_INTERVAL = 10000L;
+    private static final long SHUTDOWN_TIMEOUT = 10000L;
+
+    private static final IndexOperation STOP = lt -> {
+        // marks the end of the operations
+    };
+
+    private final LuceneTools lt;
+    private final ExecutorService extractors;
+    private final Thread writer;
+    private final BlockingQueue<IndexOperation> operations = new LinkedBlockingQueue<>();
+    private final Semaphore extractedDocuments = new Semaphore(MAX_EXTRACTED_DOCUMENTS);
+
+    /**
+     * The generation of the latest pending request for each file. Requests of older generations and requests of
+     * files removed in the meantime are superseded and dropped.
+     */
+    private final Map<LuceneID, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong lastGeneration = new AtomicLong();
+    /**
+     * Makes the writer commit and stop without applying the remaining operations
+     */
+    private volatile boolean stopWriting;
+
+    private int queuedFiles;
+    private int indexedFiles;
+    private int skippedFiles;
+    private int failedFiles;
+    private long batchStart;
+
+
+    IndexingPipeline(LuceneTools lt) {
+        this.lt = lt;
+        this.extractors = Executors.newFixedThreadPool(EXTRACTION_THREADS, r -> {
+            Thread thread = new Thread(r);
+            thread.setName("JabRef full text extraction");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setUncaughtExceptionHandler(new FallbackExceptionHandler());
+            return thread;
+        });
+        this.writer = new Thread(this::writeOperations);
+        writer.setName("JabRef full text index writer");
+        writer.setDaemon(true);
+        writer.setUncaughtExceptionHandler(new FallbackExceptionHandler());
+        writer.start();
+    }
+
+    /**
+     * Indexes the given file, unless it is up to date
+     *
+     * @param force if true, the file is indexed even if it did not change
+     */
+    void index(LuceneID lID, boolean force) {
+        long generation = nextGeneration(lID);
+        fileQueued();
+        extractors.execute(() -> extract(lID, generation, force));
+    }
+
+    void remove(LuceneID lID) {
+        generations.remove(lID);
+        operations.add(lt -> lt.removeFile(lID));
+    }
+
+    void removeEntry(String citeKey) {
+        generations.keySet().removeIf(lID -> lID.citeKey.equals(citeKey));
+        operations.add(lt -> lt.removeEntry(citeKey));
+    }
+
+    void removeAll() {
+        generations.clear();
+        operations.add(LuceneTools::removeAll);
+    }
+
+    /**
+     * Stops extracting, writes and commits the documents extracted so far and stops the writer thread. If writing
+     * takes longer than {@link #SHUTDOWN_TIMEOUT} ms, the writer drops the remaining operations and commits what it has
+     * written so far. This method returns only after the writer has finished, so that the index can be closed
+     * afterwards.
+     */
+    void shutdown() {
+        boolean interrupted = false;
+        extractors.shutdownNow();
+        try {
+            extractors.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+            operations.add(STOP);
+            writer.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        // Interrupting the writer itself could interrupt Lucene's file operations, which closes the index writer
+        stopWriting = true;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    synchronized IndexingProgress getProgress() {
+        long elapsed = batchStart == 0 ? 0 : System.currentTimeMillis() - batchStart;
+        return new IndexingProgress(queuedFiles, indexedFiles, skippedFiles, failedFiles, elapsed);
+    }
+
+    private long nextGeneration(LuceneID lID) {
+        long generation = lastGeneration.incrementAndGet();
+        generations.put(lID, generation);
+        return generation;
+    }
+
+    private boolean isCurrent(LuceneID lID, long generation) {
+        return generations.getOrDefault(lID, 0L) == generation;
+    }
+
+    private void extract(LuceneID lID, long generation, boolean force) {
+        if (!isCurrent(lID, generation)) {
+            fileSkipped(lID, generation);
+            return;
+        }
+
+        final File file = lID.file;
+        if (!file.getName().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            LOGGER.debug("Only PDF files can be indexed at this time, skipping " + file);
+            fileSkipped(lID, generation);
+            return;
+        }
+        if (!file.isFile()) {
+            LOGGER.debug("Skipping missing file " + file);
+            fileSkipped(lID, generation);
+            return;
+        }
+
+        boolean acquired = false;
+        try {
+            final long modificationTime = file.lastModified();
+            Optional<LuceneTools.IndexedFile> indexedFile = force ? Optional.empty() : lt.lookupDocument(lID);
+            if (indexedFile.isPresent() && (indexedFile.get().modificationTime == modificationTime)) {
+                fileSkipped(lID, generation);
+                return;
+            }
+
+            final String hash = Files.asByteSource(file).hash(Hashing.sha256()).toString();
+            if (indexedFile.isPresent() && indexedFile.get().hash.equals(hash)) {
+                LOGGER.debug("Content of " + file + " did not change");
+                // store the new modification time, so that the file is not hashed again by the next check
+                operations.add(lt -> {
+                    if (isCurrent(lID, generation)) {
+                        lt.updateModificationTime(lID, modificationTime);
+                    }
+                    fileSkipped(lID, generation);
+                });
+                return;
+            }
+
+            extractedDocuments.acquire();
+            acquired = true;
+            LOGGER.debug("Extracting text of " + file + " for " + lID.citeKey);
+            final String contents = PDFTextExtractor.extractPDFText(file);
+            operations.add(lt -> {
+                try {
+                    if (isCurrent(lID, generation)) {
+                        lt.updateDocument(lID, contents, modificationTime, hash);
+                        fileIndexed(lID, generation);
+                    } else {
+                        fileSkipped(lID, generation);
+                    }
+                } finally {
+                    extractedDocuments.release();
+                }
+            });
+            acquired = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | JabRefException e) {
+            LOGGER.warn("Could not index " + file, e);
+            fileFailed(lID, generation);
+        } finally {
+            if (acquired) {
+                extractedDocuments.release();
+            }
+        }
+    }
+
+    private void writeOperations() {
+        int uncommittedOperations = 0;
+        long lastProgressLog = System.currentTimeMillis();
+        while (true) {
+            try {
+                IndexOperation operation = operations.poll(IDLE_COMMIT_DELAY, TimeUnit.MILLISECONDS);
+                if ((operation == STOP) || stopWriting) {
+                    commit(uncommittedOperations);
+                    return;
+                }
+
+                if (operation == null) {
+                    uncommittedOperations = commit(uncommittedOperations);
+                    logIfFinished();
+                } else {
+                    apply(operation);
+                    uncommittedOperations++;
+                    if (uncommittedOperations >= DOCUMENTS_PER_COMMIT) {
+                        uncommittedOperations = commit(uncommittedOperations);
+                    }
+                }
+
+                if ((System.currentTimeMillis() - lastProgressLog) >= PROGRESS_LOG_INTERVAL) {
+                    lastProgressLog = System.currentTimeMillis();
+                    IndexingProgress progress = getProgress();
+                    if (!progress.isIdle()) {
+                        LOGGER.info("Full text indexing: " + progress);
+                    }
+                }
+            } catch (InterruptedException e) {
+                commit(uncommittedOperations);
+                return;
+            }
+        }
+    }
+
+    private void apply(IndexOperation operation) {
+        try {
+            operation.apply(lt);
+        } catch (IOException e) {
+            LOGGER.error("Could not update the full text index", e);
+        }
+    }
+
+    /**
+     * Commits if there are uncommitted operations and returns the number of operations still uncommitted
+     */
+    private int commit(int uncommittedOperations) {
+        if (uncommittedOperations == 0) {
+            return 0;
+        }
+        try {
+            lt.commit();
+            return 0;
+        } catch (IOException e) {
+            LOGGER.error("Could not commit the full text index", e);
+            return uncommittedOperations;
+        }
+    }
+
+    private synchronized void logIfFinished() {
+        if ((batchStart != 0) && getProgress().isIdle()) {
+            LOGGER.info("Full text indexing finished: " + getProgress());
+            queuedFiles = 0;
+            indexedFiles = 0;
+            skippedFiles = 0;
+            failedFiles = 0;
+            batchStart = 0;
+        }
+    }
+
+    private synchronized void fileQueued() {
+        if (batchStart == 0) {
+            batchStart = System.currentTimeMillis();
+        }
+        queuedFiles++;
+    }
+
+    private synchronized void fileIndexed(LuceneID lID, long generation) {
+        generations.remove(lID, generation);
+        indexedFiles++;
+    }
+
+    private synchronized void fileSkipped(LuceneID lID, long generation) {
+        generations.remove(lID, generation);
+        skippedFiles++;
+    }
+
+    private synchronized void fileFailed(LuceneID lID, long generation) {
+        generations.remove(lID, generation);
+        failedFiles++;
+    }
+
+
+    @FunctionalInterface
+    private interface IndexOperation {
+
+        void apply(LuceneTools lt) throws IOException;
+    }
+}
@@ -0,0 +1,75 @@
+package net.sf.jabref.fulltext.indexing;
+
+/**
+ * A snapshot of the progress of the full text indexer
+ */
+public class IndexingProgress {
+
+    private final int queuedFiles;
+    private final int indexedFiles;
+    private final int skippedFiles;
+    private final int failedFiles;
+    private final long elapsedMillis;
+
+
+    IndexingProgress(int queuedFiles, int indexedFiles, int skippedFiles, int failedFiles, long elapsedMillis) {
+        this.queuedFiles = queuedFiles;
+        this.indexedFiles = indexedFiles;
+        this.skippedFiles = skippedFiles;
+        this.failedFiles = failedFiles;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the number of files queued since the indexer was last idle
+     */
+    public int getQueuedFiles() {
+        return queuedFiles;
+    }
+
+    /**
+     * Returns the number of files whose text was extracted and written to the index
+     */
+    public int getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    /**
+     * Returns the number of files which were already up to date or could not be indexed, e.g., as they are no PDFs
+     */
+    public int getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    public int getFailedFiles() {
+        return failedFiles;
+    }
+
+    public int getProcessedFiles() {
+        return indexedFiles + skippedFiles + failedFiles;
+    }
+
+    public int getPendingFiles() {
+        return Math.max(0, queuedFiles - getProcessedFiles());
+    }
+
+    public boolean isIdle() {
+        return getPendingFiles() == 0;
+    }
+
+    /**
+     * Returns the number of processed files per second
+     */
+    public double getThroughput() {
+        if (elapsedMillis <= 0) {
+            return 0;
+        }
+        return (getProcessedFiles() * 1000.0) / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d files processed (%d indexed, %d skipped, %d failed), %.1f files/s",
+                getProcessedFiles(), queuedFiles, indexedFiles, skippedFiles, failedFiles, getThroughput());
+    }
+}
@@ -1,24 +1,53 @@
 package net.sf.jabref.fulltext.indexing;
 
 import java.io.File;
+import java.util.Objects;
 
+/**
+ * Identifies the Lucene document of one file linked to an entry
+ */
 class LuceneID {
-    File file;
-    String citeKey;
-    Integer id;
-
-    LuceneID(File file, String citeKey, Integer id) {
-        this.file = file;
-        this.citeKey = citeKey;
-        this.id = id;
+    final File file;
+    final String citeKey;
+
+    LuceneID(File file, String citeKey) {
+        this.file = Objects.requireNonNull(file);
+        this.citeKey = Objects.requireNonNull(citeKey);
     }
 
-    LuceneID(LuceneID pre, int d) {
-        this(pre.file, pre.citeKey, d);
+    /**
+     * Returns the value of the unique id field of the document
+     */
+    String getDocumentId() {
+        return getDocumentIdPrefix(citeKey) + file.getAbsolutePath();
     }
 
-    LuceneID(File file, String citeKey) {
-        this(file, citeKey, null);
+    /**
+     * Returns the common prefix of the document ids of all files of the entry with the given key
+     */
+    static String getDocumentIdPrefix(String citeKey) {
+        return citeKey + '\u0000';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        LuceneID other = (LuceneID) o;
+        return Objects.equals(file, other.file) && Objects.equals(citeKey, other.citeKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, citeKey);
     }
 
+    @Override
+    public String toString() {
+        return file + " (" + citeKey + ')';
+    }
 }
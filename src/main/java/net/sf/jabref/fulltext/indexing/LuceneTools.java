@@ -1,58 +1,73 @@
 package net.sf.jabref.fulltext.indexing;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Objects;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.JabRefException;
-import net.sf.jabref.fulltext.extractor.PDFTextExtractor;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiDocValues;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
-import org.apache.lucene.search.BooleanClause.Occur;
-import org.apache.lucene.search.BooleanQuery.Builder;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
 
+import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.FILE_HASH;
 import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.FILE_MODTIME;
 import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.FILE_NAME;
 import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.FULL_CONTENT;
+import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.ID;
 import static net.sf.jabref.fulltext.indexing.LuceneTools.LUCENE_FIELDS.KEY;
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.NOT_IN_USE;
-import static net.sf.jabref.fulltext.indexing.LuceneTools.Status.WRITING;
 
+/**
+ * Access to the Lucene index of one database. The index writer stays open while the index is used, searches use
+ * near real time readers of this writer, which are refreshed after each commit.
+ * <p>
+ * The writing methods are thread safe, but are intended to be called by a single writer thread only, see
+ * {@link IndexingPipeline}.
+ */
 class LuceneTools {
 
     private static final Log LOGGER = LogFactory.getLog(LuceneTools.class);
     private static final int MAX_DOCS = 9999;
+
+    /**
+     * Stored in the commit data. Indexes of another format are rebuilt when they are opened.
+     */
+    private static final String FORMAT_VERSION_KEY = "jabrefFormatVersion";
+    private static final String FORMAT_VERSION = "2";
     private final StandardAnalyzer analyzer = new StandardAnalyzer();
-    private Status status = NOT_IN_USE;
-    private IndexSearcher searcher;
-    private IndexWriter iw;
-    private IndexReader reader;
     private Directory directory;
+    private IndexWriter iw;
+    private SearcherManager searcherManager;
 
     private static String getLuceneKey(final Document d) {
         final String[] keys = d.getValues(KEY.name());
@@ -63,163 +78,120 @@ class LuceneTools {
         return keys[0];
     }
 
-    public boolean isEmpty() throws IOException {
-        return directory.listAll().length == 0;
-    }
-
-    public void empty() throws IOException {
-        iw.deleteAll();
-    }
-
-    void setUnused() {
-        status = NOT_IN_USE;
-    }
-
-    public Directory getDirectory() {
-        return directory;
-    }
-
-    public void setDirectory(Path directory) throws IOException {
-        this.directory = FSDirectory.open(directory);
-    }
+    synchronized void open(Path indexDirectory) throws IOException {
+        if (isOpen()) {
+            LOGGER.warn("Indexer is already open");
+            return;
+        }
 
-    Status getStatus() {
-        return status;
+        LOGGER.debug("Opening index " + indexDirectory);
+        directory = FSDirectory.open(indexDirectory);
+        boolean outdated = DirectoryReader.indexExists(directory) && !FORMAT_VERSION
+                .equals(SegmentInfos.readLatestCommit(directory).getUserData().get(FORMAT_VERSION_KEY));
+        iw = new IndexWriter(directory,
+                new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        iw.setLiveCommitData(Collections.singletonMap(FORMAT_VERSION_KEY, FORMAT_VERSION).entrySet());
+        if (outdated) {
+            // the documents cannot be found by their id, so the files are indexed again
+            LOGGER.info("Rebuilding index " + indexDirectory + ", which was written by an older version");
+            iw.deleteAll();
+            iw.commit();
+        }
+        searcherManager = new SearcherManager(iw, null);
     }
 
-    void createEmptyIndex() throws IOException {
-        new IndexWriter(directory, new IndexWriterConfig(analyzer)).close();
+    synchronized boolean isOpen() {
+        return iw != null;
     }
 
-    public void open() throws JabRefException {
-        LOGGER.debug("Opening reader");
-        switch( status ) {
-            case SEARCHABLE:
-            case WRITING:
-                LOGGER.warn("Indexer is already open, status " + status);
-                break;
-            case NOT_IN_USE:
-                //throw new JabRefException("Indexer is not in use: should not be listening");
-            case CLOSED:
-                try {
-                    reader = DirectoryReader.open(directory);
-                    searcher = new IndexSearcher(reader);
-                    status = Status.SEARCHABLE;
-                } catch (final IOException e) {
-                    //e.printStackTrace();
-                    throw new JabRefException("Error closing the indexer reader", e);
-                }
-                break;
+    synchronized void close() throws IOException {
+        if (!isOpen()) {
+            return;
         }
-    }
 
-    public void close() throws JabRefException {
         LOGGER.debug("Closing index");
-        switch( status ) {
-            case NOT_IN_USE:
-                throw new JabRefException("Indexer is not in use: should not be listening");
-            case CLOSED:
-                throw new JabRefException("Indexer should be open, but it is not");
-            case WRITING:
-                closeWriter();
-            case SEARCHABLE:
-                try {
-                    reader.close();
-                    searcher = null;
-                    status = Status.CLOSED;
-                } catch (final IOException e) {
-                    throw new JabRefException("Error closing the indexer reader");
-                }
+        try {
+            searcherManager.close();
+            iw.close();
+            directory.close();
+        } finally {
+            searcherManager = null;
+            iw = null;
+            directory = null;
         }
     }
 
-    void openWriter() throws JabRefException {
-        LOGGER.debug("Opening writer");
-        switch( status ) {
-            case WRITING:
-                LOGGER.warn("Indexer is already in writing state: should not happen");
-                break;
-            case NOT_IN_USE:
-                throw new JabRefException("Indexer is not in use: should not be listening");
-            case CLOSED:
-                open();
-            case SEARCHABLE:
-                try {
-                    iw = new IndexWriter(directory, new IndexWriterConfig(analyzer));
-                    status = WRITING;
-                } catch (final IOException e) {
-                    throw new JabRefException("Exception creating the index writer");
-                }
-        }
-
+    /**
+     * Adds the given file with the given contents or replaces its previous version
+     */
+    void updateDocument(LuceneID lID, String contents, long modificationTime, String hash) throws IOException {
+        final Document doc = new Document();
+        doc.add(new StringField(ID.name(), lID.getDocumentId(), Store.YES));
+        doc.add(new StringField(KEY.name(), lID.citeKey, Store.YES));
+        doc.add(new StringField(FILE_NAME.name(), lID.file.getName(), Store.YES));
+        // kept as doc value, so that it can be updated without indexing the file again
+        doc.add(new NumericDocValuesField(FILE_MODTIME.name(), modificationTime));
+        doc.add(new StoredField(FILE_HASH.name(), hash));
+        doc.add(new TextField(FULL_CONTENT.name(), contents, Store.NO));
+
+        iw.updateDocument(new Term(ID.name(), lID.getDocumentId()), doc);
     }
 
-    void closeWriter() throws JabRefException {
-        LOGGER.debug("Closing writer");
-        switch( status ) {
-            case NOT_IN_USE:
-                throw new JabRefException("Indexer is not in use: should not be listening");
-            case SEARCHABLE:
-                throw new JabRefException("Indexer is in reading state: should not happen");
-            case CLOSED:
-                throw new JabRefException("Indexer is already closed: should not happen");
-            case WRITING:
-                try {
-                    iw.close();
-                    status = Status.SEARCHABLE;
-
-                    // reload the index
-                    close();
-                    open();
-                } catch (final IOException e) {
-                    throw new JabRefException("Exception closing the index writer");
-                }
-                break;
-        }
+    /**
+     * Stores the given modification time for the given file, whose content did not change
+     */
+    void updateModificationTime(LuceneID lID, long modificationTime) throws IOException {
+        iw.updateNumericDocValue(new Term(ID.name(), lID.getDocumentId()), FILE_MODTIME.name(), modificationTime);
     }
 
-    void indexFile(LuceneID lID) {
-        final File file = lID.file;
-        final String fileName = file.getName();
-        final String key = lID.citeKey;
-        LOGGER.debug("Indexing " + fileName + " for " + key);
-
-        if( !fileName.endsWith("pdf") ) {
-            LOGGER.warn("Only PDF files can be indexed at this time");
-            return;
-        }
-
-        final Document doc = new Document();
-        doc.add(new StringField(KEY.name(), key, Store.YES));
-        doc.add(new StringField(FILE_NAME.name(), fileName, Store.YES));
-        doc.add(new StoredField(FILE_MODTIME.name(), file.lastModified()));
+    void removeFile(LuceneID lID) throws IOException {
+        LOGGER.debug("Removing file " + lID.file + " for key " + lID.citeKey);
+        iw.deleteDocuments(new Term(ID.name(), lID.getDocumentId()));
+    }
 
-        try {
-            final String contents = PDFTextExtractor.extractPDFText(file);
-            doc.add(new TextField(FULL_CONTENT.name(), contents, Store.NO));
+    /**
+     * Removes the documents of all files of the entry with the given key
+     */
+    void removeEntry(String citeKey) throws IOException {
+        LOGGER.debug("Removing entry data for cite key " + citeKey);
+        iw.deleteDocuments(new PrefixQuery(new Term(ID.name(), LuceneID.getDocumentIdPrefix(citeKey))));
+    }
 
-            iw.addDocument(doc);
-        } catch (final IOException | JabRefException e) {
-            LOGGER.error(e.getMessage(), e);
-            e.printStackTrace();
-        }
+    void removeAll() throws IOException {
+        iw.deleteAll();
     }
 
-    void removeFile(LuceneID lID) throws IOException {
-        final File file = lID.file;
-        //final String fileName = file.getName();
-        final String key = lID.citeKey;
-        LOGGER.debug("Removing file " + file + " for key " + key);
-        if( file != null ) iw.deleteDocuments(new Term(KEY.name(), key), new Term(FILE_NAME.name(), file.toString()));
-        else iw.deleteDocuments(new Term(KEY.name(), key));
+    /**
+     * Commits the changes and makes them visible to searches
+     */
+    void commit() throws IOException {
+        iw.commit();
+        searcherManager.maybeRefresh();
     }
 
-    void changeEntryKey(final String oldKey, final String newKey) throws JabRefException {
+    /**
+     * Returns the stored modification time and content hash of the given file, if it is in the index
+     */
+    Optional<IndexedFile> lookupDocument(LuceneID lID) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
         try {
-            LOGGER.debug("change entry from " + oldKey + " to " + newKey);
-            iw.updateDocValues(new Term(KEY.name(), oldKey), new StringField(KEY.name(), newKey, Store.YES));
-        } catch (final IOException e) {
-            throw new JabRefException("Error updating", e);
+            TopDocs docs = searcher.search(new TermQuery(new Term(ID.name(), lID.getDocumentId())), 1);
+            if (docs.scoreDocs.length == 0) {
+                return Optional.empty();
+            }
+            int docId = docs.scoreDocs[0].doc;
+            Bits hasModificationTime = MultiDocValues.getDocsWithField(searcher.getIndexReader(),
+                    FILE_MODTIME.name());
+            String hash = searcher.doc(docId, Collections.singleton(FILE_HASH.name())).get(FILE_HASH.name());
+            if ((hasModificationTime == null) || !hasModificationTime.get(docId) || (hash == null)) {
+                // indexed by an older version
+                return Optional.empty();
+            }
+            long modificationTime = MultiDocValues.getNumericValues(searcher.getIndexReader(), FILE_MODTIME.name())
+                    .get(docId);
+            return Optional.of(new IndexedFile(modificationTime, hash));
+        } finally {
+            searcherManager.release(searcher);
         }
     }
 
@@ -229,24 +201,45 @@ class LuceneTools {
      * @param queryStr The query, in standard Lucene syntax
      * @return A set containing the citation keys of the matching BibEntry s
      */
-    public Set<String> searchForString(final String queryStr) throws JabRefException { // RegexpQuery, FieldValueQuery
-        if( status != Status.SEARCHABLE && status != WRITING )
-            throw new JabRefException("Indexer is not in status searchable");
-
-        final Query q;
-        try {
-            q = new QueryParser(FULL_CONTENT.name(), analyzer).parse(queryStr);
+    public Set<String> searchForString(final String queryStr) throws JabRefException {
+        return search(queryStr).getKeys();
+    }
 
-            final TopDocs docs = searcher.search(q, MAX_DOCS);
+    /**
+     * Returns the matching files grouped by citation key, ordered by their Lucene score
+     *
+     * @param queryStr The query, in standard Lucene syntax
+     */
+    public FullTextSearchResult search(final String queryStr) throws JabRefException {
+        if (!isOpen()) {
+            throw new JabRefException("Indexer is not open");
+        }
 
-            return Arrays.stream(docs.scoreDocs)
-                    .map(sd -> sd.doc)
-                    .map(this::getLuceneDocument)
-                    .filter(Objects::nonNull)
-                    .map(LuceneTools::getLuceneKey)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
+        try {
+            final Query q = new QueryParser(FULL_CONTENT.name(), analyzer).parse(queryStr);
+
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final TopDocs docs = searcher.search(q, MAX_DOCS);
+
+                // the documents are ordered by score, so the first document of a key has its best score
+                final Map<String, Float> scores = new LinkedHashMap<>();
+                for (final ScoreDoc scoreDoc : docs.scoreDocs) {
+                    final Document doc = getLuceneDocument(searcher, scoreDoc.doc);
+                    final String key = doc == null ? null : getLuceneKey(doc);
+                    if (key == null) {
+                        continue;
+                    }
+
+                    scores.putIfAbsent(key, scoreDoc.score);
+                }
 
+                final List<FullTextSearchResult.Hit> hits = new ArrayList<>(scores.size());
+                scores.forEach((key, score) -> hits.add(new FullTextSearchResult.Hit(key, score)));
+                return new FullTextSearchResult(hits);
+            } finally {
+                searcherManager.release(searcher);
+            }
         } catch (final ParseException e) {
             throw new JabRefException("Lucene query is invalid");
         } catch (final IOException e) {
@@ -254,7 +247,7 @@ class LuceneTools {
         }
     }
 
-    private Document getLuceneDocument(final int i) {
+    private static Document getLuceneDocument(IndexSearcher searcher, final int i) {
         try {
             return searcher.doc(i, Collections.singleton(KEY.name()));
         } catch (final IOException e) {
@@ -262,63 +255,23 @@ class LuceneTools {
         }
     }
 
-    void updateLuceneDocument(LuceneID d) {
-        if( d.id != null ) deleteFromIndex(d);
-        indexFile(d);
-    }
-
-    private void deleteFromIndex(LuceneID lID) {
-        try {
-            iw.tryDeleteDocument(reader, lID.id);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
 
     /**
-     * Looks for a document in the index, by file name and cite key
-     *
-     * @param lID
-     * @return the LuceneID, with doc ID, if it exists. Empty otherwise
+     * The stored state of an indexed file
      */
-    Optional<Integer> lookupDocument(LuceneID lID) {
-        Query q = new Builder().add(new TermQuery(new Term(KEY.name(), lID.citeKey)), Occur.MUST)
-                .add(new TermQuery(new Term(FILE_NAME.name(), lID.file.getName())), Occur.MUST)
-                .build();
+    static class IndexedFile {
 
-        try {
-            TopDocs doc = searcher.search(q, 2);
-            if( doc.scoreDocs.length == 0 ) {
-                LOGGER.warn("No document found for file " + lID.file + " and entry " + lID.citeKey);
-                return Optional.empty();
-            } else if( doc.scoreDocs.length > 1 ) {
-                LOGGER.error("More than one document found for file " + lID.file + " and entry " + lID.citeKey);
-                return Optional.empty();
-            }
-            return Optional.of(doc.scoreDocs[0].doc);
+        final long modificationTime;
+        final String hash;
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            return Optional.empty();
-        }
-    }
 
-    boolean isUpToDate(LuceneID lID) {
-        try {
-            StoredField fLaft = (StoredField) reader.document(lID.id)
-                    .getField(FILE_MODTIME.name());
-            return lID.file.lastModified() <= fLaft.numericValue()
-                    .longValue();
-        } catch (IOException e) {
-            e.printStackTrace();
+        IndexedFile(long modificationTime, String hash) {
+            this.modificationTime = modificationTime;
+            this.hash = hash;
         }
-
-        return false;
     }
 
-    enum Status {NOT_IN_USE, CLOSED, WRITING, SEARCHABLE}
-
-    enum LUCENE_FIELDS {FULL_CONTENT, KEY, FILE_NAME, FILE_MODTIME}
+    enum LUCENE_FIELDS {FULL_CONTENT, KEY, FILE_NAME, FILE_MODTIME, FILE_HASH, ID}
 
 
 }
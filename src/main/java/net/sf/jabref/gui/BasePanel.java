@@ -96,6 +96,7 @@ import net.sf.jabref.gui.worker.Worker;
 import net.sf.jabref.logic.autocompleter.AutoCompletePreferences;
 import net.sf.jabref.logic.autocompleter.AutoCompleter;
 import net.sf.jabref.logic.autocompleter.AutoCompleterFactory;
+import net.sf.jabref.logic.autocompleter.AutoCompleterUpdater;
 import net.sf.jabref.logic.autocompleter.ContentAutoCompleters;
 import net.sf.jabref.logic.bibtexkeypattern.BibtexKeyPatternUtil;
 import net.sf.jabref.logic.citationstyle.CitationStyleCache;
@@ -206,6 +207,10 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
     private ContentAutoCompleters autoCompleters;
 
+    // keep the auto completers in sync with the entries, only the updaters of the current completers are registered
+    private AutoCompleterUpdater searchAutoCompleterUpdater;
+    private AutoCompleterUpdater autoCompleterUpdater;
+
     private SearchQuery currentSearchQuery;
 
 
@@ -1223,40 +1228,6 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         }
     }
 
-    /**
-     * Ensures that the search auto completer is up to date when entries are changed AKA Let the auto completer, if any,
-     * harvest words from the entry
-     */
-    private class SearchAutoCompleteListener {
-
-        @Subscribe
-        public void listen(EntryAddedEvent addedEntryEvent) {
-            searchAutoCompleter.addBibtexEntry(addedEntryEvent.getBibEntry());
-        }
-
-        @Subscribe
-        public void listen(EntryChangedEvent entryChangedEvent) {
-            searchAutoCompleter.addBibtexEntry(entryChangedEvent.getBibEntry());
-        }
-    }
-
-    /**
-     * Ensures that auto completers are up to date when entries are changed AKA Let the auto completer, if any, harvest
-     * words from the entry
-     */
-    private class AutoCompleteListener {
-
-        @Subscribe
-        public void listen(EntryAddedEvent addedEntryEvent) {
-            BasePanel.this.autoCompleters.addEntry(addedEntryEvent.getBibEntry());
-        }
-
-        @Subscribe
-        public void listen(EntryChangedEvent entryChangedEvent) {
-            BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
-        }
-    }
-
     /**
      * Ensures that the results of the current search are updated when a new entry is inserted into the database
      */
@@ -1508,17 +1479,21 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
         // Set up name autocompleter for search:
         instantiateSearchAutoCompleter();
-        this.getDatabase().registerListener(new SearchAutoCompleteListener());
 
         AutoCompletePreferences autoCompletePreferences = new AutoCompletePreferences(Globals.prefs);
         // Set up AutoCompleters for this panel:
         if (Globals.prefs.getBoolean(JabRefPreferences.AUTO_COMPLETE)) {
-            autoCompleters = new ContentAutoCompleters(getDatabase(), autoCompletePreferences, Globals.journalAbbreviationLoader);
+            autoCompleters = new ContentAutoCompleters(autoCompletePreferences, Globals.journalAbbreviationLoader);
             // ensure that the autocompleters are in sync with entries
-            this.getDatabase().registerListener(new AutoCompleteListener());
+            autoCompleterUpdater = replaceAutoCompleterUpdater(autoCompleterUpdater,
+                    autoCompleters.getAutoCompleters());
         } else {
             // create empty ContentAutoCompleters() if autoCompletion is deactivated
             autoCompleters = new ContentAutoCompleters();
+            if (autoCompleterUpdater != null) {
+                getDatabase().unregisterListener(autoCompleterUpdater);
+                autoCompleterUpdater = null;
+            }
         }
 
         // restore floating search result
@@ -1544,9 +1519,23 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         AutoCompleterFactory autoCompleterFactory = new AutoCompleterFactory(autoCompletePreferences,
                 Globals.journalAbbreviationLoader);
         searchAutoCompleter = autoCompleterFactory.getPersonAutoCompleter();
-        for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-            searchAutoCompleter.addBibtexEntry(entry);
-        }
+        searchAutoCompleterUpdater = replaceAutoCompleterUpdater(searchAutoCompleterUpdater,
+                Collections.singletonList(searchAutoCompleter));
+    }
+
+    /**
+     * Unregisters the given updater, if any, and registers an updater for the given completers instead. The words of
+     * the existing entries are added to the completers in the background.
+     */
+    private AutoCompleterUpdater replaceAutoCompleterUpdater(AutoCompleterUpdater previousUpdater,
+            Collection<AutoCompleter<String>> completers) {
+        if (previousUpdater != null) {
+            getDatabase().unregisterListener(previousUpdater);
+        }
+        AutoCompleterUpdater updater = new AutoCompleterUpdater(completers);
+        getDatabase().registerListener(updater);
+        updater.addEntriesInBackground(getDatabase().getEntries());
+        return updater;
     }
 
     public void updatePreamble() {
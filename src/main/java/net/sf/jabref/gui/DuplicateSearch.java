@@ -14,6 +14,7 @@ import net.sf.jabref.gui.undo.NamedCompound;
 import net.sf.jabref.gui.undo.UndoableInsertEntry;
 import net.sf.jabref.gui.undo.UndoableRemoveEntry;
 import net.sf.jabref.gui.worker.CallBack;
+import net.sf.jabref.logic.duplicates.DuplicateFinder;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.entry.BibEntry;
@@ -51,57 +52,61 @@ public class DuplicateSearch implements Runnable {
         int duplicateCounter = 0;
         boolean autoRemoveExactDuplicates = false;
 
-        synchronized (duplicates) {
-            while (!st.finished() || (current < duplicates.size())) {
-
-                if (current >= duplicates.size()) {
+        // The lock is only held while taking the next pair, so that the searching threads are not blocked while the
+        // resolver dialog is shown
+        while (current < Integer.MAX_VALUE) {
+            List<BibEntry> be;
+            synchronized (duplicates) {
+                while (!st.finished() && (current >= duplicates.size())) {
                     // wait until the search thread puts something into duplicates vector
                     // or finish its work
-
                     try {
                         duplicates.wait();
                     } catch (InterruptedException ignored) {
                         // Ignore
                     }
-
-                } else { // duplicates found
-                    List<BibEntry> be = duplicates.get(current);
-                    current++;
-                    if (!toRemove.contains(be.get(0)) && !toRemove.contains(be.get(1))) {
-                        // Check if they are exact duplicates:
-                        boolean askAboutExact = false;
-                        if (DuplicateCheck.compareEntriesStrictly(be.get(0), be.get(1)) > 1) {
-                            if (autoRemoveExactDuplicates) {
-                                toRemove.add(be.get(1));
-                                duplicateCounter++;
-                                continue;
-                            }
-                            askAboutExact = true;
-                        }
-
-                        DuplicateCallBack cb = new DuplicateCallBack(JabRefGUI.getMainFrame(), be.get(0), be.get(1),
-                                askAboutExact ? DuplicateResolverType.DUPLICATE_SEARCH_WITH_EXACT : DuplicateResolverType.DUPLICATE_SEARCH);
-                        ((CallBack) Spin.over(cb)).update();
-
+                }
+                if (current >= duplicates.size()) {
+                    break;
+                }
+                be = duplicates.get(current);
+            }
+            current++;
+
+            // duplicates found
+            if (!toRemove.contains(be.get(0)) && !toRemove.contains(be.get(1))) {
+                // Check if they are exact duplicates:
+                boolean askAboutExact = false;
+                if (DuplicateCheck.compareEntriesStrictly(be.get(0), be.get(1)) > 1) {
+                    if (autoRemoveExactDuplicates) {
+                        toRemove.add(be.get(1));
                         duplicateCounter++;
-                        DuplicateResolverResult answer = cb.getSelected();
-                        if ((answer == DuplicateResolverResult.KEEP_LEFT)
-                                || (answer == DuplicateResolverResult.AUTOREMOVE_EXACT)) {
-                            toRemove.add(be.get(1));
-                            if (answer == DuplicateResolverResult.AUTOREMOVE_EXACT) {
-                                autoRemoveExactDuplicates = true; // Remember choice
-                            }
-                        } else if (answer == DuplicateResolverResult.KEEP_RIGHT) {
-                            toRemove.add(be.get(0));
-                        } else if (answer == DuplicateResolverResult.BREAK) {
-                            st.setFinished(); // thread killing
-                            current = Integer.MAX_VALUE;
-                            duplicateCounter--; // correct counter
-                        } else if (answer == DuplicateResolverResult.KEEP_MERGE) {
-                            toRemove.addAll(be);
-                            toAdd.add(cb.getMergedEntry());
-                        }
+                        continue;
+                    }
+                    askAboutExact = true;
+                }
+
+                DuplicateCallBack cb = new DuplicateCallBack(JabRefGUI.getMainFrame(), be.get(0), be.get(1),
+                        askAboutExact ? DuplicateResolverType.DUPLICATE_SEARCH_WITH_EXACT : DuplicateResolverType.DUPLICATE_SEARCH);
+                ((CallBack) Spin.over(cb)).update();
+
+                duplicateCounter++;
+                DuplicateResolverResult answer = cb.getSelected();
+                if ((answer == DuplicateResolverResult.KEEP_LEFT)
+                        || (answer == DuplicateResolverResult.AUTOREMOVE_EXACT)) {
+                    toRemove.add(be.get(1));
+                    if (answer == DuplicateResolverResult.AUTOREMOVE_EXACT) {
+                        autoRemoveExactDuplicates = true; // Remember choice
                     }
+                } else if (answer == DuplicateResolverResult.KEEP_RIGHT) {
+                    toRemove.add(be.get(0));
+                } else if (answer == DuplicateResolverResult.BREAK) {
+                    st.setFinished(); // thread killing
+                    current = Integer.MAX_VALUE;
+                    duplicateCounter--; // correct counter
+                } else if (answer == DuplicateResolverResult.KEEP_MERGE) {
+                    toRemove.addAll(be);
+                    toAdd.add(cb.getMergedEntry());
                 }
             }
         }
@@ -150,21 +155,13 @@ public class DuplicateSearch implements Runnable {
 
         @Override
         public void run() {
-            for (int i = 0; (i < (bes.size() - 1)) && !finished; i++) {
-                for (int j = i + 1; (j < bes.size()) && !finished; j++) {
-                    BibEntry first = bes.get(i);
-                    BibEntry second = bes.get(j);
-                    boolean eq = DuplicateCheck.isDuplicate(first, second, panel.getBibDatabaseContext().getMode());
-
-                    // If (suspected) duplicates, add them to the duplicates vector.
-                    if (eq) {
-                        synchronized (duplicates) {
-                            duplicates.add(Arrays.asList(first, second));
-                            duplicates.notifyAll(); // send wake up all
-                        }
-                    }
+            // only entries sharing a blocking key are compared, the found pairs are shown while searching
+            new DuplicateFinder(panel.getBibDatabaseContext().getMode()).findDuplicates(bes, (first, second) -> {
+                synchronized (duplicates) {
+                    duplicates.add(Arrays.asList(first, second));
+                    duplicates.notifyAll(); // send wake up all
                 }
-            }
+            }, this::finished);
             finished = true;
             // if no duplicates found, the graphical thread will never wake up
             synchronized (duplicates) {
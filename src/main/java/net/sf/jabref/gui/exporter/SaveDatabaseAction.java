@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import javax.swing.JOptionPane;
@@ -37,6 +39,7 @@ import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.DatabaseLocation;
 import net.sf.jabref.model.database.event.ChangePropagation;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.strings.LatexToUnicodeCache;
 import net.sf.jabref.preferences.JabRefPreferences;
 import net.sf.jabref.shared.DBMSConnectionProperties;
 import net.sf.jabref.shared.prefs.SharedDatabasePreferences;
@@ -163,6 +166,10 @@ public class SaveDatabaseAction extends AbstractWorker {
                 panel.setNonUndoableChange(false);
                 panel.setBaseChanged(false);
                 panel.setUpdatedExternally(false);
+
+                if (Globals.prefs.getBoolean(JabRefPreferences.WRITE_UNICODE_CACHE_FILE)) {
+                    writeUnicodeCacheFile();
+                }
             }
         } catch (SaveException ex) {
             if (ex == SaveException.FILE_LOCKED) {
@@ -174,6 +181,24 @@ public class SaveDatabaseAction extends AbstractWorker {
         }
     }
 
+    /**
+     * Stores the LaTeX to Unicode conversions of all field values next to the database, so that they do not have to be
+     * computed again when the database is opened the next time
+     */
+    private void writeUnicodeCacheFile() {
+        Path databaseFile = panel.getBibDatabaseContext().getDatabaseFile().get().toPath();
+        List<String> fieldValues = new ArrayList<>();
+        for (BibEntry entry : panel.getDatabase().getEntries()) {
+            fieldValues.addAll(entry.getFieldValues());
+        }
+        try {
+            LatexToUnicodeCache.INSTANCE.write(LatexToUnicodeCache.getCacheFile(databaseFile), databaseFile,
+                    fieldValues);
+        } catch (IOException ex) {
+            LOGGER.warn("Could not write LaTeX to Unicode cache", ex);
+        }
+    }
+
     private boolean saveDatabase(File file, boolean selectedOnly, Charset encoding) throws SaveException {
         SaveSession session;
 
@@ -13,6 +13,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
@@ -63,13 +64,11 @@ import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.groups.AbstractGroup;
 import net.sf.jabref.model.groups.AllEntriesGroup;
 import net.sf.jabref.model.groups.ExplicitGroup;
+import net.sf.jabref.model.groups.GroupMembershipIndex;
 import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.groups.event.GroupUpdatedEvent;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.model.search.SearchMatcher;
-import net.sf.jabref.model.search.matchers.MatcherSet;
-import net.sf.jabref.model.search.matchers.MatcherSets;
-import net.sf.jabref.model.search.matchers.NotMatcher;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import com.google.common.eventbus.Subscribe;
@@ -576,15 +575,30 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
     }
 
     private void updateShownEntriesAccordingToSelectedGroups() {
-        final MatcherSet searchRules = MatcherSets
-                .build(andCb.isSelected() ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
-
-        for(GroupTreeNodeViewModel node : getLeafsOfSelection()) {
-            SearchMatcher searchRule = node.getNode().getSearchMatcher();
-            searchRules.addRule(searchRule);
+        GroupMembershipIndex index = panel.getBibDatabaseContext().getGroupMembershipIndex();
+
+        // combine the cached matches of the selected groups instead of checking each group against each entry
+        BitSet matches = null;
+        for (GroupTreeNodeViewModel node : getLeafsOfSelection()) {
+            BitSet nodeMatches = index.getMatches(node.getNode());
+            if (matches == null) {
+                matches = nodeMatches;
+            } else if (andCb.isSelected()) {
+                matches.and(nodeMatches);
+            } else {
+                matches.or(nodeMatches);
+            }
+        }
+        if (matches == null) {
+            // an empty AND rule matches everything
+            matches = andCb.isSelected() ? index.getAllDocuments() : new BitSet();
+        }
+        if (invCb.isSelected()) {
+            BitSet inverted = index.getAllDocuments();
+            inverted.andNot(matches);
+            matches = inverted;
         }
-        SearchMatcher searchRule = invCb.isSelected() ? new NotMatcher(searchRules) : searchRules;
-        GroupingWorker worker = new GroupingWorker(searchRule);
+        GroupingWorker worker = new GroupingWorker(index.getMatcher(matches));
         worker.getWorker().run();
         worker.getCallBack().update();
     }
@@ -1248,7 +1262,8 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
             groupsTree.revalidate();
             return;
         }
-        List<GroupTreeNode> nodeList = groupsRoot.getNode().getContainingGroups(list, requireAll);
+        List<GroupTreeNode> nodeList = groupsRoot.getNode()
+                .getContainingGroups(panel.getBibDatabaseContext().getGroupMembershipIndex(), list, requireAll);
         groupsTree.setMatchingGroups(nodeList);
         // ensure that all highlighted nodes are visible
         for (GroupTreeNode node : nodeList) {
@@ -1262,7 +1277,8 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
      * Show groups that, if selected, would show at least one of the entries in the specified list.
      */
     private void showOverlappingGroups(List<BibEntry> matches) {
-        List<GroupTreeNode> nodes = groupsRoot.getNode().getMatchingGroups(matches);
+        List<GroupTreeNode> nodes = groupsRoot.getNode()
+                .getMatchingGroups(panel.getBibDatabaseContext().getGroupMembershipIndex(), matches);
         groupsTree.setOverlappingGroups(nodes);
     }
 
@@ -188,7 +188,8 @@ public class GroupTreeNodeViewModel implements Transferable, TreeNode {
                 && (JabRefGUI.getMainFrame() != null)) {
             BasePanel currentBasePanel = JabRefGUI.getMainFrame().getCurrentBasePanel();
             if (currentBasePanel != null) {
-                sb.append(" [").append(node.numberOfMatches(currentBasePanel.getDatabase().getEntries())).append(']');
+                sb.append(" [").append(node.numberOfMatches(
+                        currentBasePanel.getBibDatabaseContext().getGroupMembershipIndex())).append(']');
             }
         }
 
@@ -1,8 +1,11 @@
 package net.sf.jabref.gui.maintable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -57,10 +60,14 @@ public class MainTableDataModel {
     public void updateSortOrder() {
         Comparator<BibEntry> markingComparator = filterAndSortingState.markingState ? IsMarkedComparator.INSTANCE : null;
         Comparator<BibEntry> searchComparator = getSearchState() == DisplayOption.FLOAT ? new HitOrMissComparator(SearchMatcher.INSTANCE) : null;
+        Map<BibEntry, Integer> searchRanking = filterAndSortingState.searchRanking;
+        Comparator<BibEntry> rankingComparator = searchRanking.isEmpty() ? null :
+                Comparator.comparingInt(entry -> searchRanking.getOrDefault(entry, Integer.MAX_VALUE));
         Comparator<BibEntry> groupingComparator = getGroupingState() == DisplayOption.FLOAT ? new HitOrMissComparator(GroupMatcher.INSTANCE) : null;
         GenericCompositeComparator comparator = new GenericCompositeComparator(
                 markingComparator,
                 searchComparator,
+                rankingComparator,
                 groupingComparator
         );
 
@@ -93,6 +100,9 @@ public class MainTableDataModel {
             updateSortOrder = true;
         } else if (searchState == DisplayOption.FILTER) {
             filterSearchToggle.start();
+        } else if (!filterAndSortingState.searchRanking.isEmpty()) {
+            filterAndSortingState.searchRanking = Collections.emptyMap();
+            updateSortOrder = true;
         }
 
         filterAndSortingState.searchState = searchState;
@@ -101,6 +111,24 @@ public class MainTableDataModel {
         }
     }
 
+    /**
+     * Orders the search hits by relevance, the first of the given entries being the most relevant one. The search hits
+     * keep the user defined order if the ranking is empty.
+     */
+    public void updateSearchRanking(List<BibEntry> rankedEntries) {
+        // fail fast
+        if (rankedEntries.isEmpty() && filterAndSortingState.searchRanking.isEmpty()) {
+            return;
+        }
+
+        Map<BibEntry, Integer> searchRanking = new IdentityHashMap<>(rankedEntries.size());
+        for (BibEntry entry : rankedEntries) {
+            searchRanking.putIfAbsent(entry, searchRanking.size());
+        }
+        filterAndSortingState.searchRanking = searchRanking;
+        updateSortOrder();
+    }
+
     public void updateGroupingState(DisplayOption groupingState) {
         Objects.requireNonNull(groupingState);
 
@@ -187,6 +215,8 @@ public class MainTableDataModel {
         private DisplayOption searchState = DisplayOption.DISABLED;
         private DisplayOption groupingState = DisplayOption.DISABLED;
         private boolean markingState = false;
+        // the rank of each search hit, entries are identified by identity
+        private Map<BibEntry, Integer> searchRanking = Collections.emptyMap();
     }
 
     private static class GenericCompositeComparator implements Comparator<BibEntry> {
@@ -1,8 +1,8 @@
 package net.sf.jabref.gui.search;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -10,6 +10,7 @@ import javax.swing.SwingWorker;
 
 import net.sf.jabref.JabRefGUI;
 import net.sf.jabref.fulltext.indexing.FullTextIndexer;
+import net.sf.jabref.fulltext.indexing.FullTextSearchResult;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.BasePanelMode;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
@@ -50,15 +51,13 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
     protected List<BibEntry> doInBackground() throws Exception {
         if( isFullText ) {
             FullTextIndexer indexer = databaseContext.getFullTextIndexer();
-            Set<String> keys = indexer.searchForString(searchQuery.getQuery());
-            keys.forEach(LOGGER::debug);
-            return database.getEntries().parallelStream()
-                    .filter(e -> e.getCiteKeyOptional()
-                            .isPresent() && keys.contains(e.getCiteKeyOptional()
-                            .get()))
-                    .collect(Collectors.toList());
+            FullTextSearchResult result = indexer.search(searchQuery.getQuery());
+            result.getHits().forEach(LOGGER::debug);
+            // the hits are joined with the entries through the key index, keeping their order of relevance
+            return result.getEntries(database);
         } else {
-            return database.getEntries()
+            // the index narrows down the entries to check, the remaining ones are checked in parallel
+            return searchQuery.getCandidates(databaseContext.getSearchIndex())
                     .parallelStream()
                     .filter(searchQuery::isMatch)
                     .collect(Collectors.toList());
@@ -109,6 +108,9 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
                 LOGGER.error("Following searchDisplayMode was not defined: " + searchDisplayMode);
                 break;
         }
+        // full text hits are shown in the order of their relevance
+        basePanel.getMainTable().getTableModel()
+                .updateSearchRanking(isFullText ? matchedEntries : Collections.emptyList());
 
         // only selects the first match if the selected entries are no hits or no entry is selected
         // and no editor is open (to avoid jumping around when editing an entry)
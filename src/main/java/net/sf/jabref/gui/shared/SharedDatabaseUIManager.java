@@ -1,5 +1,6 @@
 package net.sf.jabref.gui.shared;
 
+import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.Optional;
@@ -8,6 +9,7 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.JabRefGUI;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
@@ -30,9 +32,18 @@ import net.sf.jabref.shared.exception.NotASharedDatabaseException;
 import net.sf.jabref.shared.prefs.SharedDatabasePreferences;
 
 import com.google.common.eventbus.Subscribe;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 public class SharedDatabaseUIManager {
 
+    private static final Log LOGGER = LogFactory.getLog(SharedDatabaseUIManager.class);
+
+    /**
+     * Number of entries inserted at once while loading a shared database
+     */
+    private static final int PAGE_SIZE = 500;
+
     private final JabRefFrame jabRefFrame;
     private DBMSSynchronizer dbmsSynchronizer;
 
@@ -109,10 +120,28 @@ public class SharedDatabaseUIManager {
                 Globals.prefs.getKeywordDelimiter(), Globals.prefs.getKeyPattern());
 
         dbmsSynchronizer = bibDatabaseContext.getDBMSSynchronizer();
-        dbmsSynchronizer.openSharedDatabase(dbmsConnectionProperties);
+        dbmsSynchronizer.openSharedDatabaseWithoutEntries(dbmsConnectionProperties);
         dbmsSynchronizer.registerListener(this);
         frame.output(Localization.lang("Connection_to_%0_server_established.", dbmsConnectionProperties.getType().toString()));
-        return frame.addTab(bibDatabaseContext, true);
+        BasePanel panel = frame.addTab(bibDatabaseContext, true);
+
+        // the entries show up page by page while they arrive
+        DBMSSynchronizer synchronizer = dbmsSynchronizer;
+        JabRefExecutorService.INSTANCE.execute(
+                () -> synchronizer.loadSharedEntries(PAGE_SIZE, SharedDatabaseUIManager::runAndWait));
+        return panel;
+    }
+
+    /**
+     * Changes the local database within the event dispatch thread and waits for it, so that the loaded entries are
+     * present when the synchronization continues.
+     */
+    private static void runAndWait(Runnable localDatabaseChange) {
+        try {
+            SwingUtilities.invokeAndWait(localDatabaseChange);
+        } catch (InvocationTargetException | InterruptedException e) {
+            LOGGER.error("Problem loading shared entries", e);
+        }
     }
 
     public void openSharedDatabaseFromParserResult(ParserResult parserResult)
@@ -1,18 +1,20 @@
 package net.sf.jabref.logic.autocompleter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.Optional;
 
-import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.strings.LatexToUnicodeCache;
 
 /**
  * Delivers possible completions for a given string.
+ * <p>
+ * The items are kept in a {@link CompletionIndex} together with the number of their occurrences, the most frequent
+ * completions are returned first.
  *
  * @author kahlert, cordes, olly98
  * @see AutoCompleterFactory
@@ -20,22 +22,15 @@ import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
 public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
 
     private static final int SHORTEST_WORD_TO_ADD = 4;
-    private final AutoCompletePreferences preferences;
 
     /**
-     * Stores the strings as is.
+     * The maximal number of completions returned by {@link #complete(String)}
      */
-    private final TreeSet<String> indexCaseSensitive = new TreeSet<>();
+    private static final int MAX_COMPLETIONS = 50;
 
-    /**
-     * Stores strings in lowercase.
-     */
-    private final TreeSet<String> indexCaseInsensitive = new TreeSet<>();
+    private final AutoCompletePreferences preferences;
 
-    /**
-     * Stores for a lowercase string the possible expanded strings.
-     */
-    private final Map<String, Set<String>> possibleStringsForSearchString = new HashMap<>();
+    private final CompletionIndex index = new CompletionIndex();
 
 
     public AbstractAutoCompleter(AutoCompletePreferences preferences) {
@@ -55,71 +50,85 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
         if (isTooShortToComplete(toComplete)) {
             return new ArrayList<>();
         }
-        String lowerCase = toComplete.toLowerCase();
-
-        if (lowerCase.equals(toComplete)) {
-            // user typed in lower case word -> we do an case-insensitive search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(lowerCase);
-            SortedSet<String> subset = indexCaseInsensitive.subSet(lowerCase, ender);
-
-            // As subset only contains lower case strings,
-            // we have to to determine possible strings for each hit
-            List<String> result = new ArrayList<>();
-            for (String s : subset) {
-                result.addAll(possibleStringsForSearchString.get(s));
-            }
-            return result;
-        } else {
-            // user typed in a mix of upper case and lower case,
-            // we assume user wants to have exact search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(toComplete);
-            SortedSet<String> subset = indexCaseSensitive.subSet(toComplete, ender);
-            return new ArrayList<>(subset);
-        }
+
+        // if the user typed in a mix of upper case and lower case, we assume the user wants to have exact search
+        boolean caseSensitive = !toComplete.toLowerCase(Locale.ROOT).equals(toComplete);
+        return index.complete(toComplete, caseSensitive, MAX_COMPLETIONS);
     }
 
     /**
-     * Increments the last character of a string.
-     *
-     * Example: incrementLastCharacter("abc") returns "abd".
+     * Returns whether the string is to short to be completed.
      */
-    private static String incrementLastCharacter(String toIncrement) {
-        if (toIncrement.isEmpty()) {
-            return "";
+    private boolean isTooShortToComplete(String toCheck) {
+        return toCheck.length() < preferences.getShortestLengthToComplete();
+    }
+
+    @Override
+    public void addBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
         }
 
-        char lastChar = toIncrement.charAt(toIncrement.length() - 1);
-        return toIncrement.substring(0, toIncrement.length() - 1) + Character.toString((char) (lastChar + 1));
+        for (String item : getItems(entry)) {
+            addItemToIndex(item);
+        }
+    }
+
+    @Override
+    public void removeBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        for (String item : getItems(entry)) {
+            removeItemFromIndex(item);
+        }
     }
 
     /**
-     * Returns whether the string is to short to be completed.
+     * Returns a copy of the changed entry with the old value of the changed field, which can be passed to
+     * {@link #removeBibtexEntry(BibEntry)}. Empty if the event does not concern a field stored in the entry, e.g., a
+     * change of the entry type, or if the field changed again in the meantime.
      */
-    private boolean isTooShortToComplete(String toCheck) {
-        return toCheck.length() < preferences.getShortestLengthToComplete();
+    public static Optional<BibEntry> getEntryBeforeChange(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        String fieldName = event.getFieldName();
+        if (!entry.getField(fieldName).equals(Optional.ofNullable(event.getNewValue()))) {
+            return Optional.empty();
+        }
+
+        BibEntry entryBeforeChange = (BibEntry) entry.clone();
+        if (event.getOldValue() == null) {
+            entryBeforeChange.clearField(fieldName);
+        } else {
+            entryBeforeChange.setField(fieldName, event.getOldValue());
+        }
+        return Optional.of(entryBeforeChange);
     }
 
+    /**
+     * Returns the items the given entry adds to the index, including duplicates.
+     */
+    protected abstract List<String> getItems(BibEntry entry);
+
     @Override
     public void addItemToIndex(String word) {
         if (word.length() < getLengthOfShortestWordToAdd()) {
             return;
         }
 
-        word = new LatexToUnicodeFormatter().format(word);
-
-        indexCaseSensitive.add(word);
+        index.add(LatexToUnicodeCache.INSTANCE.format(word));
+    }
 
-        // insensitive treatment
-        // first, add the lower cased word to search index
-        // second, add a mapping from the lower cased word to the real word
-        String lowerCase = word.toLowerCase();
-        indexCaseInsensitive.add(lowerCase);
-        Set<String> set = possibleStringsForSearchString.get(lowerCase);
-        if (set == null) {
-            set = new TreeSet<>();
+    /**
+     * Removes one occurrence of the given item, which was added by {@link #addItemToIndex(String)}
+     */
+    public void removeItemFromIndex(String word) {
+        if (word.length() < getLengthOfShortestWordToAdd()) {
+            return;
         }
-        set.add(word);
-        possibleStringsForSearchString.put(lowerCase, set);
+
+        index.remove(LatexToUnicodeCache.INSTANCE.format(word));
     }
 
     @Override
@@ -24,6 +24,12 @@ public interface AutoCompleter<E> {
      */
     void addBibtexEntry(BibEntry entry);
 
+    /**
+     * Removes the information a BibEntry added to this AutoCompleter, e.g., after the entry was removed from the
+     * database. The given entry must have the same content as when it was added.
+     */
+    void removeBibtexEntry(BibEntry entry);
+
     /**
      * States whether the field consists of multiple values (false) or of a single value (true)
      *
@@ -0,0 +1,124 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps auto completers in sync with the entries of a database, while the words of the existing entries are added in
+ * the background.
+ * <p>
+ * The completers count the occurrences of words. While the existing entries are added, the copy of each entry whose
+ * words were counted is kept, so that a change reported for an entry replaces exactly the words counted for it, no
+ * matter whether the entry was copied before or after it was changed.
+ */
+public class AutoCompleterUpdater {
+
+    private final Collection<AutoCompleter<String>> autoCompleters;
+
+    // the copies of the entries whose words are counted, mapped to null for removed entries,
+    // null once the existing entries are added
+    private Map<BibEntry, BibEntry> countedEntries = new IdentityHashMap<>();
+
+
+    public AutoCompleterUpdater(Collection<AutoCompleter<String>> autoCompleters) {
+        this.autoCompleters = new ArrayList<>(Objects.requireNonNull(autoCompleters));
+    }
+
+    /**
+     * Adds the words of the given entries in the background. Only the list is copied right away, so this has to be
+     * called right after this updater was registered as a listener of the database, on the thread changing it.
+     */
+    public void addEntriesInBackground(List<BibEntry> entries) {
+        List<BibEntry> snapshot = new ArrayList<>(entries);
+        JabRefExecutorService.INSTANCE.execute(() -> addEntries(snapshot));
+    }
+
+    /**
+     * Adds the words of the given entries, which are not changed by events reported in the meantime
+     */
+    void addEntries(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            synchronized (this) {
+                if (!countedEntries.containsKey(entry)) {
+                    BibEntry copy = (BibEntry) entry.clone();
+                    countedEntries.put(entry, copy);
+                    update(null, copy);
+                }
+            }
+        }
+        synchronized (this) {
+            countedEntries = null;
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent addedEntryEvent) {
+        BibEntry entry = addedEntryEvent.getBibEntry();
+        synchronized (this) {
+            if (countedEntries == null) {
+                update(null, entry);
+            } else {
+                replace(entry, (BibEntry) entry.clone());
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent removedEntryEvent) {
+        BibEntry entry = removedEntryEvent.getBibEntry();
+        synchronized (this) {
+            if (countedEntries == null) {
+                update(entry, null);
+            } else {
+                replace(entry, null);
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent fieldChangedEvent) {
+        BibEntry entry = fieldChangedEvent.getBibEntry();
+        synchronized (this) {
+            if (countedEntries == null) {
+                AbstractAutoCompleter.getEntryBeforeChange(fieldChangedEvent)
+                        .ifPresent(entryBeforeChange -> update(entryBeforeChange, entry));
+            } else if (countedEntries.get(entry) != null) {
+                replace(entry, (BibEntry) entry.clone());
+            }
+            // otherwise the entry is either removed or its current words are counted when it is reached
+        }
+    }
+
+    /**
+     * Replaces the words counted for the given entry by the ones of the given copy, which may be null
+     */
+    private void replace(BibEntry entry, BibEntry copy) {
+        update(countedEntries.put(entry, copy), copy);
+    }
+
+    /**
+     * Replaces the words of the removed entry by the ones of the added entry, both may be null
+     */
+    private void update(BibEntry removedEntry, BibEntry addedEntry) {
+        for (AutoCompleter<String> autoCompleter : autoCompleters) {
+            if (removedEntry != null) {
+                autoCompleter.removeBibtexEntry(removedEntry);
+            }
+            if (addedEntry != null) {
+                autoCompleter.addBibtexEntry(addedEntry);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +18,13 @@ class AutoCompleters {
         return autoCompleters.get(fieldName);
     }
 
+    /**
+     * Returns the completers of all fields, e.g., to keep them up to date using an {@link AutoCompleterUpdater}
+     */
+    public Collection<AutoCompleter<String>> getAutoCompleters() {
+        return Collections.unmodifiableCollection(autoCompleters.values());
+    }
+
     protected void addDatabase(BibDatabase database) {
         for (BibEntry entry : database.getEntries()) {
             addEntry(entry);
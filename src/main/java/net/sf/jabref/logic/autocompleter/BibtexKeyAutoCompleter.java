@@ -1,5 +1,8 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.Collections;
+import java.util.List;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -23,12 +26,9 @@ class BibtexKeyAutoCompleter extends AbstractAutoCompleter {
      * The bibtex key of the entry will be added to the index.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        entry.getCiteKeyOptional().ifPresent(key -> addItemToIndex(key.trim()));
+    protected List<String> getItems(BibEntry entry) {
+        return entry.getCiteKeyOptional().map(key -> Collections.singletonList(key.trim()))
+                .orElse(Collections.emptyList());
     }
 
     @Override
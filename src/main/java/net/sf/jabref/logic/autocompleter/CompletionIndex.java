@@ -0,0 +1,314 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * A radix trie of completion items, weighted by the number of times they were added.
+ * <p>
+ * The items are stored under their lower case form, so that one lookup serves both case insensitive and case
+ * sensitive completion. Each node knows the highest weight in its subtree, which allows to find the most frequent
+ * completions of a prefix without visiting all items starting with it.
+ * <p>
+ * This class is thread safe.
+ */
+class CompletionIndex {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final String[] NO_ITEMS = new String[0];
+    private static final int[] NO_WEIGHTS = new int[0];
+
+    /**
+     * Orders by weight (highest first), then by the lower case form and finally by the item itself
+     */
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator.<Candidate>comparingInt(
+            candidate -> -candidate.weight)
+            .thenComparing(candidate -> candidate.key)
+            .thenComparing(candidate -> candidate.item, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Node root = new Node("");
+
+
+    /**
+     * Adds one occurrence of the given item
+     */
+    synchronized void add(String item) {
+        update(root, item.toLowerCase(Locale.ROOT), 0, item, 1);
+    }
+
+    /**
+     * Removes one occurrence of the given item. The item is removed from the index once all occurrences are removed.
+     */
+    synchronized void remove(String item) {
+        update(root, item.toLowerCase(Locale.ROOT), 0, item, -1);
+    }
+
+    synchronized int getWeight(String item) {
+        Node node = root;
+        String key = item.toLowerCase(Locale.ROOT);
+        int offset = 0;
+        while (offset < key.length()) {
+            node = node.getChild(key.charAt(offset));
+            if ((node == null) || !key.startsWith(node.label, offset)) {
+                return 0;
+            }
+            offset += node.label.length();
+        }
+        int index = node.indexOfItem(item);
+        return index < 0 ? 0 : node.weights[index];
+    }
+
+    /**
+     * Returns the items starting with the given prefix, the most frequent ones first. Items having the same weight are
+     * ordered alphabetically.
+     *
+     * @param caseSensitive if false, the items starting with the prefix in any case are returned
+     * @param limit         the maximal number of items to return
+     */
+    synchronized List<String> complete(String prefix, boolean caseSensitive, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        String path = "";
+        int offset = 0;
+        while (offset < key.length()) {
+            node = node.getChild(key.charAt(offset));
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            int common = commonPrefixLength(node.label, key, offset);
+            if (offset + common == key.length()) {
+                // the prefix ends inside the label of this node
+                path += node.label;
+                break;
+            } else if (common < node.label.length()) {
+                return new ArrayList<>();
+            }
+            path += node.label;
+            offset += common;
+        }
+
+        List<String> completions = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(CANDIDATE_ORDER);
+        candidates.add(new Candidate(node, path));
+        while (!candidates.isEmpty() && (completions.size() < limit)) {
+            Candidate candidate = candidates.poll();
+            if (candidate.item != null) {
+                if (!caseSensitive || candidate.item.startsWith(prefix)) {
+                    completions.add(candidate.item);
+                }
+                continue;
+            }
+
+            Node current = candidate.node;
+            for (int i = 0; i < current.items.length; i++) {
+                candidates.add(new Candidate(current.items[i], candidate.key, current.weights[i]));
+            }
+            for (Node child : current.children) {
+                candidates.add(new Candidate(child, candidate.key + child.label));
+            }
+        }
+        return completions;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while ((i < length) && (label.charAt(i) == key.charAt(offset + i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Changes the weight of the item, whose key starts at the given offset below the given node
+     */
+    private static void update(Node node, String key, int offset, String item, int delta) {
+        if (offset == key.length()) {
+            node.updateItem(item, delta);
+        } else {
+            Node child = node.getChild(key.charAt(offset));
+            if (child == null) {
+                if (delta > 0) {
+                    Node leaf = new Node(key.substring(offset));
+                    leaf.updateItem(item, delta);
+                    leaf.updateMaxWeight();
+                    node.addChild(leaf);
+                }
+            } else {
+                int common = commonPrefixLength(child.label, key, offset);
+                if (common < child.label.length()) {
+                    if (delta <= 0) {
+                        // the item is not in the index
+                        return;
+                    }
+                    child = node.split(child, common);
+                }
+                update(child, key, offset + common, item, delta);
+
+                if ((child.items.length == 0) && (child.children.length == 0)) {
+                    node.removeChild(child);
+                } else if ((child.items.length == 0) && (child.children.length == 1)) {
+                    node.mergeWithChild(child);
+                }
+            }
+        }
+        node.updateMaxWeight();
+    }
+
+
+    private static class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private String[] items = NO_ITEMS;
+        private int[] weights = NO_WEIGHTS;
+        private int maxWeight;
+
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        private int indexOfChild(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleChar = children[middle].label.charAt(0);
+                if (middleChar < c) {
+                    low = middle + 1;
+                } else if (middleChar > c) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Node getChild(char c) {
+            int index = indexOfChild(c);
+            return index < 0 ? null : children[index];
+        }
+
+        void addChild(Node child) {
+            int index = -(indexOfChild(child.label.charAt(0)) + 1);
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            children = newChildren;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOfChild(child.label.charAt(0));
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        /**
+         * Splits the label of the given child after the given number of characters and returns the new node in between
+         */
+        Node split(Node child, int length) {
+            int index = indexOfChild(child.label.charAt(0));
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.children = new Node[] {child};
+            middle.maxWeight = child.maxWeight;
+            children[index] = middle;
+            return middle;
+        }
+
+        /**
+         * Replaces the given child, which has no items and a single child, by its child
+         */
+        void mergeWithChild(Node child) {
+            Node grandChild = child.children[0];
+            grandChild.label = child.label + grandChild.label;
+            children[indexOfChild(child.label.charAt(0))] = grandChild;
+        }
+
+        private int indexOfItem(String item) {
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].equals(item)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void updateItem(String item, int delta) {
+            int index = indexOfItem(item);
+            if (index >= 0) {
+                weights[index] += delta;
+                if (weights[index] <= 0) {
+                    removeItem(index);
+                }
+            } else if (delta > 0) {
+                items = Arrays.copyOf(items, items.length + 1);
+                weights = Arrays.copyOf(weights, weights.length + 1);
+                items[items.length - 1] = item;
+                weights[weights.length - 1] = delta;
+            }
+        }
+
+        private void removeItem(int index) {
+            if (items.length == 1) {
+                items = NO_ITEMS;
+                weights = NO_WEIGHTS;
+                return;
+            }
+            String[] newItems = new String[items.length - 1];
+            int[] newWeights = new int[weights.length - 1];
+            System.arraycopy(items, 0, newItems, 0, index);
+            System.arraycopy(items, index + 1, newItems, index, items.length - index - 1);
+            System.arraycopy(weights, 0, newWeights, 0, index);
+            System.arraycopy(weights, index + 1, newWeights, index, weights.length - index - 1);
+            items = newItems;
+            weights = newWeights;
+        }
+
+        void updateMaxWeight() {
+            int max = 0;
+            for (int weight : weights) {
+                max = Math.max(max, weight);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    /**
+     * Either a node whose subtree still has to be searched or a found item
+     */
+    private static class Candidate {
+
+        private final Node node;
+        private final String item;
+        private final String key;
+        private final int weight;
+
+
+        Candidate(Node node, String key) {
+            this.node = node;
+            this.item = null;
+            this.key = key;
+            this.weight = node.maxWeight;
+        }
+
+        Candidate(String item, String key, int weight) {
+            this.node = null;
+            this.item = item;
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
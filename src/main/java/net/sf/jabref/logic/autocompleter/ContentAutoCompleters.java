@@ -13,6 +13,16 @@ public class ContentAutoCompleters extends AutoCompleters {
 
     public ContentAutoCompleters(BibDatabase database, AutoCompletePreferences preferences,
             JournalAbbreviationLoader abbreviationLoader) {
+        this(preferences, abbreviationLoader);
+
+        addDatabase(database);
+    }
+
+    /**
+     * Creates the completers without any words. The words of the entries can be added in the background using an
+     * {@link AutoCompleterUpdater}.
+     */
+    public ContentAutoCompleters(AutoCompletePreferences preferences, JournalAbbreviationLoader abbreviationLoader) {
         Objects.requireNonNull(preferences);
 
         AutoCompleterFactory autoCompleterFactory = new AutoCompleterFactory(preferences, abbreviationLoader);
@@ -21,7 +31,5 @@ public class ContentAutoCompleters extends AutoCompleters {
             AutoCompleter<String> autoCompleter = autoCompleterFactory.getFor(field);
             put(field, autoCompleter);
         }
-
-        addDatabase(database);
     }
 }
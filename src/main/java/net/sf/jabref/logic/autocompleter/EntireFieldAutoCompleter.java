@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import net.sf.jabref.model.entry.BibEntry;
@@ -33,11 +35,8 @@ class EntireFieldAutoCompleter extends AbstractAutoCompleter {
      * Stores the full original value of the given field.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        entry.getField(fieldName).ifPresent(fieldValue -> addItemToIndex(fieldValue.trim()));
+    protected List<String> getItems(BibEntry entry) {
+        return entry.getField(fieldName).map(fieldValue -> Collections.singletonList(fieldValue.trim()))
+                .orElse(Collections.emptyList());
     }
 }
@@ -2,12 +2,10 @@ package net.sf.jabref.logic.autosaveandbackup;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.event.AutosaveEvent;
@@ -20,42 +18,54 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Saves the given {@link BibDatabaseContext} on every {@link BibDatabaseContextChangedEvent} by posting a new {@link AutosaveEvent}.
- * An intelligent {@link ExecutorService} with a {@link BlockingQueue} prevents a high load while saving and rejects all redundant save tasks.
+ * The save is delayed by {@link #DELAY_IN_MILLISECONDS}, all changes arriving in the meantime are coalesced into this
+ * single save. This prevents a high load while many changes are made, e.g., by a cleanup of all entries.
  */
 public class AutosaveManager {
 
     private static final Log LOGGER = LogFactory.getLog(AutosaveManager.class);
 
+    private static final long DELAY_IN_MILLISECONDS = 2000;
+
     private static Set<AutosaveManager> runningInstances = new HashSet<>();
 
     private final BibDatabaseContext bibDatabaseContext;
-    private final BlockingQueue<Runnable> workerQueue;
-    private final ExecutorService executor;
+    private final ScheduledExecutorService executor;
     private final EventBus eventBus;
+    /**
+     * Is set as long as a save is scheduled which has not started yet. A save which is already running might miss the
+     * latest changes, thus a new save is scheduled for them.
+     */
+    private final AtomicBoolean savePending = new AtomicBoolean();
 
 
     private AutosaveManager(BibDatabaseContext bibDatabaseContext) {
         this.bibDatabaseContext = bibDatabaseContext;
-        this.workerQueue = new ArrayBlockingQueue<>(1);
-        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, workerQueue);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JabRef autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.eventBus = new EventBus();
     }
 
     @Subscribe
-    public synchronized void listen(@SuppressWarnings("unused") BibDatabaseContextChangedEvent event) {
-        try {
-            executor.submit(() -> {
+    public void listen(@SuppressWarnings("unused") BibDatabaseContextChangedEvent event) {
+        if (savePending.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                savePending.set(false);
                 eventBus.post(new AutosaveEvent());
-            });
-        } catch (RejectedExecutionException e) {
-            LOGGER.debug("Rejecting autosave while another save process is already running.");
+            }, DELAY_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        } else {
+            LOGGER.debug("Coalescing change with already scheduled autosave.");
         }
     }
 
     private void shutdown() {
         bibDatabaseContext.getDatabase().unregisterListener(this);
         bibDatabaseContext.getMetaData().unregisterListener(this);
-        executor.shutdown();
+        // a scheduled save must not be posted for a closed database
+        executor.shutdownNow();
     }
 
     /**
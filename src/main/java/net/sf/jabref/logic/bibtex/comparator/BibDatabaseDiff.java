@@ -0,0 +1,202 @@
+package net.sf.jabref.logic.bibtex.comparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Determines which entries were added, removed or modified between two versions of a database.
+ * <p>
+ * Entries having exactly the same fields (see {@link DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)}) are
+ * matched first by looking up their content in a hash map, which takes linear time. Only the remaining entries are
+ * compared with each other to find modified entries: an entry is preferably matched with an entry having the same
+ * BibTeX key, all other remaining entries are only considered if there is no such entry.
+ */
+public class BibDatabaseDiff {
+
+    /**
+     * Minimum share of equal fields for two entries to be considered as versions of the same entry
+     */
+    private static final double MATCH_THRESHOLD = 0.4;
+
+    private final List<EntryModification> modifiedEntries = new ArrayList<>();
+    private final List<BibEntry> removedEntries = new ArrayList<>();
+    private final List<BibEntry> addedEntries = new ArrayList<>();
+
+
+    private BibDatabaseDiff() {
+    }
+
+    /**
+     * Compares the entries of the original version of a database with the ones of the new version
+     */
+    public static BibDatabaseDiff compare(Collection<BibEntry> originalEntries, Collection<BibEntry> newEntries) {
+        BibDatabaseDiff diff = new BibDatabaseDiff();
+
+        // match entries with the same content
+        EntryIndex remainingNewEntries = new EntryIndex(newEntries);
+        List<BibEntry> unmatchedOriginalEntries = new ArrayList<>();
+        for (BibEntry entry : originalEntries) {
+            Optional<BibEntry> equalEntry = remainingNewEntries.findEqual(entry);
+            if (equalEntry.isPresent()) {
+                remainingNewEntries.remove(equalEntry.get());
+            } else {
+                unmatchedOriginalEntries.add(entry);
+            }
+        }
+
+        // match the remaining entries by similarity
+        for (BibEntry entry : unmatchedOriginalEntries) {
+            Optional<BibEntry> bestMatch = remainingNewEntries.findBestMatch(entry, MATCH_THRESHOLD);
+            if (bestMatch.isPresent()) {
+                remainingNewEntries.remove(bestMatch.get());
+                diff.modifiedEntries.add(new EntryModification(entry, bestMatch.get()));
+            } else {
+                diff.removedEntries.add(entry);
+            }
+        }
+        diff.addedEntries.addAll(remainingNewEntries.getEntries());
+        return diff;
+    }
+
+    /**
+     * Returns the fields of the entry, which identify the entry in {@link #compare(Collection, Collection)}
+     */
+    static Map<String, String> getContent(BibEntry entry) {
+        return new HashMap<>(entry.getFieldMap());
+    }
+
+    /**
+     * Returns the pairs of original and new entries, which are considered to be versions of the same entry but differ
+     * in at least one field
+     */
+    public List<EntryModification> getModifiedEntries() {
+        return modifiedEntries;
+    }
+
+    /**
+     * Returns the original entries which have no counterpart in the new version
+     */
+    public List<BibEntry> getRemovedEntries() {
+        return removedEntries;
+    }
+
+    /**
+     * Returns the new entries which have no counterpart in the original version
+     */
+    public List<BibEntry> getAddedEntries() {
+        return addedEntries;
+    }
+
+
+    public static class EntryModification {
+
+        private final BibEntry originalEntry;
+        private final BibEntry newEntry;
+
+
+        EntryModification(BibEntry originalEntry, BibEntry newEntry) {
+            this.originalEntry = Objects.requireNonNull(originalEntry);
+            this.newEntry = Objects.requireNonNull(newEntry);
+        }
+
+        public BibEntry getOriginalEntry() {
+            return originalEntry;
+        }
+
+        public BibEntry getNewEntry() {
+            return newEntry;
+        }
+    }
+
+    /**
+     * Entries indexed by content and BibTeX key to find the one best matching a given entry. The entries are
+     * identified by identity, as {@link BibEntry#equals(Object)} compares the content.
+     */
+    public static class EntryIndex {
+
+        private final List<BibEntry> entries;
+        private final Set<BibEntry> removedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<Map<String, String>, List<BibEntry>> entriesByContent = new HashMap<>();
+        private final Map<String, List<BibEntry>> entriesByKey = new HashMap<>();
+
+
+        public EntryIndex(Collection<BibEntry> entries) {
+            this.entries = new ArrayList<>(entries);
+            for (BibEntry entry : entries) {
+                entriesByContent.computeIfAbsent(getContent(entry), content -> new ArrayList<>(1)).add(entry);
+                entry.getCiteKeyOptional()
+                        .ifPresent(key -> entriesByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry));
+            }
+        }
+
+        /**
+         * Returns an entry having exactly the same fields as the given one
+         */
+        public Optional<BibEntry> findEqual(BibEntry entry) {
+            List<BibEntry> sameContent = entriesByContent.getOrDefault(getContent(entry), Collections.emptyList());
+            return sameContent.stream().filter(candidate -> !removedEntries.contains(candidate)).findFirst();
+        }
+
+        /**
+         * Returns the entry which matches the given one best, if its score is above the threshold. An entry with the
+         * same fields is returned directly, then entries with the same BibTeX key are tried and only if none of them
+         * is good enough, all entries are compared.
+         */
+        public Optional<BibEntry> findBestMatch(BibEntry entry, double threshold) {
+            Optional<BibEntry> equalEntry = findEqual(entry);
+            if (equalEntry.isPresent()) {
+                return equalEntry;
+            }
+
+            Optional<String> key = entry.getCiteKeyOptional();
+            if (key.isPresent() && entriesByKey.containsKey(key.get())) {
+                Optional<BibEntry> bestMatch = findBestMatch(entry, entriesByKey.get(key.get()), threshold);
+                if (bestMatch.isPresent()) {
+                    return bestMatch;
+                }
+            }
+            return findBestMatch(entry, entries, threshold);
+        }
+
+        private Optional<BibEntry> findBestMatch(BibEntry entry, List<BibEntry> candidates, double threshold) {
+            BibEntry bestMatch = null;
+            double bestScore = threshold;
+            for (BibEntry candidate : candidates) {
+                if (!removedEntries.contains(candidate)) {
+                    double score = DuplicateCheck.compareEntriesStrictly(entry, candidate);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestMatch = candidate;
+                    }
+                }
+            }
+            return Optional.ofNullable(bestMatch);
+        }
+
+        /**
+         * Excludes the given entry from all further results
+         */
+        public void remove(BibEntry entry) {
+            removedEntries.add(entry);
+        }
+
+        /**
+         * Returns the entries which were not removed, in their original order
+         */
+        public List<BibEntry> getEntries() {
+            return entries.stream().filter(entry -> !removedEntries.contains(entry)).collect(Collectors.toList());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -66,6 +67,17 @@ public class VM implements Warn {
 
     private String preamble = "";
 
+    /**
+     * The compiled functions of the .bst file, which are reused in later runs
+     */
+    private final Map<Tree, StackFunction> compiledFunctions = new IdentityHashMap<>();
+
+    /**
+     * Is increased whenever variables or functions are declared, so that the names resolved by the compiled functions
+     * are resolved again
+     */
+    private int declarationsVersion;
+
     private static final Pattern ADD_PERIOD_PATTERN = Pattern.compile("([^\\.\\?\\!\\}\\s])(\\}|\\s)*$");
 
 
@@ -355,8 +367,8 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                    && ((f2 instanceof Identifier) || (f2 instanceof StackFunction)) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -702,8 +714,8 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                && ((f2 instanceof Identifier) || (f2 instanceof StackFunction))) {
             throw new VMException("Expecting two functions for while$.");
         }
 
@@ -849,6 +861,7 @@ public class VM implements Warn {
 
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
+        declarationsVersion++;
 
         stack = new Stack<>();
 
@@ -926,6 +939,7 @@ public class VM implements Warn {
                 e.getFields().put(FieldName.CROSSREF, null);
             }
         }
+        declarationsVersion++;
     }
 
     /**
@@ -944,6 +958,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         String replacement = child.getChild(1).getText();
         functions.put(name, new MacroFunction(replacement));
+        declarationsVersion++;
     }
 
 
@@ -1006,6 +1021,7 @@ public class VM implements Warn {
         for (BstEntry entry : entries) {
             entry.localStrings.put("sort.key$", null);
         }
+        declarationsVersion++;
     }
 
     private void reverse(Tree child) {
@@ -1035,9 +1051,8 @@ public class VM implements Warn {
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
-            Tree t = (Tree) o;
-            new StackFunction(t).execute(context);
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
         } else if (o instanceof Identifier) {
             execute(((Identifier) o).getName(), context);
         }
@@ -1048,13 +1063,43 @@ public class VM implements Warn {
     }
 
 
+    /**
+     * A function defined in the .bst file. The tree of the function is compiled once into a list of instructions:
+     * literals are converted when compiling, nested functions are compiled as well, and each name remembers what it
+     * refers to, so that it does not have to be looked up in all variable and function maps on every call.
+     */
     public class StackFunction implements BstFunction {
 
         private final Tree localTree;
+        private final BstFunction[] instructions;
 
 
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new BstFunction[stack.getChildCount()];
+            for (int i = 0; i < instructions.length; i++) {
+                instructions[i] = compile(stack.getChild(i));
+            }
+        }
+
+        private BstFunction compile(Tree c) {
+            switch (c.getType()) {
+            case BstParser.STRING:
+                String s = c.getText();
+                String string = s.substring(1, s.length() - 1);
+                return context -> push(string);
+            case BstParser.INTEGER:
+                Integer integer = Integer.parseInt(c.getText().substring(1));
+                return context -> push(integer);
+            case BstParser.QUOTED:
+                Identifier identifier = new Identifier(c.getText().substring(1));
+                return context -> push(identifier);
+            case BstParser.STACK:
+                StackFunction function = new StackFunction(c);
+                return context -> stack.push(function);
+            default:
+                return new NameReference(c.getText());
+            }
         }
 
         public Tree getTree() {
@@ -1064,30 +1109,11 @@ public class VM implements Warn {
         @Override
         public void execute(BstEntry context) {
 
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
+            for (int i = 0; i < instructions.length; i++) {
                 try {
-
-                    switch (c.getType()) {
-                    case BstParser.STRING:
-                        String s = c.getText();
-                        push(s.substring(1, s.length() - 1));
-                        break;
-                    case BstParser.INTEGER:
-                        push(Integer.parseInt(c.getText().substring(1)));
-                        break;
-                    case BstParser.QUOTED:
-                        push(new Identifier(c.getText().substring(1)));
-                        break;
-                    case BstParser.STACK:
-                        push(c);
-                        break;
-                    default:
-                        VM.this.execute(c.getText(), context);
-                        break;
-                    }
+                    instructions[i].execute(context);
                 } catch (VMException e) {
+                    Tree c = localTree.getChild(i);
                     if (file == null) {
                         LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
                     } else {
@@ -1101,11 +1127,109 @@ public class VM implements Warn {
         }
     }
 
+    /**
+     * What a name refers to. Entry variables are checked first, then global variables and functions.
+     */
+    private enum NameKind {
+        FIELD,
+        LOCAL_STRING,
+        LOCAL_INTEGER,
+        STRING,
+        INTEGER,
+        FUNCTION,
+        NONE
+    }
+
+    /**
+     * A name used in a function. It is resolved in the same order as {@link #execute(String, BstEntry)}, but only
+     * again after variables or functions were declared. All entries declare the same entry variables, so the entry
+     * variables are resolved once for all entries.
+     */
+    private class NameReference implements BstFunction {
+
+        private final String name;
+        private int entryDeclarationsVersion = -1;
+        private NameKind entryKind;
+        private int globalDeclarationsVersion = -1;
+        private NameKind globalKind;
+        private BstFunction function;
+
+
+        NameReference(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(BstEntry context) {
+            if (context != null) {
+                if (entryDeclarationsVersion != declarationsVersion) {
+                    entryKind = resolveInEntry(context);
+                    entryDeclarationsVersion = declarationsVersion;
+                }
+                switch (entryKind) {
+                case FIELD:
+                    stack.push(context.getFields().get(name));
+                    return;
+                case LOCAL_STRING:
+                    stack.push(context.localStrings.get(name));
+                    return;
+                case LOCAL_INTEGER:
+                    stack.push(context.localIntegers.get(name));
+                    return;
+                default:
+                    break;
+                }
+            }
+
+            if (globalDeclarationsVersion != declarationsVersion) {
+                globalKind = resolveGlobally();
+                function = globalKind == NameKind.FUNCTION ? functions.get(name) : null;
+                globalDeclarationsVersion = declarationsVersion;
+            }
+            switch (globalKind) {
+            case STRING:
+                stack.push(strings.get(name));
+                return;
+            case INTEGER:
+                stack.push(integers.get(name));
+                return;
+            case FUNCTION:
+                // OK to have a null context
+                function.execute(context);
+                return;
+            default:
+                throw new VMException("No matching identifier found: " + name);
+            }
+        }
+
+        private NameKind resolveInEntry(BstEntry context) {
+            if (context.getFields().containsKey(name)) {
+                return NameKind.FIELD;
+            }
+            if (context.localStrings.containsKey(name)) {
+                return NameKind.LOCAL_STRING;
+            }
+            if (context.localIntegers.containsKey(name)) {
+                return NameKind.LOCAL_INTEGER;
+            }
+            return NameKind.NONE;
+        }
 
-    private void push(Tree t) {
-        stack.push(t);
+        private NameKind resolveGlobally() {
+            if (strings.containsKey(name)) {
+                return NameKind.STRING;
+            }
+            if (integers.containsKey(name)) {
+                return NameKind.INTEGER;
+            }
+            if (functions.containsKey(name)) {
+                return NameKind.FUNCTION;
+            }
+            return NameKind.NONE;
+        }
     }
 
+
     private void execute(String name, BstEntry context) {
 
         if (context != null) {
@@ -1144,8 +1268,8 @@ public class VM implements Warn {
     private void function(Tree child) {
         String name = child.getChild(0).getText();
         Tree localStack = child.getChild(1);
-        functions.put(name, new StackFunction(localStack));
-
+        functions.put(name, compiledFunctions.computeIfAbsent(localStack, StackFunction::new));
+        declarationsVersion++;
     }
 
     /**
@@ -1164,6 +1288,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             integers.put(name, 0);
         }
+        declarationsVersion++;
     }
 
     /**
@@ -1180,6 +1305,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             strings.put(name, null);
         }
+        declarationsVersion++;
     }
 
 
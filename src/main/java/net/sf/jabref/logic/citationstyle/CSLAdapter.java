@@ -0,0 +1,98 @@
+package net.sf.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.undercouch.citeproc.CSL;
+import de.undercouch.citeproc.ItemDataProvider;
+import de.undercouch.citeproc.csl.CSLItemData;
+import de.undercouch.citeproc.output.Bibliography;
+
+/**
+ * Renders bibliographies with warm citeproc engines.
+ * <p>
+ * Creating a {@link CSL} engine loads citeproc-js and parses the style, which takes much longer than rendering the
+ * entries. The adapter therefore keeps the engines of the recently used styles and only resets them between two
+ * renderings. The engines are not thread safe, so each thread has to use its own adapter.
+ */
+class CSLAdapter {
+
+    private static final int MAX_ENGINES = 3;
+
+    private final ItemListDataProvider dataProvider = new ItemListDataProvider();
+    private final Map<String, CSL> engines = new LinkedHashMap<String, CSL>(MAX_ENGINES + 1, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CSL> eldest) {
+            return size() > MAX_ENGINES;
+        }
+    };
+
+
+    /**
+     * Renders the bibliography of the given items in one engine call. The engine orders the entries as defined by the
+     * style, so they are returned by the id of their item.
+     *
+     * @param style the style, either its XML source or the name of a bundled style
+     */
+    Map<String, String> makeBibliography(List<CSLItemData> items, String style, CitationStyleOutputFormat outputFormat)
+            throws IOException {
+        CSL engine = engines.get(style);
+        if (engine == null) {
+            engine = new CSL(dataProvider, style);
+            engines.put(style, engine);
+        }
+
+        dataProvider.setItems(items);
+        try {
+            engine.reset();
+            engine.setOutputFormat(outputFormat.getFormat());
+            engine.registerCitationItems(dataProvider.getIds());
+            Bibliography bibliography = engine.makeBibliography();
+            String[] ids = bibliography.getEntryIds();
+            String[] entries = bibliography.getEntries();
+            Map<String, String> entriesById = new HashMap<>();
+            for (int i = 0; i < Math.min(ids.length, entries.length); i++) {
+                entriesById.put(ids[i], entries[i]);
+            }
+            return entriesById;
+        } catch (RuntimeException e) {
+            // the state of the engine is unknown, so it is not reused
+            engines.remove(style);
+            throw e;
+        } finally {
+            dataProvider.setItems(Collections.emptyList());
+        }
+    }
+
+
+    /**
+     * Provides the items of the current rendering to the engine
+     */
+    private static class ItemListDataProvider implements ItemDataProvider {
+
+        private final Map<String, CSLItemData> items = new LinkedHashMap<>();
+
+
+        void setItems(List<CSLItemData> newItems) {
+            items.clear();
+            for (CSLItemData item : newItems) {
+                items.put(item.getId(), item);
+            }
+        }
+
+        @Override
+        public CSLItemData retrieveItem(String id) {
+            return items.get(id);
+        }
+
+        @Override
+        public String[] getIds() {
+            return items.keySet().toArray(new String[items.size()]);
+        }
+    }
+}
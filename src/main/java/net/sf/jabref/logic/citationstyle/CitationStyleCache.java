@@ -1,7 +1,5 @@
 package net.sf.jabref.logic.citationstyle;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 import net.sf.jabref.model.database.BibDatabaseContext;
@@ -9,17 +7,27 @@ import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.event.EntryChangedEvent;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.eventbus.Subscribe;
 
 
 /**
  * Caches the generated Citations for quicker access
  * {@link CitationStyleGenerator} generates the citaiton with JavaScript which may take some time
+ * <p>
+ * The cache is thread safe and holds at most {@link #MAX_CACHED_CITATIONS} citations. The entries are compared by
+ * identity, so that entries with equal content do not share a citation.
  */
 public class CitationStyleCache {
 
+    private static final int MAX_CACHED_CITATIONS = 1000;
+
     private CitationStyle citationStyle = CitationStyle.getDefault();
-    private Map<BibEntry, String> citationStylesCache = new HashMap<>();
+    private final Cache<BibEntry, String> citationStylesCache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_CACHED_CITATIONS)
+            .build();
 
 
     public CitationStyleCache(BibDatabaseContext bibDatabaseContext) {
@@ -35,23 +43,29 @@ public class CitationStyleCache {
      * returns the citation for the given BibEntry and the set CitationStyle
      */
     public String getCitationFor(BibEntry entry) {
-        String citation = citationStylesCache.get(entry);
+        String citation = citationStylesCache.getIfPresent(entry);
         if (citation == null) {
-            citation = CitationStyleGenerator.generateCitation(entry, this.citationStyle);
-            citationStylesCache.put(entry, citation);
+            CitationStyle style = getCitationStyle();
+            citation = CitationStyleGenerator.generateCitation(entry, style);
+            synchronized (this) {
+                // the citation is outdated if the style was changed in the meantime
+                if (style.equals(this.citationStyle)) {
+                    citationStylesCache.put(entry, citation);
+                }
+            }
         }
         return citation;
     }
 
-    public void setCitationStyle(CitationStyle citationStyle) {
+    public synchronized void setCitationStyle(CitationStyle citationStyle) {
         Objects.requireNonNull(citationStyle);
         if (!this.citationStyle.equals(citationStyle)){
             this.citationStyle = citationStyle;
-            this.citationStylesCache.clear();
+            this.citationStylesCache.invalidateAll();
         }
     }
 
-    public CitationStyle getCitationStyle() {
+    public synchronized CitationStyle getCitationStyle() {
         return citationStyle;
     }
 
@@ -62,7 +76,7 @@ public class CitationStyleCache {
          */
         @Subscribe
         public void listen(EntryChangedEvent entryChangedEvent) {
-            citationStylesCache.remove(entryChangedEvent.getBibEntry());
+            citationStylesCache.invalidate(entryChangedEvent.getBibEntry());
         }
 
         /**
@@ -70,7 +84,7 @@ public class CitationStyleCache {
          */
         @Subscribe
         public void listen(EntryRemovedEvent entryRemovedEvent) {
-            citationStylesCache.remove(entryRemovedEvent.getBibEntry());
+            citationStylesCache.invalidate(entryRemovedEvent.getBibEntry());
         }
     }
 
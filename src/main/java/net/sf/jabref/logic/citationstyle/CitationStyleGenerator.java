@@ -1,16 +1,19 @@
 package net.sf.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import net.sf.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.entry.BibEntry;
 
-import de.undercouch.citeproc.CSL;
 import de.undercouch.citeproc.bibtex.BibTeXConverter;
 import de.undercouch.citeproc.csl.CSLItemData;
-import de.undercouch.citeproc.output.Bibliography;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jbibtex.BibTeXEntry;
@@ -27,6 +30,10 @@ public class CitationStyleGenerator {
     private static final Log LOGGER = LogFactory.getLog(CitationStyleGenerator.class);
     private static final UnicodeToLatexFormatter UNICODE_TO_LATEX_FORMATTER = new UnicodeToLatexFormatter();
     private static final BibTeXConverter BIBTEX_CONVERTER = new BibTeXConverter();
+    /**
+     * The citation engines cannot be shared between threads, so each thread keeps its own warm engines
+     */
+    private static final ThreadLocal<CSLAdapter> ADAPTER = ThreadLocal.withInitial(CSLAdapter::new);
 
     /**
      * Generates a Citation based on the given entry and style
@@ -49,32 +56,74 @@ public class CitationStyleGenerator {
      * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
      */
     protected static String generateCitation(BibEntry entry, String style, CitationStyleOutputFormat outputFormat) {
+        return generateCitations(Collections.singletonList(entry), style, outputFormat).get(0);
+    }
+
+    /**
+     * Generates the bibliography of the given entries in one run of the citation engine. The citations are returned in
+     * the order of the given entries, even if the style sorts its bibliography, e.g., by author. If the citation of an
+     * entry cannot be generated, an error message is returned in its place.
+     * WARNING: the citations are generated with JavaScript which may take some time, better call it in outside the main Thread
+     */
+    public static List<String> generateCitations(List<BibEntry> entries, String style,
+            CitationStyleOutputFormat outputFormat) {
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
         try {
-            String citeKey = entry.getCiteKeyOptional().orElse("");
-            BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(entry.getType()), new Key(citeKey));
-            for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
-                String value = UNICODE_TO_LATEX_FORMATTER.format(field.getValue());
-                bibTeXEntry.addField(new Key(field.getKey()), new DigitStringValue(value));
+            List<CSLItemData> items = new ArrayList<>(entries.size());
+            Set<String> ids = new HashSet<>();
+            for (BibEntry entry : entries) {
+                items.add(toItemData(entry, ids));
             }
+            Map<String, String> citationsById = ADAPTER.get().makeBibliography(items, style, outputFormat);
 
-            CSLItemData cslItemData = BIBTEX_CONVERTER.toItemData(bibTeXEntry);
-            Bibliography bibliography = CSL.makeAdhocBibliography(style, outputFormat.getFormat(), cslItemData);
-            return bibliography.getEntries()[0];
+            List<String> citations = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                String citation = citationsById.get(items.get(i).getId());
+                if (citation == null) {
+                    LOGGER.error("Citation engine returned no citation for " + entries.get(i));
+                    citation = Localization.lang("Cannot generate preview based on selected citation style.");
+                }
+                citations.add(citation);
+            }
+            return citations;
 
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+        } catch (IOException e) {
             LOGGER.error("Could not generate BibEntry citation", e);
-            return Localization.lang("Cannot generate preview based on selected citation style.");
+            return Collections.nCopies(entries.size(),
+                    Localization.lang("Cannot generate preview based on selected citation style."));
         } catch (TokenMgrException e) {
             LOGGER.error("Bad character inside BibEntry", e);
             // sadly one cannot easily retrieve the bad char from the TokenMgrError
-            return  new StringBuilder()
+            return Collections.nCopies(entries.size(), new StringBuilder()
                     .append(Localization.lang("Cannot generate preview based on selected citation style."))
                     .append(outputFormat == CitationStyleOutputFormat.HTML ? "<br>" : "\n")
                     .append(Localization.lang("Bad character inside entry"))
                     .append(outputFormat == CitationStyleOutputFormat.HTML ? "<br>" : "\n")
                     .append(e.getLocalizedMessage())
-                    .toString();
+                    .toString());
+        }
+    }
+
+    /**
+     * Converts the entry to the input of the citation engine. The BibTeX key is used as id, made unique among the
+     * given ids, as the engine looks up the items by their id.
+     */
+    private static CSLItemData toItemData(BibEntry entry, Set<String> ids) {
+        String citeKey = entry.getCiteKeyOptional().orElse("");
+        String id = citeKey;
+        for (int i = 2; !ids.add(id); i++) {
+            id = citeKey + '-' + i;
+        }
+
+        BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(entry.getType()), new Key(id));
+        for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
+            String value = UNICODE_TO_LATEX_FORMATTER.format(field.getValue());
+            bibTeXEntry.addField(new Key(field.getKey()), new DigitStringValue(value));
         }
+        return BIBTEX_CONVERTER.toItemData(bibTeXEntry);
     }
 
 }
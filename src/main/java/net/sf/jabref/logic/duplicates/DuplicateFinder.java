@@ -0,0 +1,256 @@
+package net.sf.jabref.logic.duplicates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import net.sf.jabref.logic.util.DOI;
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.Author;
+import net.sf.jabref.model.entry.AuthorList;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+
+/**
+ * Finds pairs of duplicate entries without comparing every entry with every other entry.
+ * <p>
+ * The entries are put into blocks sharing a blocking key: the normalized DOI, the normalized ISBN, the last name of the
+ * first author (or editor) together with the year, and MinHash bands of the title trigrams. All keys contain the entry
+ * type, as {@link DuplicateCheck#isDuplicate(BibEntry, BibEntry, BibDatabaseMode)} only accepts entries of the same
+ * type. Only entries within the same block are compared using the full duplicate check. Entries without any key are
+ * compared with all entries of their type.
+ * <p>
+ * The blocks are processed in parallel. A pair sharing several blocks is only checked in the first of them.
+ */
+public class DuplicateFinder {
+
+    private static final int SHINGLE_LENGTH = 3;
+    /**
+     * The MinHash signature of a title is split into this many bands of {@link #ROWS_PER_BAND} values. Two titles end up
+     * in a common block if all values of one band are equal.
+     */
+    private static final int BANDS = 8;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int[] HASH_SEEDS = createHashSeeds(BANDS * ROWS_PER_BAND);
+
+    private final BibDatabaseMode databaseMode;
+
+
+    public DuplicateFinder(BibDatabaseMode databaseMode) {
+        this.databaseMode = Objects.requireNonNull(databaseMode);
+    }
+
+    /**
+     * Searches the given entries for duplicates. Each pair of duplicates found is passed to the consumer as soon as it
+     * is found, the first entry of a pair is always the one occurring first in the list. The consumer is called from
+     * several threads.
+     *
+     * @param cancelled checked regularly, the search stops as soon as it returns true
+     */
+    public void findDuplicates(List<BibEntry> entries, BiConsumer<BibEntry, BibEntry> consumer,
+            BooleanSupplier cancelled) {
+        Map<String, List<Integer>> blocksByKey = new HashMap<>();
+        Map<String, List<Integer>> entriesWithoutKeyByType = new HashMap<>();
+        Set<Integer> entriesWithoutKey = new HashSet<>();
+        Map<String, List<Integer>> entriesByType = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            entriesByType.computeIfAbsent(entry.getType(), type -> new ArrayList<>()).add(i);
+
+            Set<String> keys = getBlockingKeys(entry);
+            if (keys.isEmpty()) {
+                entriesWithoutKey.add(i);
+                entriesWithoutKeyByType.computeIfAbsent(entry.getType(), type -> new ArrayList<>()).add(i);
+            }
+            for (String key : keys) {
+                blocksByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Blocks with only one entry do not contain any pair
+        List<List<Integer>> blocks = new ArrayList<>();
+        List<List<Integer>> blocksOfEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            blocksOfEntries.add(new ArrayList<>());
+        }
+        for (List<Integer> block : blocksByKey.values()) {
+            if (block.size() > 1) {
+                for (Integer entry : block) {
+                    blocksOfEntries.get(entry).add(blocks.size());
+                }
+                blocks.add(block);
+            }
+        }
+
+        IntStream.range(0, blocks.size()).parallel().forEach(blockNumber -> {
+            List<Integer> block = blocks.get(blockNumber);
+            for (int i = 0; (i < (block.size() - 1)) && !cancelled.getAsBoolean(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    int first = block.get(i);
+                    int second = block.get(j);
+                    if (isFirstCommonBlock(blockNumber, blocksOfEntries.get(first), blocksOfEntries.get(second))) {
+                        check(entries.get(first), entries.get(second), consumer);
+                    }
+                }
+            }
+        });
+
+        // Entries without key have no block in common with any other entry, so these pairs are not checked above
+        entriesWithoutKeyByType.entrySet().parallelStream().forEach(typeAndEntries -> {
+            List<Integer> sameType = entriesByType.get(typeAndEntries.getKey());
+            for (Integer withoutKey : typeAndEntries.getValue()) {
+                for (Integer other : sameType) {
+                    if (cancelled.getAsBoolean()) {
+                        return;
+                    }
+                    // check pairs of two entries without key only once
+                    if (entriesWithoutKey.contains(other) && (other <= withoutKey)) {
+                        continue;
+                    }
+                    check(entries.get(Math.min(withoutKey, other)), entries.get(Math.max(withoutKey, other)),
+                            consumer);
+                }
+            }
+        });
+    }
+
+    private void check(BibEntry first, BibEntry second, BiConsumer<BibEntry, BibEntry> consumer) {
+        if (DuplicateCheck.isDuplicate(first, second, databaseMode)) {
+            consumer.accept(first, second);
+        }
+    }
+
+    /**
+     * The lists of block numbers are sorted, as the blocks are numbered while adding the entries to them.
+     */
+    private static boolean isFirstCommonBlock(int blockNumber, List<Integer> blocksOfFirst,
+            List<Integer> blocksOfSecond) {
+        int i = 0;
+        int j = 0;
+        while ((i < blocksOfFirst.size()) && (j < blocksOfSecond.size())) {
+            int first = blocksOfFirst.get(i);
+            int second = blocksOfSecond.get(j);
+            if (first == second) {
+                return first == blockNumber;
+            } else if (first < second) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    static Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+        String type = entry.getType() + '|';
+
+        entry.getField(FieldName.DOI).flatMap(DOI::build)
+                .ifPresent(doi -> keys.add(type + "doi|" + doi.getDOI().toLowerCase(Locale.ROOT)));
+
+        entry.getField(FieldName.ISBN).map(DuplicateFinder::normalizeIsbn).filter(isbn -> !isbn.isEmpty())
+                .ifPresent(isbn -> keys.add(type + "isbn|" + isbn));
+
+        Optional<String> year = entry.getFieldOrAlias(FieldName.YEAR);
+        Optional<String> lastName = getFirstLastName(entry);
+        if (year.isPresent() && lastName.isPresent()) {
+            keys.add(type + "author|" + lastName.get() + '|' + year.get().trim());
+        }
+
+        entry.getField(FieldName.TITLE).ifPresent(title -> {
+            int[] signature = getMinHashSignature(getShingles(title));
+            if (signature.length > 0) {
+                for (int band = 0; band < BANDS; band++) {
+                    int[] rows = Arrays.copyOfRange(signature, band * ROWS_PER_BAND, (band + 1) * ROWS_PER_BAND);
+                    keys.add(type + "title|" + band + '|' + Arrays.toString(rows));
+                }
+            }
+        });
+
+        return keys;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        return isbn.toUpperCase(Locale.ROOT).replaceAll("[^0-9X]", "");
+    }
+
+    private static Optional<String> getFirstLastName(BibEntry entry) {
+        Optional<String> persons = entry.getField(FieldName.AUTHOR);
+        if (!persons.isPresent()) {
+            persons = entry.getField(FieldName.EDITOR);
+        }
+        return persons.map(AuthorList::parse).filter(authors -> !authors.isEmpty())
+                .map(authors -> authors.getAuthor(0)).flatMap(Author::getLast)
+                .map(last -> normalize(last).replace(" ", "")).filter(last -> !last.isEmpty());
+    }
+
+    /**
+     * Converts the text to lower case and replaces everything except letters and digits by single spaces
+     */
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static Set<String> getShingles(String title) {
+        String normalized = normalize(title);
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i <= (normalized.length() - SHINGLE_LENGTH); i++) {
+            shingles.add(normalized.substring(i, i + SHINGLE_LENGTH));
+        }
+        return shingles;
+    }
+
+    /**
+     * Computes the minimum of each of the hash functions over all shingles
+     *
+     * @return the signature or an empty array if there are no shingles
+     */
+    private static int[] getMinHashSignature(Set<String> shingles) {
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] signature = new int[HASH_SEEDS.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            int hash = shingle.hashCode();
+            for (int i = 0; i < HASH_SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(hash ^ HASH_SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, which spreads similar inputs over the whole value range
+     */
+    private static int mix(int value) {
+        int hash = value;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static int[] createHashSeeds(int count) {
+        int[] seeds = new int[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = mix(i + 1) * 31;
+        }
+        return seeds;
+    }
+}
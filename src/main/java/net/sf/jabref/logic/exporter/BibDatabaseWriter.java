@@ -16,6 +16,7 @@ import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import net.sf.jabref.logic.bibtex.LatexFieldFormatterPreferences;
 import net.sf.jabref.logic.bibtex.comparator.BibtexStringComparator;
@@ -40,6 +41,7 @@ import net.sf.jabref.model.metadata.SaveOrderConfig;
 public abstract class BibDatabaseWriter<E extends SaveSession> {
 
     private static final Pattern REFERENCE_PATTERN = Pattern.compile("(#[A-Za-z]+#)"); // Used to detect string references in strings
+    private static final int ENTRIES_PER_BATCH = 1000;
     private final SaveSessionFactory<E> saveSessionFactory;
 
     private E session;
@@ -194,10 +196,9 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
                 EntryTypes.getType(entry.getType(), bibDatabaseContext.getMode()).ifPresent(
                         entryType -> typesToWrite.put(entryType.getName(), entryType));
             }
-
-            writeEntry(entry, bibDatabaseContext.getMode(), preferences.isReformatFile(),
-                    preferences.getLatexFieldFormatterPreferences());
         }
+        writeEntries(sortedEntries, bibDatabaseContext.getMode(), preferences.isReformatFile(),
+                preferences.getLatexFieldFormatterPreferences());
 
         if (preferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
             // Write meta data.
@@ -220,8 +221,43 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
 
     protected abstract void writePrelogue(BibDatabaseContext bibDatabaseContext, Charset encoding) throws SaveException;
 
-    protected abstract void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
-            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException;
+    /**
+     * Serializes the entries in parallel and writes them in the given order. The entries are processed in batches, so
+     * that the serialization of a large database does not have to be kept in memory completely.
+     */
+    private void writeEntries(List<BibEntry> entries, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
+        for (int start = 0; start < entries.size(); start += ENTRIES_PER_BATCH) {
+            List<BibEntry> batch = entries.subList(start, Math.min(start + ENTRIES_PER_BATCH, entries.size()));
+            String[] serializations = new String[batch.size()];
+            IOException[] problems = new IOException[batch.size()];
+            IntStream.range(0, batch.size()).parallel().forEach(i -> {
+                try {
+                    serializations[i] = serializeEntry(batch.get(i), mode, isReformatFile,
+                            latexFieldFormatterPreferences);
+                } catch (IOException e) {
+                    problems[i] = e;
+                }
+            });
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (problems[i] != null) {
+                    throw new SaveException(problems[i], batch.get(i));
+                }
+                try {
+                    session.getWriter().write(serializations[i]);
+                } catch (IOException e) {
+                    throw new SaveException(e, batch.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the serialization of the given entry. Is called from several threads at once.
+     */
+    protected abstract String serializeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws IOException;
 
     protected abstract void writeEpilogue(String epilogue) throws SaveException;
 
@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
@@ -160,15 +161,13 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     }
 
     @Override
-    protected void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
-            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
+    protected String serializeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws IOException {
         BibEntryWriter bibtexEntryWriter = new BibEntryWriter(
                 new LatexFieldFormatter(latexFieldFormatterPreferences), true);
-        try {
-            bibtexEntryWriter.write(entry, getWriter(), mode, isReformatFile);
-        } catch (IOException e) {
-            throw new SaveException(e, entry);
-        }
+        StringWriter writer = new StringWriter();
+        bibtexEntryWriter.write(entry, writer, mode, isReformatFile);
+        return writer.toString();
     }
 
     private Writer getWriter() {
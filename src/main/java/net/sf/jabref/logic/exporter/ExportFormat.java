@@ -6,6 +6,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
@@ -15,11 +16,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import net.sf.jabref.JabRefMain;
 import net.sf.jabref.logic.layout.Layout;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -43,6 +48,14 @@ public class ExportFormat implements IExportFormat {
 
     private boolean customExport;
     private static final String LAYOUT_PREFIX = "/resource/layout/";
+    private static final int ENTRIES_PER_BATCH = 1000;
+
+    /**
+     * The parsed layouts by the name of their file. The formatters of a layout are bound when it is parsed, so a
+     * layout is reused as long as neither its file nor the formatter file of this export format changed.
+     */
+    private final Map<String, CachedLayout> layoutCache = new ConcurrentHashMap<>();
+    private volatile long formatterFileModificationTime;
 
     private static final Log LOGGER = LogFactory.getLog(ExportFormat.class);
 
@@ -205,8 +218,6 @@ public class ExportFormat implements IExportFormat {
 
         try (VerifyingWriter ps = ss.getWriter()) {
 
-            Layout beginLayout = null;
-
             // Check if this export filter has bundled name formatters:
             // Add these to the preferences, so all layouts have access to the custom name formatters:
             readFormatterFile();
@@ -214,17 +225,12 @@ public class ExportFormat implements IExportFormat {
             List<String> missingFormatters = new ArrayList<>(1);
 
             // Print header
-            try (Reader reader = getReader(lfFileName + ".begin.layout")) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                beginLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was cast, export filter doesn't have a begin
-                // file.
-            }
+            // If there is no begin file, the export filter doesn't have a header
+            Optional<Layout> beginLayout = getLayout(lfFileName + ".begin.layout");
             // Write the header
-            if (beginLayout != null) {
-                ps.write(beginLayout.doLayout(databaseContext, encoding));
-                missingFormatters.addAll(beginLayout.getMissingFormatters());
+            if (beginLayout.isPresent()) {
+                ps.write(beginLayout.get().doLayout(databaseContext, encoding));
+                missingFormatters.addAll(beginLayout.get().getMissingFormatters());
             }
 
             /*
@@ -237,68 +243,46 @@ public class ExportFormat implements IExportFormat {
             List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
 
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + ".layout")) {
-                layoutHelper = new LayoutHelper(reader,layoutPreferences);
-                defLayout = layoutHelper.getLayoutFromText();
-            }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn(missingFormatters);
-                }
+            Layout defLayout = getLayout(lfFileName + ".layout").orElseThrow(
+                    () -> new IOException("Cannot find layout file: '" + lfFileName + ".layout'."));
+            missingFormatters.addAll(defLayout.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn(missingFormatters);
             }
+            // Get the layout of each entry type
             Map<String, Layout> layouts = new HashMap<>();
-            Layout layout;
-
-            ExportFormats.entryNumber = 0;
             for (BibEntry entry : sorted) {
-                ExportFormats.entryNumber++; // Increment entry counter.
-                // Get the layout
                 String type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type + ".layout")) {
-                        // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
-                            missingFormatters.addAll(layout.getMissingFormatters());
-                        }
-
-                    } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
-                        layout = defLayout;
-                    }
+                if (!layouts.containsKey(type)) {
+                    // We try to get a type-specific layout for this entry.
+                    // If there is none, we go with the default one.
+                    Optional<Layout> typeLayout = getLayout(lfFileName + '.' + type + ".layout");
+                    typeLayout.ifPresent(value -> missingFormatters.addAll(value.getMissingFormatters()));
+                    layouts.put(type, typeLayout.orElse(defLayout));
                 }
+            }
 
-                // Write the entry
-                if (layout != null) {
-                    ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
+            // Write the entries. Group blocks depend on the previous entry, so these layouts are processed in order.
+            if (layouts.values().stream().anyMatch(Layout::containsGroupBlocks)) {
+                for (int i = 0; i < sorted.size(); i++) {
+                    BibEntry entry = sorted.get(i);
+                    layouts.get(entry.getType()).doLayout(entry, databaseContext.getDatabase(), i + 1, ps);
                 }
+            } else {
+                writeEntriesInParallel(sorted, layouts, databaseContext.getDatabase(), ps);
             }
+            ExportFormats.entryNumber = sorted.size();
 
             // Print footer
 
             // changed section - begin (arudert)
-            Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + ".end.layout")) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                endLayout = layoutHelper.getLayoutFromText();
-            } catch (IOException ex) {
-                // If an exception was thrown, export filter doesn't have an end
-                // file.
-            }
+            // If there is no end file, the export filter doesn't have a footer
+            Optional<Layout> endLayout = getLayout(lfFileName + ".end.layout");
 
             // Write footer
-            if (endLayout != null) {
-                ps.write(endLayout.doLayout(databaseContext, this.encoding));
-                missingFormatters.addAll(endLayout.getMissingFormatters());
+            if (endLayout.isPresent()) {
+                ps.write(endLayout.get().doLayout(databaseContext, this.encoding));
+                missingFormatters.addAll(endLayout.get().getMissingFormatters());
             }
 
             // Clear custom name formatters:
@@ -314,6 +298,60 @@ public class ExportFormat implements IExportFormat {
 
     }
 
+    /**
+     * Formats the entries in parallel and writes them in the given order. The entries are processed in batches, so
+     * that the output of a large database does not have to be kept in memory completely.
+     */
+    private static void writeEntriesInParallel(List<BibEntry> entries, Map<String, Layout> layouts,
+            BibDatabase database, Writer writer) throws IOException {
+        for (int start = 0; start < entries.size(); start += ENTRIES_PER_BATCH) {
+            int batchStart = start;
+            List<BibEntry> batch = entries.subList(start, Math.min(start + ENTRIES_PER_BATCH, entries.size()));
+            String[] formattedEntries = new String[batch.size()];
+            IntStream.range(0, batch.size()).parallel().forEach(i -> {
+                BibEntry entry = batch.get(i);
+                formattedEntries[i] = layouts.get(entry.getType()).doLayout(entry, database, batchStart + i + 1);
+            });
+
+            for (String formattedEntry : formattedEntries) {
+                writer.write(formattedEntry);
+            }
+        }
+    }
+
+    /**
+     * Returns the layout stored in the given file, or an empty Optional if the file does not exist. The layouts are
+     * parsed once and then taken from the cache until their file is modified.
+     */
+    private Optional<Layout> getLayout(String filename) {
+        long modificationTime = getModificationTime(filename);
+        CachedLayout cached = layoutCache.get(filename);
+        if ((cached != null) && (cached.modificationTime == modificationTime)) {
+            return cached.layout;
+        }
+
+        Optional<Layout> layout;
+        try (Reader reader = getReader(filename)) {
+            layout = Optional.ofNullable(new LayoutHelper(reader, layoutPreferences).getLayoutFromText());
+        } catch (IOException ex) {
+            LOGGER.debug("No layout file " + filename, ex);
+            layout = Optional.empty();
+        }
+        layoutCache.put(filename, new CachedLayout(modificationTime, layout));
+        return layout;
+    }
+
+    /**
+     * Returns the modification time of the given layout file. The layouts of built-in exports are stored in the JAR
+     * and do not change, so 0 is returned for them.
+     */
+    private long getModificationTime(String filename) {
+        if (customExport) {
+            return new File(filename).lastModified();
+        }
+        return 0;
+    }
+
     @Override
     public void performExport(final BibDatabaseContext databaseContext, Path file, final Charset encoding,
             List<BibEntry> entries) throws Exception {
@@ -327,6 +365,12 @@ public class ExportFormat implements IExportFormat {
      */
     private void readFormatterFile() {
         File formatterFile = new File(lfFileName + ".formatters");
+        // the custom name formatters are bound to the cached layouts
+        long modificationTime = formatterFile.lastModified();
+        if (modificationTime != formatterFileModificationTime) {
+            layoutCache.clear();
+            formatterFileModificationTime = modificationTime;
+        }
         if (formatterFile.exists()) {
             try (Reader in = new FileReader(formatterFile)) {
                 // Ok, we found and opened the file. Read all contents:
@@ -367,4 +411,17 @@ public class ExportFormat implements IExportFormat {
         }
         ss.commit(file);
     }
+
+
+    private static class CachedLayout {
+
+        private final long modificationTime;
+        private final Optional<Layout> layout;
+
+
+        CachedLayout(long modificationTime, Optional<Layout> layout) {
+            this.modificationTime = modificationTime;
+            this.layout = layout;
+        }
+    }
 }
@@ -1,9 +1,17 @@
 package net.sf.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.FileOwnerAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.EnumSet;
 import java.util.Set;
@@ -23,8 +31,10 @@ import org.apache.commons.logging.LogFactory;
  * <p>
  * After saving is finished, the client should close the Writer. If the save should be put into effect, call commit(),
  * otherwise call cancel(). When canceling, the temporary file is simply deleted and the target file remains unchanged.
- * When committing, the temporary file is copied to the target file after making a backup if requested and if the target
- * file already existed, and finally the temporary file is deleted.
+ * When committing, the temporary file is copied next to the target file and then moved over it, so that the target file
+ * is replaced at once. If replacing would change the file apart from its content, e.g., break a hard link or lose its
+ * owner, the content is copied into the existing file instead. If requested and if the target file already existed,
+ * a backup of the old content is kept. Finally, the temporary file is deleted.
  * <p>
  * If committing fails, the temporary file will not be deleted.
  */
@@ -36,6 +46,7 @@ public class FileSaveSession extends SaveSession {
     private static final String BACKUP_EXTENSION = ".bak";
     private static final String TEMP_PREFIX = "jabref";
     private static final String TEMP_SUFFIX = "save.bib";
+
     private final Path temporaryFile;
 
 
@@ -69,9 +80,11 @@ public class FileSaveSession extends SaveSession {
         if (file == null) {
             return;
         }
-        if (backup && Files.exists(file)) {
-            Path backupFile = FileUtil.addExtension(file, BACKUP_EXTENSION);
-            FileUtil.copyFile(file, backupFile, true);
+        // a symbolic link stays in place, the file it points to is saved
+        Path target = getRealPath(file);
+        boolean replace = canReplace(target);
+        if (backup && Files.exists(target)) {
+            makeBackup(target, replace);
         }
         try {
             // Always use a lock file
@@ -88,20 +101,22 @@ public class FileSaveSession extends SaveSession {
 
             // Try to save file permissions to restore them later (by default: allow everything)
             Set<PosixFilePermission> oldFilePermissions = EnumSet.allOf(PosixFilePermission.class);
-            if (FileUtil.isPosixCompilant && Files.exists(file)) {
+            if (FileUtil.isPosixCompilant && Files.exists(target)) {
                 try {
-                    oldFilePermissions = Files.getPosixFilePermissions(file);
+                    oldFilePermissions = Files.getPosixFilePermissions(target);
                 } catch (IOException exception) {
                     LOGGER.warn("Error getting file permissions.", exception);
                 }
             }
 
-            FileUtil.copyFile(temporaryFile, file, true);
+            if (!replace || !replaceFile(target)) {
+                writeIntoFile(target);
+            }
 
             // Restore file permissions
             if (FileUtil.isPosixCompilant) {
                 try {
-                    Files.setPosixFilePermissions(file, oldFilePermissions);
+                    Files.setPosixFilePermissions(target, oldFilePermissions);
                 } catch (IOException exception) {
                     throw new SaveException(exception);
                 }
@@ -116,6 +131,142 @@ public class FileSaveSession extends SaveSession {
         }
     }
 
+    private static Path getRealPath(Path file) {
+        if (!Files.exists(file)) {
+            return file;
+        }
+        try {
+            return file.toRealPath();
+        } catch (IOException e) {
+            LOGGER.warn("Cannot resolve path of " + file, e);
+            return file;
+        }
+    }
+
+    /**
+     * Tells whether the given file can be replaced by a new file. This is not the case for a file which does not exist
+     * yet, has several hard links or whose directory is not writable.
+     */
+    private static boolean canReplace(Path file) {
+        if (!Files.exists(file, LinkOption.NOFOLLOW_LINKS) || Files.isSymbolicLink(file)) {
+            return false;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if ((directory == null) || !Files.isWritable(directory)) {
+            return false;
+        }
+        try {
+            Object links = Files.getAttribute(file, "unix:nlink");
+            return !(links instanceof Integer) || ((Integer) links <= 1);
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            // not a unix file system, where hard links are rare
+            return true;
+        }
+    }
+
+    /**
+     * Keeps the current content of the given file as backup. If the file is replaced and not changed in place, a hard
+     * link to it is sufficient. Otherwise, or if the file system does not support hard links, the content is copied.
+     */
+    private static void makeBackup(Path file, boolean replace) {
+        Path backupFile = FileUtil.addExtension(file, BACKUP_EXTENSION);
+        if (replace) {
+            try {
+                Files.deleteIfExists(backupFile);
+                Files.createLink(backupFile, file);
+                return;
+            } catch (IOException | UnsupportedOperationException | SecurityException e) {
+                LOGGER.debug("Could not link backup file, copying it", e);
+            }
+        }
+        FileUtil.copyFile(file, backupFile, true);
+    }
+
+    /**
+     * Replaces the given file by the temporary file at once. The temporary file is copied next to the given file first,
+     * as it might be on another file system. The owner, group and access control list of the given file are kept.
+     *
+     * @return false if the file was not replaced, as its attributes could not be kept
+     */
+    private boolean replaceFile(Path file) throws SaveException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path newFile = null;
+        try {
+            newFile = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+            Files.copy(temporaryFile, newFile, StandardCopyOption.REPLACE_EXISTING);
+            if (!copyOwnership(file, newFile)) {
+                Files.delete(newFile);
+                return false;
+            }
+            try {
+                Files.move(newFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                LOGGER.debug("Could not replace file atomically", e);
+                Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            if (newFile != null) {
+                try {
+                    Files.deleteIfExists(newFile);
+                } catch (IOException deleteException) {
+                    LOGGER.warn("Cannot delete temporary file", deleteException);
+                }
+            }
+            throw new SaveException(e);
+        }
+    }
+
+    /**
+     * Overwrites the content of the given file with the content of the temporary file, keeping the file itself
+     */
+    private void writeIntoFile(Path file) throws SaveException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            Files.copy(temporaryFile, out);
+        } catch (IOException e) {
+            throw new SaveException(e);
+        }
+    }
+
+    /**
+     * Gives the new file the owner, group and access control list of the old file
+     *
+     * @return false if the attributes could not be copied
+     */
+    private static boolean copyOwnership(Path oldFile, Path newFile) {
+        try {
+            if (FileUtil.isPosixCompilant) {
+                PosixFileAttributes oldAttributes = Files.readAttributes(oldFile, PosixFileAttributes.class);
+                PosixFileAttributeView newView = Files.getFileAttributeView(newFile, PosixFileAttributeView.class);
+                PosixFileAttributes newAttributes = newView.readAttributes();
+                if (!oldAttributes.owner().equals(newAttributes.owner())) {
+                    newView.setOwner(oldAttributes.owner());
+                }
+                if (!oldAttributes.group().equals(newAttributes.group())) {
+                    newView.setGroup(oldAttributes.group());
+                }
+            } else {
+                FileOwnerAttributeView newView = Files.getFileAttributeView(newFile, FileOwnerAttributeView.class);
+                if ((newView != null) && !Files.getOwner(oldFile).equals(newView.getOwner())) {
+                    newView.setOwner(Files.getOwner(oldFile));
+                }
+            }
+
+            AclFileAttributeView oldAcl = Files.getFileAttributeView(oldFile, AclFileAttributeView.class);
+            if (oldAcl != null) {
+                AclFileAttributeView newAcl = Files.getFileAttributeView(newFile, AclFileAttributeView.class);
+                if (newAcl == null) {
+                    return false;
+                }
+                newAcl.setAcl(oldAcl.getAcl());
+            }
+            return true;
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            LOGGER.debug("Cannot keep owner of " + oldFile + ", writing into it", e);
+            return false;
+        }
+    }
+
     @Override
     public void cancel() {
         try {
@@ -5,6 +5,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -16,6 +17,10 @@ import java.util.TreeSet;
 public class VerifyingWriter extends OutputStreamWriter {
 
     private final CharsetEncoder encoder;
+    /**
+     * If the encoding can encode all ASCII characters, ASCII strings are not checked
+     */
+    private final boolean asciiCompatible;
     private boolean couldEncodeAll = true;
     private final Set<Character> problemCharacters = new TreeSet<>();
 
@@ -23,11 +28,15 @@ public class VerifyingWriter extends OutputStreamWriter {
     public VerifyingWriter(OutputStream out, Charset encoding) {
         super(out, encoding);
         encoder = encoding.newEncoder();
+        asciiCompatible = encoding.contains(StandardCharsets.US_ASCII);
     }
 
     @Override
     public void write(String str) throws IOException {
         super.write(str);
+        if (asciiCompatible && isAscii(str)) {
+            return;
+        }
         if (!encoder.canEncode(str)) {
             for (int i = 0; i < str.length(); i++) {
                 if (!encoder.canEncode(str.charAt(i))) {
@@ -38,6 +47,15 @@ public class VerifyingWriter extends OutputStreamWriter {
         }
     }
 
+    private static boolean isAscii(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean couldEncodeAll() {
         return couldEncodeAll;
     }
@@ -15,16 +15,19 @@ public class ImportFormatPreferences {
     private final BibtexKeyPatternPreferences bibtexKeyPatternPreferences;
     private final FieldContentParserPreferences fieldContentParserPreferences;
     private final boolean keywordSyncEnabled;
+    private final boolean unicodeCacheFileEnabled;
 
     public ImportFormatPreferences(Set<CustomImporter> customImportList, Charset encoding, Character keywordSeparator,
             BibtexKeyPatternPreferences bibtexKeyPatternPreferences,
-            FieldContentParserPreferences fieldContentParserPreferences, boolean keywordSyncEnabled) {
+            FieldContentParserPreferences fieldContentParserPreferences, boolean keywordSyncEnabled,
+            boolean unicodeCacheFileEnabled) {
         this.customImportList = customImportList;
         this.encoding = encoding;
         this.keywordSeparator = keywordSeparator;
         this.bibtexKeyPatternPreferences = bibtexKeyPatternPreferences;
         this.fieldContentParserPreferences = fieldContentParserPreferences;
         this.keywordSyncEnabled = keywordSyncEnabled;
+        this.unicodeCacheFileEnabled = unicodeCacheFileEnabled;
     }
 
     /**
@@ -51,9 +54,16 @@ public class ImportFormatPreferences {
         return fieldContentParserPreferences;
     }
 
+    /**
+     * Returns whether the LaTeX to Unicode conversions stored next to a database are read when it is opened
+     */
+    public boolean isUnicodeCacheFileEnabled() {
+        return unicodeCacheFileEnabled;
+    }
+
     public ImportFormatPreferences withEncoding(Charset newEncoding) {
         return new ImportFormatPreferences(customImportList, newEncoding, keywordSeparator, bibtexKeyPatternPreferences,
-                fieldContentParserPreferences, keywordSyncEnabled);
+                fieldContentParserPreferences, keywordSyncEnabled, unicodeCacheFileEnabled);
     }
 
     /**
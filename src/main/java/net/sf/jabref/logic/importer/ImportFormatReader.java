@@ -1,12 +1,18 @@
 package net.sf.jabref.logic.importer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.importer.fileformat.BibTeXMLImporter;
 import net.sf.jabref.logic.importer.fileformat.BiblioscapeImporter;
@@ -33,10 +39,18 @@ import net.sf.jabref.model.database.BibDatabases;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.strings.StringUtil;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+
 public class ImportFormatReader {
 
     public static final String BIBTEX_FORMAT = "BibTeX";
 
+    /**
+     * The number of bytes read at first from a file of unknown format to detect its format
+     */
+    private static final int DETECTION_PREFIX_LENGTH = 1024 * 1024;
+
     /**
      * All import formats.
      * Sorted accordingly to {@link Importer#compareTo}, which defaults to alphabetically by the name
@@ -162,59 +176,185 @@ public class ImportFormatReader {
      * Tries to import a file by iterating through the available import filters,
      * and keeping the import that seems most promising.
      * <p/>
-     * If all fails this method attempts to read this file as bibtex.
+     * If the file contains an "@", it is first read as BibTeX. Otherwise, the beginning of the file is read once and
+     * all import filters check it in parallel. The recognizing filters import this beginning, and only the one finding
+     * the most entries imports the whole file. Files not larger than {@link #DETECTION_PREFIX_LENGTH} are read once.
      *
      * @throws ImportException if the import fails (for example, if no suitable importer is found)
      */
     public UnknownFormatImport importUnknownFormat(Path filePath) throws ImportException {
         Objects.requireNonNull(filePath);
 
-        // First, see if it is a BibTeX file:
+        FilePrefix prefix;
         try {
-            ParserResult parserResult = OpenDatabase.loadDatabase(filePath.toFile(), importFormatPreferences);
-            if (parserResult.getDatabase().hasEntries() || !parserResult.getDatabase().hasNoStrings()) {
-                parserResult.setFile(filePath.toFile());
-                return new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, parserResult);
-            }
-        } catch (IOException ignore) {
-            // Ignored
+            prefix = FilePrefix.read(filePath, importFormatPreferences.getEncoding());
+        } catch (IOException e) {
+            throw new ImportException(Localization.lang("Could not find a suitable import format."), e);
         }
 
-        // stores ref to best result, gets updated at the next loop
-        List<BibEntry> bestResult = null;
-        int bestResultCount = 0;
-        String bestFormatName = null;
-
-        // Cycle through all importers:
-        for (Importer imFo : getImportFormats()) {
+        // First, see if it is a BibTeX file:
+        if (prefix.containsAt) {
             try {
-                if (!imFo.isRecognizedFormat(filePath, importFormatPreferences.getEncoding())) {
-                    continue;
+                ParserResult parserResult = OpenDatabase.loadDatabase(filePath.toFile(), importFormatPreferences);
+                if (parserResult.getDatabase().hasEntries() || !parserResult.getDatabase().hasNoStrings()) {
+                    parserResult.setFile(filePath.toFile());
+                    return new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, parserResult);
                 }
+            } catch (IOException ignore) {
+                // Ignored
+            }
+        }
 
-                ParserResult parserResult = imFo.importDatabase(filePath, importFormatPreferences.getEncoding());
-                List<BibEntry> entries = parserResult.getDatabase().getEntries();
-
-                BibDatabases.purgeEmptyEntries(entries);
-                int entryCount = entries.size();
+        List<Importer> candidates = getImportFormats().parallelStream()
+                .filter(importer -> !(importer instanceof BibtexImporter))
+                .filter(importer -> isRecognizedFormat(importer, filePath, prefix))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty() && !prefix.complete) {
+            // checks parsing the whole input, e.g. of XML formats, fail if the prefix cuts it
+            candidates = getImportFormats().parallelStream()
+                    .filter(importer -> !(importer instanceof BibtexImporter))
+                    .filter(importer -> isRecognizedFormat(importer, filePath, null))
+                    .collect(Collectors.toList());
+        }
 
-                if (entryCount > bestResultCount) {
-                    bestResult = entries;
-                    bestResultCount = bestResult.size();
-                    bestFormatName = imFo.getName();
-                }
-            } catch (IOException ex) {
-                // The import did not succeed. Go on.
+        Optional<ImportResult> bestResult;
+        if ((candidates.size() == 1) && !prefix.complete) {
+            bestResult = importFile(candidates.get(0), filePath);
+        } else {
+            bestResult = selectBest(candidates.parallelStream()
+                    .map(importer -> importPrefix(importer, filePath, prefix))
+                    .collect(Collectors.toList()));
+            if (bestResult.isPresent() && !bestResult.get().complete) {
+                bestResult = importFile(bestResult.get().importer, filePath);
+            } else if (!bestResult.isPresent() && !prefix.complete) {
+                // the prefix may cut the only entry, so the candidates are imported completely as a last resort
+                bestResult = selectBest(candidates.stream()
+                        .map(importer -> importFile(importer, filePath))
+                        .collect(Collectors.toList()));
             }
         }
 
-        if (bestResult != null) {
+        if (bestResult.isPresent() && !bestResult.get().entries.isEmpty()) {
             // we found something
-            ParserResult parserResult = new ParserResult(bestResult);
+            ParserResult parserResult = new ParserResult(bestResult.get().entries);
             parserResult.setFile(filePath.toFile());
-            return new UnknownFormatImport(bestFormatName, parserResult);
+            return new UnknownFormatImport(bestResult.get().importer.getName(), parserResult);
         }
 
         throw new ImportException(Localization.lang("Could not find a suitable import format."));
     }
+
+    /**
+     * Checks the format of the file, using the given prefix if the importer is not file based
+     *
+     * @param prefix the prefix of the file or null, if the whole file should be read
+     */
+    private boolean isRecognizedFormat(Importer importer, Path filePath, FilePrefix prefix) {
+        try {
+            if (importer.isFileBased() || (prefix == null)) {
+                return importer.isRecognizedFormat(filePath, importFormatPreferences.getEncoding());
+            }
+            return importer.isRecognizedFormat(prefix.getReader());
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private Optional<ImportResult> importPrefix(Importer importer, Path filePath, FilePrefix prefix) {
+        if (importer.isFileBased()) {
+            return importFile(importer, filePath);
+        }
+        try {
+            ParserResult parserResult = importer.importDatabase(prefix.getReader());
+            return Optional.of(new ImportResult(importer, parserResult, prefix.complete));
+        } catch (IOException | RuntimeException ex) {
+            // The import did not succeed, which may also be caused by the cut input. Go on.
+            return Optional.empty();
+        }
+    }
+
+    private Optional<ImportResult> importFile(Importer importer, Path filePath) {
+        try {
+            return Optional.of(new ImportResult(importer,
+                    importer.importDatabase(filePath, importFormatPreferences.getEncoding()), true));
+        } catch (IOException ex) {
+            // The import did not succeed. Go on.
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the first of the results having the most entries, if any has entries
+     */
+    private static Optional<ImportResult> selectBest(List<Optional<ImportResult>> results) {
+        ImportResult bestResult = null;
+        int bestResultCount = 0;
+        for (Optional<ImportResult> result : results) {
+            if (result.isPresent() && (result.get().entries.size() > bestResultCount)) {
+                bestResult = result.get();
+                bestResultCount = bestResult.entries.size();
+            }
+        }
+        return Optional.ofNullable(bestResult);
+    }
+
+
+    /**
+     * The beginning of a file, which is read once and shared by all importers checking the format of the file
+     */
+    private static class FilePrefix {
+
+        /**
+         * The decoded beginning of the file. If the file is longer, the text ends after the last complete line.
+         */
+        private final String text;
+
+        /**
+         * True if the text is the whole file
+         */
+        private final boolean complete;
+
+        /**
+         * True if the prefix contains an "@". The bytes are checked, so that this does not depend on the encoding.
+         */
+        private final boolean containsAt;
+
+
+        private FilePrefix(String text, boolean complete, boolean containsAt) {
+            this.text = text;
+            this.complete = complete;
+            this.containsAt = containsAt;
+        }
+
+        static FilePrefix read(Path filePath, Charset encoding) throws IOException {
+            byte[] bytes;
+            try (InputStream stream = Files.newInputStream(filePath)) {
+                bytes = ByteStreams.toByteArray(ByteStreams.limit(stream, DETECTION_PREFIX_LENGTH + 1L));
+            }
+            boolean complete = bytes.length <= DETECTION_PREFIX_LENGTH;
+            String text = new String(bytes, 0, Math.min(bytes.length, DETECTION_PREFIX_LENGTH), encoding);
+            if (!complete) {
+                text = text.substring(0, text.lastIndexOf('\n') + 1);
+            }
+            return new FilePrefix(text, complete, Bytes.contains(bytes, (byte) '@'));
+        }
+
+        BufferedReader getReader() {
+            return new BufferedReader(new StringReader(text));
+        }
+    }
+
+    private static class ImportResult {
+
+        private final Importer importer;
+        private final List<BibEntry> entries;
+        private final boolean complete;
+
+
+        ImportResult(Importer importer, ParserResult parserResult, boolean complete) {
+            this.importer = importer;
+            this.entries = BibDatabases.purgeEmptyEntries(parserResult.getDatabase().getEntries());
+            this.complete = complete;
+        }
+    }
 }
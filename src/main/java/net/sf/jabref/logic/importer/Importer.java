@@ -5,6 +5,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -12,6 +13,8 @@ import java.util.Objects;
 
 import net.sf.jabref.logic.util.FileExtensions;
 
+import com.google.common.io.CharSource;
+
 /**
  * Role of an importer for JabRef.
  */
@@ -43,6 +46,15 @@ public abstract class Importer implements Comparable<Importer> {
         }
     }
 
+    /**
+     * Returns whether this importer reads the file itself, because it can not work on the decoded text of a file.
+     * Such importers only support {@link #isRecognizedFormat(Path, Charset)} and
+     * {@link #importDatabase(Path, Charset)}.
+     */
+    public boolean isFileBased() {
+        return false;
+    }
+
     /**
      * Parse the database in the source.
      *
@@ -92,6 +104,19 @@ public abstract class Importer implements Comparable<Importer> {
         return new BufferedReader(new InputStreamReader(stream, encoding));
     }
 
+    /**
+     * Returns the content of the file as source, which opens a new reader of the file each time it is read
+     */
+    public static CharSource getCharSource(Path filePath, Charset encoding) {
+        return new CharSource() {
+
+            @Override
+            public Reader openStream() throws IOException {
+                return getReader(filePath, encoding);
+            }
+        };
+    }
+
     /**
      * Returns the name of this import format.
      *
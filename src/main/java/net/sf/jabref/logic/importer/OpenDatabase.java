@@ -2,6 +2,8 @@ package net.sf.jabref.logic.importer;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import net.sf.jabref.JabRefException;
 import net.sf.jabref.logic.importer.fileformat.BibtexImporter;
@@ -9,6 +11,8 @@ import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.specialfields.SpecialFieldsUtils;
 import net.sf.jabref.logic.util.io.FileBasedLock;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.strings.LatexToUnicodeCache;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -67,6 +71,19 @@ public class OpenDatabase {
         ParserResult result = new BibtexImporter(importFormatPreferences).importDatabase(fileToOpen.toPath(),
                 importFormatPreferences.getEncoding());
 
+        // Reuse the LaTeX to Unicode conversions stored when the database was saved
+        Path unicodeCacheFile = LatexToUnicodeCache.getCacheFile(fileToOpen.toPath());
+        if (importFormatPreferences.isUnicodeCacheFileEnabled() && Files.exists(unicodeCacheFile)) {
+            try {
+                if (!LatexToUnicodeCache.INSTANCE.read(unicodeCacheFile, fileToOpen.toPath())) {
+                    LOGGER.debug("Ignoring outdated " + unicodeCacheFile);
+                }
+            } catch (IOException | RuntimeException e) {
+                // the conversions are computed again
+                LOGGER.warn("Could not read " + unicodeCacheFile, e);
+            }
+        }
+
         if (importFormatPreferences.isKeywordSyncEnabled()) {
             for (BibEntry entry : result.getDatabase().getEntries()) {
                 SpecialFieldsUtils.syncSpecialFieldsFromKeywords(entry, importFormatPreferences.getKeywordSeparator());
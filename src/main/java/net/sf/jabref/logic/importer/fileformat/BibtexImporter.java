@@ -58,16 +58,18 @@ public class BibtexImporter extends Importer {
             }
         }
 
-        if(suppliedEncoding.isPresent()) {
-            return super.importDatabase(filePath, suppliedEncoding.get());
-        } else {
-            return super.importDatabase(filePath, defaultEncoding);
-        }
+        Charset encoding = suppliedEncoding.orElse(defaultEncoding);
+        ParserResult parserResult = new ParallelBibtexParser(importFormatPreferences)
+                .parse(getCharSource(filePath, encoding));
+        parserResult.getMetaData().setEncoding(encoding);
+        parserResult.setFile(filePath.toFile());
+        return parserResult;
     }
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return BibtexParser.parse(reader, importFormatPreferences);
+        // Large files are split and parsed in parallel, small files are parsed sequentially
+        return new ParallelBibtexParser(importFormatPreferences).parse(reader);
     }
 
     @Override
@@ -8,11 +8,10 @@ import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -69,9 +68,17 @@ public class BibtexParser implements Parser {
     private final FieldContentParser fieldContentParser;
     private ParserResult parserResult;
     private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
+    private final StringBuilder pureTextFromFile = new StringBuilder();
     private final ImportFormatPreferences importFormatPreferences;
 
+    /**
+     * In chunk mode (used by {@link ParallelBibtexParser}) entries are only collected and neither inserted into the
+     * database nor checked for duplicate keys. Meta data is kept unparsed, as it has to be merged with the other chunks
+     * first.
+     */
+    private boolean chunkMode;
+    private final List<BibEntry> chunkEntries = new ArrayList<>();
+    private final Map<String, String> meta = new HashMap<>();
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
@@ -172,7 +179,32 @@ public class BibtexParser implements Parser {
         }
     }
 
+    /**
+     * Parses a part of a file which starts directly after an entry (or at the beginning of the file) and ends directly
+     * after an entry. The parsed entries are not added to the database of the result, but are available via
+     * {@link #getChunkEntries()}. The meta data is not parsed, but is available via {@link #getUnparsedMetaData()}.
+     */
+    ParserResult parseChunk(Reader in) throws IOException {
+        chunkMode = true;
+        try {
+            return parse(in);
+        } finally {
+            // the parser is kept until all chunks are merged, but the text of its chunk is not needed any more
+            pushbackReader = null;
+        }
+    }
+
+    List<BibEntry> getChunkEntries() {
+        return chunkEntries;
+    }
+
+    Map<String, String> getUnparsedMetaData() {
+        return meta;
+    }
+
     private void initializeParserResult() {
+        chunkEntries.clear();
+        meta.clear();
         database = new BibDatabase();
         entryTypes = new HashMap<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, null, entryTypes);
@@ -201,8 +233,6 @@ public class BibtexParser implements Parser {
     }
 
     private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
-
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -223,7 +253,7 @@ public class BibtexParser implements Parser {
             } else if ("string".equals(entryType)) {
                 parseBibtexString();
             } else if ("comment".equals(entryType)) {
-                parseJabRefComment(meta);
+                parseJabRefComment();
             } else {
                 // Not a comment, preamble, or string. Thus, it is an entry
                 parseAndAddEntry(entryType);
@@ -233,10 +263,12 @@ public class BibtexParser implements Parser {
         }
 
         // Instantiate meta data:
-        try {
-            parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
-        } catch (ParseException exception) {
-            parserResult.addWarning(exception.getLocalizedMessage());
+        if (!chunkMode) {
+            try {
+                parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
+            } catch (ParseException exception) {
+                parserResult.addWarning(exception.getLocalizedMessage());
+            }
         }
 
         parseRemainingContent();
@@ -267,6 +299,11 @@ public class BibtexParser implements Parser {
             // store complete parsed serialization (comments, type definition + type contents)
             entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
 
+            if (chunkMode) {
+                chunkEntries.add(entry);
+                return;
+            }
+
             boolean duplicateKey = database.insertEntry(entry);
             if (duplicateKey) {
                 parserResult.addDuplicateKey(entry.getCiteKey());
@@ -282,7 +319,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private void parseJabRefComment(Map<String, String> meta) {
+    private void parseJabRefComment() {
         StringBuilder buffer = null;
         try {
             buffer = parseBracketedTextExactly();
@@ -382,12 +419,9 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+        String entry = pureTextFromFile.toString();
+        pureTextFromFile.setLength(0);
+        return entry;
     }
 
     /**
@@ -493,7 +527,7 @@ public class BibtexParser implements Parser {
         int character = pushbackReader.read();
 
         if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+            pureTextFromFile.append((char) character);
         }
         if (character == '\n') {
             line++;
@@ -506,8 +540,9 @@ public class BibtexParser implements Parser {
             line--;
         }
         pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        int lastIndex = pureTextFromFile.length() - 1;
+        if ((lastIndex >= 0) && (pureTextFromFile.charAt(lastIndex) == character)) {
+            pureTextFromFile.setLength(lastIndex);
         }
     }
 
@@ -0,0 +1,357 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParseException;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.util.MetaDataParser;
+import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.KeyCollisionException;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.EntryType;
+
+import com.google.common.io.CharSource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Parses large BibTeX files by splitting them into chunks at top-level entry boundaries and parsing these chunks in
+ * parallel using a {@link BibtexParser} each. The results are merged in the original order of the file.
+ * <p>
+ * The content is read chunk by chunk, and only a few chunks wait for a parser at the same time. Thus, the whole
+ * content is never held in memory at once.
+ * <p>
+ * Chunks are only split directly after regular entries. Thus, <code>@String</code>, <code>@Preamble</code> and
+ * <code>@Comment</code> blocks (including the JabRef meta data) are always parsed as part of a chunk and the text
+ * between two entries ends up in the same parsed serialization as with the sequential parser.
+ * <p>
+ * If a chunk reports a warning (e.g., a malformed entry), the whole content is parsed again sequentially, because
+ * the error recovery of the parser may depend on the text read before.
+ */
+public class ParallelBibtexParser {
+
+    private static final Log LOGGER = LogFactory.getLog(ParallelBibtexParser.class);
+
+    /**
+     * The minimal number of characters of a chunk. Files smaller than this are not split.
+     */
+    private static final int CHUNK_LENGTH = 256 * 1024;
+
+    private static final int READ_LENGTH = 64 * 1024;
+
+    /**
+     * Number of chunks which may wait for a parser per worker thread
+     */
+    private static final int PENDING_CHUNKS_PER_THREAD = 2;
+
+    private final ImportFormatPreferences importFormatPreferences;
+    private final ForkJoinPool pool;
+
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences) {
+        this(importFormatPreferences, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, ForkJoinPool pool) {
+        this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Will parse the BibTeX data found when reading from the reader. The result is the same as the result of
+     * {@link BibtexParser#parse(Reader)}.
+     * <p>
+     * The reader will be consumed.
+     */
+    public ParserResult parse(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        return parse(CharSource.wrap(readFully(in)));
+    }
+
+    /**
+     * Will parse the given BibTeX content. The chunks are read directly from the content without copying them.
+     */
+    public ParserResult parse(CharSequence content) throws IOException {
+        Objects.requireNonNull(content);
+        return parse(CharSource.wrap(content));
+    }
+
+    /**
+     * Will parse the BibTeX data of the given source, e.g., a file. The source is read chunk by chunk. It is read a
+     * second time if the content has to be parsed sequentially.
+     */
+    public ParserResult parse(CharSource source) throws IOException {
+        Objects.requireNonNull(source);
+
+        int maxPendingChunks = pool.getParallelism() * PENDING_CHUNKS_PER_THREAD;
+        List<BibtexParser> parsers = new ArrayList<>();
+        List<ForkJoinTask<ParserResult>> tasks = new ArrayList<>();
+        List<ParserResult> chunkResults = new ArrayList<>();
+        try (Reader in = source.openStream()) {
+            StringBuilder buffer = new StringBuilder();
+            char[] readBuffer = new char[READ_LENGTH];
+            int read;
+            while ((read = in.read(readBuffer)) != -1) {
+                buffer.append(readBuffer, 0, read);
+                int boundary;
+                while ((boundary = findChunkBoundary(buffer, 0, CHUNK_LENGTH)) >= 0) {
+                    submitChunk(buffer.substring(0, boundary), parsers, tasks);
+                    buffer.delete(0, boundary);
+                    while ((tasks.size() - chunkResults.size()) > maxPendingChunks) {
+                        chunkResults.add(getChunkResult(tasks, chunkResults.size()));
+                    }
+                }
+            }
+
+            if (parsers.isEmpty()) {
+                // too small to be split
+                return new BibtexParser(importFormatPreferences).parse(openReader(buffer));
+            }
+            submitChunk(buffer.toString(), parsers, tasks);
+        }
+
+        while (chunkResults.size() < tasks.size()) {
+            chunkResults.add(getChunkResult(tasks, chunkResults.size()));
+        }
+
+        if (chunkResults.stream().anyMatch(ParserResult::hasWarnings)) {
+            LOGGER.debug("Chunk reported a problem, parsing file sequentially");
+            try (Reader in = source.openStream()) {
+                return new BibtexParser(importFormatPreferences).parse(in);
+            }
+        }
+
+        return merge(parsers, chunkResults);
+    }
+
+    private void submitChunk(String chunk, List<BibtexParser> parsers, List<ForkJoinTask<ParserResult>> tasks) {
+        BibtexParser parser = new BibtexParser(importFormatPreferences);
+        parsers.add(parser);
+        tasks.add(pool.submit(() -> parser.parseChunk(openReader(chunk))));
+    }
+
+    /**
+     * Waits for the result of the given chunk. The task is dropped afterwards, so that the chunk can be freed.
+     */
+    private static ParserResult getChunkResult(List<ForkJoinTask<ParserResult>> tasks, int chunk) throws IOException {
+        try {
+            ParserResult result = tasks.get(chunk).get();
+            tasks.set(chunk, null);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private ParserResult merge(List<BibtexParser> parsers, List<ParserResult> chunkResults) {
+        BibDatabase database = new BibDatabase();
+        Map<String, EntryType> entryTypes = new HashMap<>();
+        ParserResult parserResult = new ParserResult(database, null, entryTypes);
+        Map<String, String> meta = new HashMap<>();
+
+        chunkResults.get(0).getDatabase().getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+
+        for (int i = 0; i < chunkResults.size(); i++) {
+            BibDatabase chunkDatabase = chunkResults.get(i).getDatabase();
+
+            // the sequential parser overwrites the preamble each time it finds one
+            chunkDatabase.getPreamble().ifPresent(database::setPreamble);
+
+            for (BibtexString bibtexString : chunkDatabase.getStringValues()) {
+                try {
+                    database.addString(bibtexString);
+                } catch (KeyCollisionException ex) {
+                    parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
+                }
+            }
+
+            for (BibEntry entry : parsers.get(i).getChunkEntries()) {
+                boolean duplicateKey = database.insertEntry(entry);
+                if (duplicateKey) {
+                    parserResult.addDuplicateKey(entry.getCiteKey());
+                } else if (!entry.getCiteKeyOptional().isPresent() || entry.getCiteKeyOptional().get().isEmpty()) {
+                    parserResult.addWarning(Localization.lang("Empty BibTeX key") + ": "
+                            + entry.getAuthorTitleYear(40) + " ("
+                            + Localization.lang("Grouping may not work for this entry.") + ")");
+                }
+            }
+
+            entryTypes.putAll(chunkResults.get(i).getEntryTypes());
+            meta.putAll(parsers.get(i).getUnparsedMetaData());
+        }
+
+        try {
+            parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
+        } catch (ParseException exception) {
+            parserResult.addWarning(exception.getLocalizedMessage());
+        }
+
+        database.setEpilog(chunkResults.get(chunkResults.size() - 1).getDatabase().getEpilog());
+        return parserResult;
+    }
+
+    private static Reader openReader(CharSequence content) throws IOException {
+        return CharSource.wrap(content).openStream();
+    }
+
+    private static String readFully(Reader in) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return content.toString();
+    }
+
+    /**
+     * Determines the positions at which the content can be split into chunks of at least the given length. A chunk
+     * boundary is placed directly after a regular entry, including the one newline the parser consumes as the end of
+     * the entry.
+     *
+     * @return the list of chunk boundaries, always starting with 0 and ending with the length of the content
+     */
+    static List<Integer> findChunkBoundaries(CharSequence content, int minChunkLength) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+
+        int boundary = 0;
+        while ((boundary = findChunkBoundary(content, boundary, minChunkLength)) >= 0) {
+            boundaries.add(boundary);
+        }
+
+        boundaries.add(content.length());
+        return boundaries;
+    }
+
+    /**
+     * Returns the first position at which the content can be split, such that the chunk starting at the given
+     * position has at least the given length. The content after the boundary must not be empty, so that content
+     * which is still read can be passed.
+     *
+     * @return the position of the boundary or -1 if there is none
+     */
+    static int findChunkBoundary(CharSequence content, int start, int minChunkLength) {
+        int length = content.length();
+        int position = start;
+        while (position < length) {
+            int atPosition = indexOf(content, '@', position);
+            if (atPosition < 0) {
+                return -1;
+            }
+
+            int typeStart = skipWhitespace(content, atPosition + 1);
+            int typeEnd = typeStart;
+            while ((typeEnd < length) && isTextTokenCharacter(content.charAt(typeEnd))) {
+                typeEnd++;
+            }
+            String type = content.subSequence(typeStart, typeEnd).toString().toLowerCase(Locale.ROOT);
+
+            int opening = skipWhitespace(content, typeEnd);
+            if ((opening >= length) || ((content.charAt(opening) != '{') && (content.charAt(opening) != '('))) {
+                // not a block, the parser will skip this '@'
+                position = atPosition + 1;
+                continue;
+            }
+
+            int closing = findClosingDelimiter(content, opening);
+            if (closing < 0) {
+                // unbalanced block: leave the remaining content in one chunk
+                return -1;
+            }
+            position = closing + 1;
+
+            boolean isEntry = !type.isEmpty() && !"preamble".equals(type) && !"string".equals(type)
+                    && !"comment".equals(type);
+            if (isEntry && (content.charAt(opening) == '{')) {
+                position = skipOneNewline(content, position);
+                if (((position - start) >= minChunkLength) && (position < length)) {
+                    return position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence content, char character, int fromIndex) {
+        for (int i = fromIndex; i < content.length(); i++) {
+            if (content.charAt(i) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTextTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
+    private static int skipWhitespace(CharSequence content, int position) {
+        int current = position;
+        while ((current < content.length()) && Character.isWhitespace(content.charAt(current))) {
+            current++;
+        }
+        return current;
+    }
+
+    private static int skipOneNewline(CharSequence content, int position) {
+        if ((position < content.length()) && (content.charAt(position) == '\r')) {
+            position++;
+        }
+        if ((position < content.length()) && (content.charAt(position) == '\n')) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Finds the delimiter closing the block opened at the given position. Escaped braces are ignored, as the
+     * parser does so in field contents. For blocks delimited by parentheses, quoted text is skipped.
+     *
+     * @return the position of the closing delimiter or -1 if there is none
+     */
+    private static int findClosingDelimiter(CharSequence content, int opening) {
+        boolean roundBrackets = content.charAt(opening) == '(';
+        int braces = 0;
+        boolean quoted = false;
+        char lastCharacter = '\0';
+        for (int i = opening + 1; i < content.length(); i++) {
+            char character = content.charAt(i);
+            if ((character == '{') && (lastCharacter != '\\')) {
+                braces++;
+            } else if ((character == '}') && (lastCharacter != '\\')) {
+                if (braces == 0) {
+                    return roundBrackets ? -1 : i;
+                }
+                braces--;
+            } else if (roundBrackets && (braces == 0)) {
+                if (character == '"') {
+                    quoted = !quoted;
+                } else if ((character == ')') && !quoted) {
+                    return i;
+                }
+            }
+            lastCharacter = character;
+        }
+        return -1;
+    }
+}
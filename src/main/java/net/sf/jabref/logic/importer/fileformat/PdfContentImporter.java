@@ -191,6 +191,11 @@ public class PdfContentImporter extends Importer {
         return false;
     }
 
+    @Override
+    public boolean isFileBased() {
+        return true;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -2,7 +2,10 @@ package net.sf.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 
@@ -13,11 +16,20 @@ import net.sf.jabref.logic.util.FileExtensions;
 import net.sf.jabref.logic.xmp.XMPPreferences;
 import net.sf.jabref.logic.xmp.XMPUtil;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * Wraps the XMPUtility function to be used as an Importer.
  */
 public class PdfXmpImporter extends Importer {
 
+    private static final String PDF_HEADER = "%PDF-";
+
+    /**
+     * Readers accept the header anywhere within the first 1024 bytes
+     */
+    private static final int PDF_HEADER_SEARCH_LENGTH = 1024;
+
     private final XMPPreferences xmpPreferences;
 
 
@@ -35,6 +47,11 @@ public class PdfXmpImporter extends Importer {
         return FileExtensions.XMP;
     }
 
+    @Override
+    public boolean isFileBased() {
+        return true;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -68,7 +85,20 @@ public class PdfXmpImporter extends Importer {
     @Override
     public boolean isRecognizedFormat(Path filePath, Charset defaultEncoding) throws IOException {
         Objects.requireNonNull(filePath);
-        return XMPUtil.hasMetadata(filePath, xmpPreferences);
+        // reading the metadata is expensive, so other files are rejected by their header first
+        return isPdf(filePath) && XMPUtil.hasMetadata(filePath, xmpPreferences);
+    }
+
+    /**
+     * Returns whether the PDF header is found within the first bytes of the given file
+     */
+    private static boolean isPdf(Path filePath) throws IOException {
+        byte[] header = new byte[PDF_HEADER_SEARCH_LENGTH];
+        int length;
+        try (InputStream stream = Files.newInputStream(filePath)) {
+            length = ByteStreams.read(stream, header, 0, header.length);
+        }
+        return new String(header, 0, length, StandardCharsets.ISO_8859_1).contains(PDF_HEADER);
     }
 
     @Override
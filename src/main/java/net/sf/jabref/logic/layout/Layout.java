@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.layout;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -109,6 +111,49 @@ public class Layout {
         return sb.toString();
     }
 
+    /**
+     * Returns the processed bibtex entry, see {@link #doLayout(BibEntry, BibDatabase)}. Instead of the global
+     * {@link net.sf.jabref.logic.exporter.ExportFormats#entryNumber}, the given entry number is printed by the
+     * {@link net.sf.jabref.logic.layout.format.Number} formatter. Thus, several entries can be processed concurrently,
+     * unless the layout {@link #containsGroupBlocks() contains group blocks}.
+     */
+    public String doLayout(BibEntry bibtex, BibDatabase database, int entryNumber) {
+        StringBuilder sb = new StringBuilder(100);
+        for (LayoutEntry layoutEntry : layoutEntries) {
+            String fieldText = layoutEntry.doLayout(bibtex, database, entryNumber);
+            if (fieldText != null) {
+                sb.append(fieldText);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the processed bibtex entry to the given writer, see {@link #doLayout(BibEntry, BibDatabase, int)}. The
+     * parts of the layout are written one by one, so that the text of the whole entry is not built in memory.
+     */
+    public void doLayout(BibEntry bibtex, BibDatabase database, int entryNumber, Writer writer) throws IOException {
+        for (LayoutEntry layoutEntry : layoutEntries) {
+            String fieldText = layoutEntry.doLayout(bibtex, database, entryNumber);
+            if (fieldText != null) {
+                writer.write(fieldText);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the layout contains group blocks. These blocks are only printed if the group of an entry differs
+     * from the one of the previous entry, so the entries have to be processed one after another in their order.
+     */
+    public boolean containsGroupBlocks() {
+        for (LayoutEntry layoutEntry : layoutEntries) {
+            if (layoutEntry.containsGroupBlock()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns the processed text. If the database argument is
      * null, no string references will be resolved. Otherwise all valid
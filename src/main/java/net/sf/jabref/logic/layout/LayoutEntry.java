@@ -8,7 +8,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
+import net.sf.jabref.logic.exporter.ExportFormats;
 import net.sf.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import net.sf.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
 import net.sf.jabref.logic.layout.format.AuthorAbbreviator;
@@ -84,9 +86,18 @@ import org.apache.commons.logging.LogFactory;
 
 class LayoutEntry {
     private static final Log LOGGER = LogFactory.getLog(LayoutEntry.class);
-    
+
+    private static final Pattern AND_FIELDS = Pattern.compile(".*(;|(\\&+)).*");
+    private static final Pattern AND_SEPARATOR = Pattern.compile("\\s*(;|(\\&+))\\s*");
+    private static final Pattern OR_SEPARATOR = Pattern.compile("\\s*(\\|+)\\s*");
+
     private List<LayoutFormatter> option;
 
+    // The fields of a field block, split when the layout is parsed:
+    private String[] blockFields;
+    // true if all block fields have to be present (&, && or ;), false if the first present one is used (|, ||)
+    private boolean allBlockFieldsRequired;
+
     // Formatter to be run after other formatters:
     private LayoutFormatter postFormatter;
 
@@ -132,6 +143,10 @@ class LayoutEntry {
 
         type = layoutType;
         text = blockEnd;
+        if (type == LayoutHelper.IS_FIELD_START) {
+            allBlockFieldsRequired = AND_FIELDS.matcher(text).matches();
+            blockFields = (allBlockFieldsRequired ? AND_SEPARATOR : OR_SEPARATOR).split(text);
+        }
         List<StringInt> blockEntries = null;
         for (StringInt parsedEntry : parsedEntries.subList(1, parsedEntries.size() - 1)) {
             switch (parsedEntry.i) {
@@ -180,6 +195,13 @@ class LayoutEntry {
     }
 
     public String doLayout(BibEntry bibtex, BibDatabase database) {
+        return doLayout(bibtex, database, ExportFormats.entryNumber);
+    }
+
+    /**
+     * @param entryNumber the number of the entry in the export, which is printed by the {@link Number} formatter
+     */
+    public String doLayout(BibEntry bibtex, BibDatabase database, int entryNumber) {
         switch (type) {
         case LayoutHelper.IS_LAYOUT_TEXT:
             return text;
@@ -193,12 +215,12 @@ class LayoutEntry {
             return value;
         case LayoutHelper.IS_FIELD_START:
         case LayoutHelper.IS_GROUP_START:
-            return handleFieldOrGroupStart(bibtex, database);
+            return handleFieldOrGroupStart(bibtex, database, entryNumber);
         case LayoutHelper.IS_FIELD_END:
         case LayoutHelper.IS_GROUP_END:
             return "";
         case LayoutHelper.IS_OPTION_FIELD:
-            return handleOptionField(bibtex, database);
+            return handleOptionField(bibtex, database, entryNumber);
         case LayoutHelper.IS_ENCODING_NAME:
             // Printing the encoding name is not supported in entry layouts, only
             // in begin/end layouts. This prevents breakage if some users depend
@@ -209,7 +231,7 @@ class LayoutEntry {
         }
     }
 
-    private String handleOptionField(BibEntry bibtex, BibDatabase database) {
+    private String handleOptionField(BibEntry bibtex, BibDatabase database, int entryNumber) {
         String fieldEntry;
 
         if (BibEntry.TYPE_HEADER.equals(text)) {
@@ -230,7 +252,7 @@ class LayoutEntry {
 
         if (option != null) {
             for (LayoutFormatter anOption : option) {
-                fieldEntry = anOption.format(fieldEntry);
+                fieldEntry = format(anOption, fieldEntry, entryNumber);
             }
         }
 
@@ -242,25 +264,23 @@ class LayoutEntry {
         return fieldEntry;
     }
 
-    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database) {
+    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, int entryNumber) {
         Optional<String> field;
         if (type == LayoutHelper.IS_GROUP_START) {
             field = bibtex.getResolvedFieldOrAlias(text, database);
-        } else if (text.matches(".*(;|(\\&+)).*")) {
-            // split the strings along &, && or ; for AND formatter
-            String[] parts = text.split("\\s*(;|(\\&+))\\s*");
+        } else if (allBlockFieldsRequired) {
+            // AND formatter: all fields have to be present
             field = Optional.empty();
-            for (String part : parts) {
+            for (String part : blockFields) {
                 field = bibtex.getResolvedFieldOrAlias(part, database);
                 if (!field.isPresent()) {
                     break;
                 }
             }
         } else {
-            // split the strings along |, ||  for OR formatter
-            String[] parts = text.split("\\s*(\\|+)\\s*");
+            // OR formatter: the first present field is used
             field = Optional.empty();
-            for (String part : parts) {
+            for (String part : blockFields) {
                 field = bibtex.getResolvedFieldOrAlias(part, database);
                 if (field.isPresent()) {
                     break;
@@ -280,11 +300,11 @@ class LayoutEntry {
             boolean previousSkipped = false;
 
             for (int i = 0; i < layoutEntries.size(); i++) {
-                fieldText = layoutEntries.get(i).doLayout(bibtex, database);
+                fieldText = layoutEntries.get(i).doLayout(bibtex, database, entryNumber);
 
                 if (fieldText == null) {
                     if ((i + 1) < layoutEntries.size()) {
-                        if (layoutEntries.get(i + 1).doLayout(bibtex, database).trim().isEmpty()) {
+                        if (layoutEntries.get(i + 1).doLayout(bibtex, database, entryNumber).trim().isEmpty()) {
                             i++;
                             previousSkipped = true;
                             continue;
@@ -317,6 +337,35 @@ class LayoutEntry {
         }
     }
 
+    /**
+     * The entry number is passed to the {@link Number} formatter directly instead of through
+     * {@link ExportFormats#entryNumber}, so that entries can be formatted concurrently
+     */
+    private static String format(LayoutFormatter formatter, String value, int entryNumber) {
+        if (formatter instanceof Number) {
+            return String.valueOf(entryNumber);
+        }
+        return formatter.format(value);
+    }
+
+    /**
+     * Returns true if this entry is or contains a group block. Group blocks are only printed if the group differs
+     * from the one of the previous entry, so entries using them have to be formatted in order.
+     */
+    public boolean containsGroupBlock() {
+        if (type == LayoutHelper.IS_GROUP_START) {
+            return true;
+        }
+        if (layoutEntries != null) {
+            for (LayoutEntry layoutEntry : layoutEntries) {
+                if (layoutEntry.containsGroupBlock()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Do layout for general formatters (no bibtex-entry fields).
      *
@@ -6,6 +6,10 @@ import net.sf.jabref.logic.layout.ParamLayoutFormatter;
 /**
  * Formatter that outputs a sequence number for the current entry. The sequence number is
  * tied to the entry's position in the order, not to the number of calls to this formatter.
+ * <p>
+ * Within layouts, the number of the formatted entry is inserted by the layout instead of calling this formatter, see
+ * {@link net.sf.jabref.logic.layout.Layout#doLayout(net.sf.jabref.model.entry.BibEntry,
+ * net.sf.jabref.model.database.BibDatabase, int)}.
  */
 public class Number implements ParamLayoutFormatter {
 
@@ -3,10 +3,12 @@ package net.sf.jabref.logic.search;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.rules.describer.SearchDescribers;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.search.SearchIndex;
 import net.sf.jabref.model.search.SearchMatcher;
 import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
 import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
@@ -40,6 +42,35 @@ public class SearchQuery implements SearchMatcher {
         return rule.applyRule(getQuery(), entry);
     }
 
+    /**
+     * Returns the matching entries of the database the given index belongs to, in the order of the database. Only the
+     * candidates found by the index are checked.
+     */
+    public List<BibEntry> getMatches(SearchIndex index) {
+        return getCandidates(index).stream().filter(this::isMatch).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the entries of the database the given index belongs to, which might match this query. This is a
+     * superset of the matching entries.
+     */
+    public List<BibEntry> getCandidates(SearchIndex index) {
+        return index.getCandidates(getRequiredWords());
+    }
+
+    /**
+     * Returns words each matching entry contains in one of its fields (ignoring case).
+     */
+    private List<String> getRequiredWords() {
+        if (rule instanceof GrammarBasedSearchRule) {
+            return ((GrammarBasedSearchRule) rule).getRequiredWords();
+        } else if (rule instanceof ContainBasedSearchRule) {
+            return new SentenceAnalyzer(getQuery()).getWords();
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
     public boolean isValid() {
         return rule.validateSearchStrings(getQuery());
     }
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -42,9 +43,10 @@ public class BibDatabase {
     private static final Log LOGGER = LogFactory.getLog(BibDatabase.class);
 
     /**
-     * State attributes
+     * State attributes. The entries are replaced by a new list on every change, so that readers always see a
+     * consistent snapshot without locking.
      */
-    private final List<BibEntry> entries = Collections.synchronizedList(new ArrayList<>());
+    private volatile SegmentedEntryList entries = SegmentedEntryList.EMPTY;
 
     private String preamble;
     // All file contents below the last entry in the file
@@ -56,10 +58,15 @@ public class BibDatabase {
      */
     private final DuplicationChecker duplicationChecker = new DuplicationChecker();
 
+    /**
+     * this is kept in sync with the database, too, and is used to look up entries by their key
+     */
+    private final CiteKeyIndex citeKeyIndex = new CiteKeyIndex();
+
     /**
      * contains all entry.getID() of the current database
      */
-    private final Set<String> internalIDs = new HashSet<>();
+    private final Set<String> internalIDs = ConcurrentHashMap.newKeySet();
 
     private final EventBus eventBus = new EventBus();
 
@@ -67,6 +74,7 @@ public class BibDatabase {
 
 
     public BibDatabase() {
+        this.eventBus.register(citeKeyIndex);
         this.eventBus.register(duplicationChecker);
         this.registerListener(new KeyChangeListener(this));
     }
@@ -89,7 +97,7 @@ public class BibDatabase {
      * Returns an EntrySorter with the sorted entries from this base,
      * sorted by the given Comparator.
      */
-    public synchronized EntrySorter getSorter(Comparator<BibEntry> comp) {
+    public EntrySorter getSorter(Comparator<BibEntry> comp) {
         return new EntrySorter(new ArrayList<>(getEntries()), comp);
     }
 
@@ -100,8 +108,12 @@ public class BibDatabase {
         return internalIDs.contains(id);
     }
 
+    /**
+     * Returns an unmodifiable snapshot of the entries. Later changes of the database are not reflected in the returned
+     * list, so it can be iterated without locking while the database is changed by other threads.
+     */
     public List<BibEntry> getEntries() {
-        return Collections.unmodifiableList(entries);
+        return entries;
     }
 
     /**
@@ -122,13 +134,8 @@ public class BibDatabase {
     /**
      * Returns the entry with the given bibtex key.
      */
-    public synchronized Optional<BibEntry> getEntryByKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKeyOptional().orElse(null))) {
-                return Optional.of(entry);
-            }
-        }
-        return Optional.empty();
+    public Optional<BibEntry> getEntryByKey(String key) {
+        return getEntriesByKey(key).stream().findFirst();
     }
 
     /**
@@ -138,17 +145,8 @@ public class BibDatabase {
      * @param key
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCiteKeyOptional().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
-        }
-        return result;
+    public List<BibEntry> getEntriesByKey(String key) {
+        return citeKeyIndex.getEntries(key);
     }
 
     /**
@@ -180,13 +178,44 @@ public class BibDatabase {
         }
 
         internalIDs.add(id);
-        entries.add(entry);
+        entries = entries.withAdded(entry);
         entry.registerListener(this);
 
         eventBus.post(new EntryAddedEvent(entry, eventSource));
         return duplicationChecker.isDuplicateCiteKeyExisting(entry);
     }
 
+    /**
+     * Inserts the given entries, given that their IDs are not already in use. In contrast to calling
+     * {@link #insertEntry(BibEntry, EntryEventSource)} for each entry, the list of entries is rebuilt only once. An
+     * {@link EntryAddedEvent} is posted for each entry.
+     *
+     * @param newEntries Entries to insert
+     * @param eventSource Source the events are sent from
+     * @throws KeyCollisionException thrown if an entry id ({@link BibEntry#getId()}) is already present in the database
+     *         or used twice within the given entries. In this case, no entry is inserted.
+     */
+    public synchronized void insertEntries(List<BibEntry> newEntries, EntryEventSource eventSource)
+            throws KeyCollisionException {
+        Objects.requireNonNull(newEntries);
+
+        Set<String> newIDs = new HashSet<>();
+        for (BibEntry entry : newEntries) {
+            if (containsEntryWithId(entry.getId()) || !newIDs.add(entry.getId())) {
+                throw new KeyCollisionException("ID is already in use, please choose another");
+            }
+        }
+
+        internalIDs.addAll(newIDs);
+        entries = entries.withAdded(newEntries);
+        for (BibEntry entry : newEntries) {
+            entry.registerListener(this);
+        }
+        for (BibEntry entry : newEntries) {
+            eventBus.post(new EntryAddedEvent(entry, eventSource));
+        }
+    }
+
     /**
      * Removes the given entry.
      * The Entry is removed based on the id {@link BibEntry#id}
@@ -206,10 +235,45 @@ public class BibDatabase {
     public synchronized void removeEntry(BibEntry toBeDeleted, EntryEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        boolean anyRemoved = entries.removeIf(entry -> entry.getId().equals(toBeDeleted.getId()));
-        if (anyRemoved) {
-            internalIDs.remove(toBeDeleted.getId());
-            eventBus.post(new EntryRemovedEvent(toBeDeleted, eventSource));
+        removeEntries(Collections.singletonList(toBeDeleted), eventSource);
+    }
+
+    /**
+     * Removes the given entries. In contrast to calling {@link #removeEntry(BibEntry, EntryEventSource)} for each entry,
+     * the list of entries is rebuilt only once. An {@link EntryRemovedEvent} is posted for each removed entry.
+     * The entries are removed based on their ids {@link BibEntry#id}
+     *
+     * @param toBeDeleted Entries to delete
+     * @param eventSource Source the events are sent from
+     */
+    public synchronized void removeEntries(List<BibEntry> toBeDeleted, EntryEventSource eventSource) {
+        Objects.requireNonNull(toBeDeleted);
+
+        Map<String, BibEntry> toBeDeletedById = new HashMap<>();
+        for (BibEntry entry : toBeDeleted) {
+            toBeDeletedById.put(entry.getId(), entry);
+        }
+
+        List<BibEntry> removed = new ArrayList<>(toBeDeleted.size());
+        SegmentedEntryList remaining = entries.withRemoved(entry -> {
+            if (toBeDeletedById.containsKey(entry.getId())) {
+                removed.add(entry);
+                return true;
+            }
+            return false;
+        });
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        entries = remaining;
+        for (BibEntry entry : removed) {
+            internalIDs.remove(entry.getId());
+            // changes of a removed entry must neither be relayed nor reach the cite key index
+            entry.unregisterListener(this);
+        }
+        for (BibEntry entry : removed) {
+            eventBus.post(new EntryRemovedEvent(toBeDeletedById.get(entry.getId()), eventSource));
         }
     }
 
@@ -14,8 +14,10 @@ import net.sf.jabref.fulltext.indexing.FullTextIndexer;
 import net.sf.jabref.model.Defaults;
 import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
 import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.groups.GroupMembershipIndex;
 import net.sf.jabref.model.metadata.FileDirectoryPreferences;
 import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.model.search.SearchIndex;
 import net.sf.jabref.shared.DBMSSynchronizer;
 
 /**
@@ -38,6 +40,16 @@ public class BibDatabaseContext {
      */
     private final FullTextIndexer fullTextIndexer = new FullTextIndexer(this);
 
+    /**
+     * the index used by searches, created when it is needed first
+     */
+    private SearchIndex searchIndex;
+
+    /**
+     * the cached group members, created when they are needed first
+     */
+    private GroupMembershipIndex groupMembershipIndex;
+
     public BibDatabaseContext() {
         this(new Defaults());
     }
@@ -142,6 +154,20 @@ public class BibDatabaseContext {
         return fullTextIndexer;
     }
 
+    public synchronized SearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SearchIndex(database);
+        }
+        return searchIndex;
+    }
+
+    public synchronized GroupMembershipIndex getGroupMembershipIndex() {
+        if (groupMembershipIndex == null) {
+            groupMembershipIndex = new GroupMembershipIndex(database);
+        }
+        return groupMembershipIndex;
+    }
+
     public MetaData getMetaData() {
         return metaData;
     }
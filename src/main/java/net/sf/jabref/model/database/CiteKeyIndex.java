@@ -0,0 +1,96 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Maps the bibtex cite keys of a single {@link BibDatabase} to the entries having them. It is kept in sync with the
+ * database by listening to the same events as the {@link DuplicationChecker}.
+ * <p>
+ * Entries are identified by their id, as {@link BibEntry#equals(Object)} compares the content. Key changes of entries
+ * which are not (or no longer) part of the database are ignored.
+ */
+class CiteKeyIndex {
+
+    private final Map<String, List<BibEntry>> entriesByKey = new HashMap<>();
+    /**
+     * Maps the id of each entry of the database to the position it was added at. As entries are only appended and
+     * removals keep the order, sorting by this position yields the order of the database.
+     */
+    private final Map<String, Long> positions = new HashMap<>();
+    private long nextPosition;
+
+
+    /**
+     * Returns the entries having the given key in the order they appear in the database. Usually, there is at most one
+     * such entry.
+     */
+    synchronized List<BibEntry> getEntries(String citeKey) {
+        List<BibEntry> entries = entriesByKey.get(citeKey);
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+
+        List<BibEntry> result = new ArrayList<>(entries);
+        if (result.size() > 1) {
+            result.sort(Comparator.comparing(entry -> positions.get(entry.getId())));
+        }
+        return result;
+    }
+
+    private void add(String citeKey, BibEntry entry) {
+        if ((citeKey == null) || citeKey.isEmpty()) {
+            return;
+        }
+
+        entriesByKey.computeIfAbsent(citeKey, key -> new ArrayList<>(1)).add(entry);
+    }
+
+    private void remove(String citeKey, BibEntry entry) {
+        if ((citeKey == null) || citeKey.isEmpty()) {
+            return;
+        }
+
+        List<BibEntry> entries = entriesByKey.get(citeKey);
+        if (entries != null) {
+            entries.removeIf(indexed -> indexed.getId().equals(entry.getId()));
+            if (entries.isEmpty()) {
+                entriesByKey.remove(citeKey);
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent fieldChangedEvent) {
+        if (fieldChangedEvent.getFieldName().equals(BibEntry.KEY_FIELD)
+                && positions.containsKey(fieldChangedEvent.getBibEntry().getId())) {
+            remove(fieldChangedEvent.getOldValue(), fieldChangedEvent.getBibEntry());
+            add(fieldChangedEvent.getNewValue(), fieldChangedEvent.getBibEntry());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent entryRemovedEvent) {
+        BibEntry entry = entryRemovedEvent.getBibEntry();
+        positions.remove(entry.getId());
+        entry.getCiteKeyOptional().ifPresent(citeKey -> remove(citeKey, entry));
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent entryAddedEvent) {
+        BibEntry entry = entryAddedEvent.getBibEntry();
+        positions.put(entry.getId(), nextPosition++);
+        entry.getCiteKeyOptional().ifPresent(citeKey -> add(citeKey, entry));
+    }
+}
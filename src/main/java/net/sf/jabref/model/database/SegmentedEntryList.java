@@ -0,0 +1,185 @@
+package net.sf.jabref.model.database;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * An immutable list of entries, which is split into segments of at most {@link #SEGMENT_SIZE} entries.
+ * <p>
+ * Adding or removing entries creates a new list, which shares all unaffected segments with this one. Thus, a change
+ * only copies one segment and the array of segment references instead of all entries. The lists can be handed out as
+ * snapshots and be read by several threads without locking, while new versions are created for changes.
+ */
+final class SegmentedEntryList extends AbstractList<BibEntry> implements RandomAccess {
+
+    static final SegmentedEntryList EMPTY = new SegmentedEntryList(new BibEntry[0][]);
+
+    private static final int SEGMENT_SIZE = 512;
+
+    private final BibEntry[][] segments;
+    /**
+     * offsets[i] is the index of the first entry of segment i, the last element is the size of the list
+     */
+    private final int[] offsets;
+
+
+    private SegmentedEntryList(BibEntry[][] segments) {
+        this.segments = segments;
+        this.offsets = new int[segments.length + 1];
+        for (int i = 0; i < segments.length; i++) {
+            offsets[i + 1] = offsets[i] + segments[i].length;
+        }
+    }
+
+    /**
+     * Returns a list with the given entry added at the end
+     */
+    SegmentedEntryList withAdded(BibEntry entry) {
+        BibEntry[][] newSegments;
+        int last = segments.length - 1;
+        if ((last >= 0) && (segments[last].length < SEGMENT_SIZE)) {
+            newSegments = segments.clone();
+            newSegments[last] = Arrays.copyOf(segments[last], segments[last].length + 1);
+            newSegments[last][segments[last].length] = entry;
+        } else {
+            newSegments = Arrays.copyOf(segments, segments.length + 1);
+            newSegments[segments.length] = new BibEntry[] {entry};
+        }
+        return new SegmentedEntryList(newSegments);
+    }
+
+    /**
+     * Returns a list with the given entries added at the end. Only the last segment is copied, new segments are
+     * filled up to {@link #SEGMENT_SIZE} entries.
+     */
+    SegmentedEntryList withAdded(List<BibEntry> addedEntries) {
+        if (addedEntries.isEmpty()) {
+            return this;
+        }
+
+        List<BibEntry[]> newSegments = new ArrayList<>(Arrays.asList(segments));
+        int added = 0;
+        int last = segments.length - 1;
+        if ((last >= 0) && (segments[last].length < SEGMENT_SIZE)) {
+            added = Math.min(SEGMENT_SIZE - segments[last].length, addedEntries.size());
+            BibEntry[] lastSegment = Arrays.copyOf(segments[last], segments[last].length + added);
+            for (int i = 0; i < added; i++) {
+                lastSegment[segments[last].length + i] = addedEntries.get(i);
+            }
+            newSegments.set(last, lastSegment);
+        }
+        while (added < addedEntries.size()) {
+            int end = Math.min(added + SEGMENT_SIZE, addedEntries.size());
+            newSegments.add(addedEntries.subList(added, end).toArray(new BibEntry[end - added]));
+            added = end;
+        }
+        return new SegmentedEntryList(newSegments.toArray(new BibEntry[newSegments.size()][]));
+    }
+
+    /**
+     * Returns a list without the entries matching the given filter. If no entry matches, this list is returned.
+     * <p>
+     * All matching entries are removed in a single pass, thus removing many entries at once should be done through one
+     * call instead of one call per entry. Only segments containing matching entries are copied.
+     */
+    SegmentedEntryList withRemoved(Predicate<BibEntry> filter) {
+        List<BibEntry[]> newSegments = new ArrayList<>(segments.length);
+        boolean anyRemoved = false;
+        for (BibEntry[] segment : segments) {
+            BibEntry[] remaining = without(segment, filter);
+            if (remaining == segment) {
+                newSegments.add(segment);
+            } else {
+                anyRemoved = true;
+                if (remaining.length > 0) {
+                    newSegments.add(remaining);
+                }
+            }
+        }
+
+        if (!anyRemoved) {
+            return this;
+        }
+        return new SegmentedEntryList(newSegments.toArray(new BibEntry[newSegments.size()][]));
+    }
+
+    /**
+     * Returns the segment without the entries matching the filter, or the segment itself if no entry matches
+     */
+    private static BibEntry[] without(BibEntry[] segment, Predicate<BibEntry> filter) {
+        BibEntry[] remaining = null;
+        int size = 0;
+        for (int i = 0; i < segment.length; i++) {
+            if (filter.test(segment[i])) {
+                if (remaining == null) {
+                    remaining = Arrays.copyOf(segment, segment.length - 1);
+                    size = i;
+                }
+            } else if (remaining != null) {
+                remaining[size] = segment[i];
+                size++;
+            }
+        }
+
+        if (remaining == null) {
+            return segment;
+        }
+        return (size == remaining.length) ? remaining : Arrays.copyOf(remaining, size);
+    }
+
+    @Override
+    public BibEntry get(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        // segments are never empty, thus the offsets are strictly increasing
+        int segment = Arrays.binarySearch(offsets, index);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        return segments[segment][index - offsets[segment]];
+    }
+
+    @Override
+    public int size() {
+        return offsets[segments.length];
+    }
+
+    @Override
+    public Iterator<BibEntry> iterator() {
+        return new Iterator<BibEntry>() {
+
+            private int segment;
+            private int position;
+
+
+            @Override
+            public boolean hasNext() {
+                return segment < segments.length;
+            }
+
+            @Override
+            public BibEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                BibEntry entry = segments[segment][position];
+                position++;
+                if (position == segments[segment].length) {
+                    segment++;
+                    position = 0;
+                }
+                return entry;
+            }
+        };
+    }
+}
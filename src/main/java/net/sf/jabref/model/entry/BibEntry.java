@@ -27,7 +27,7 @@ import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
-import net.sf.jabref.model.strings.LatexToUnicode;
+import net.sf.jabref.model.strings.LatexToUnicodeCache;
 import net.sf.jabref.model.strings.StringUtil;
 
 import com.google.common.base.Strings;
@@ -64,11 +64,6 @@ public class BibEntry implements Cloneable {
      */
     private final Map<String, String> latexFreeFields = new ConcurrentHashMap<>();
 
-    /**
-     * Used to cleanse field values for internal LaTeX-free storage
-     */
-    private LatexToUnicode unicodeConverter = new LatexToUnicode();
-
     // Search and grouping status is stored in boolean fields for quick reference:
     private boolean searchHit;
     private boolean groupHit;
@@ -819,7 +814,8 @@ public class BibEntry implements Cloneable {
         } else if (latexFreeFields.containsKey(name)) {
             return Optional.ofNullable(latexFreeFields.get(toLowerCase(name)));
         } else {
-            String latexFreeField = unicodeConverter.format(getField(name).get()).intern();
+            // conversions are shared between all entries, as many of them contain the same values
+            String latexFreeField = LatexToUnicodeCache.INSTANCE.format(getField(name).get());
             latexFreeFields.put(name, latexFreeField);
             return Optional.of(latexFreeField);
         }
@@ -0,0 +1,246 @@
+package net.sf.jabref.model.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.search.SearchMatcher;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Caches which entries of a {@link BibDatabase} are contained in which groups.
+ * <p>
+ * Each entry gets a document number and the members of a group are stored in a {@link BitSet} over these numbers. The
+ * members of a group are determined when they are requested first and kept up to date by listening to the events of
+ * the database: added entries are checked against all cached groups, changed entries only against the groups which
+ * depend on the changed field. The hierarchical context of a {@link GroupTreeNode} is taken into account by combining
+ * the bit sets of the involved groups.
+ * <p>
+ * The members of word keyword groups, and thus of explicit groups, are looked up in a {@link KeywordDictionary} of
+ * their field instead of checking every entry.
+ * <p>
+ * Groups are identified by identity and are only weakly referenced, so groups which were replaced or removed from the
+ * group tree are dropped from the cache.
+ */
+public class GroupMembershipIndex {
+
+    /** the indexed entries, the position in the list is the document number; removed entries are null */
+    private final List<BibEntry> documents = new ArrayList<>();
+    /** maps the ids of the entries to their document number */
+    private final Map<String, Integer> documentNumbers = new HashMap<>();
+    /** document numbers of removed entries, which are reused for new entries */
+    private final BitSet freeDocuments = new BitSet();
+    private final Map<AbstractGroup, BitSet> members = new MapMaker().weakKeys().makeMap();
+    /** the keyword dictionaries used by word keyword groups, see {@link KeywordDictionary#getKey(WordKeywordGroup)} */
+    private final Map<String, KeywordDictionary> dictionaries = new HashMap<>();
+
+
+    public GroupMembershipIndex(BibDatabase database) {
+        Objects.requireNonNull(database);
+        for (BibEntry entry : database.getEntries()) {
+            addDocument(entry);
+        }
+        database.registerListener(this);
+    }
+
+    /**
+     * Returns the document numbers of the entries matched by the given node, taking the hierarchical context into
+     * account (see {@link GroupTreeNode#getSearchMatcher()}).
+     */
+    public synchronized BitSet getMatches(GroupTreeNode node) {
+        return getMatches(node, node.getGroup().getHierarchicalContext());
+    }
+
+    private BitSet getMatches(GroupTreeNode node, GroupHierarchyType originalContext) {
+        BitSet matches = (BitSet) getMembers(node.getGroup()).clone();
+        GroupHierarchyType context = node.getGroup().getHierarchicalContext();
+        if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (GroupTreeNode child : node.getChildren()) {
+                matches.or(getMatches(child, originalContext));
+            }
+        } else if ((context == GroupHierarchyType.REFINING) && (originalContext != GroupHierarchyType.INCLUDING)) {
+            node.getParent().ifPresent(parent -> matches.and(getMatches(parent, originalContext)));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the document numbers of the entries contained in the given group itself, i.e., ignoring the
+     * hierarchical context.
+     */
+    public synchronized BitSet getContainedEntries(AbstractGroup group) {
+        return (BitSet) getMembers(group).clone();
+    }
+
+    /**
+     * Returns the document numbers of the given entries. Entries which are not in the database are ignored.
+     */
+    public synchronized BitSet getDocuments(Collection<BibEntry> entries) {
+        BitSet result = new BitSet();
+        for (BibEntry entry : entries) {
+            Integer document = documentNumbers.get(entry.getId());
+            if (document != null) {
+                result.set(document);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the document numbers of all entries in the database
+     */
+    public synchronized BitSet getAllDocuments() {
+        BitSet result = new BitSet();
+        result.set(0, documents.size());
+        result.andNot(freeDocuments);
+        return result;
+    }
+
+    /**
+     * Returns a matcher accepting the entries with the given document numbers
+     */
+    public SearchMatcher getMatcher(BitSet matches) {
+        BitSet copy = (BitSet) matches.clone();
+        return entry -> {
+            synchronized (this) {
+                Integer document = documentNumbers.get(entry.getId());
+                return (document != null) && copy.get(document);
+            }
+        };
+    }
+
+    private BitSet getMembers(AbstractGroup group) {
+        BitSet groupMembers = members.get(group);
+        if (groupMembers == null) {
+            if ((group instanceof WordKeywordGroup)
+                    && !((WordKeywordGroup) group).getCaseFoldedSearchWords().isEmpty()) {
+                groupMembers = getMembers((WordKeywordGroup) group);
+            } else {
+                groupMembers = new BitSet(documents.size());
+                for (int document = 0; document < documents.size(); document++) {
+                    BibEntry entry = documents.get(document);
+                    if ((entry != null) && group.contains(entry)) {
+                        groupMembers.set(document);
+                    }
+                }
+            }
+            members.put(group, groupMembers);
+        }
+        return groupMembers;
+    }
+
+    /**
+     * Looks up the members of the given group in the keyword dictionary of its field. The dictionary ignores case,
+     * thus the members of case sensitive groups are checked afterwards.
+     */
+    private BitSet getMembers(WordKeywordGroup group) {
+        BitSet candidates = getDictionary(group).getDocumentsContainingAll(group.getCaseFoldedSearchWords());
+        if (group.isCaseSensitive()) {
+            int document = candidates.nextSetBit(0);
+            while (document >= 0) {
+                if (!group.contains(documents.get(document))) {
+                    candidates.clear(document);
+                }
+                document = candidates.nextSetBit(document + 1);
+            }
+        }
+        return candidates;
+    }
+
+    private KeywordDictionary getDictionary(WordKeywordGroup group) {
+        return dictionaries.computeIfAbsent(KeywordDictionary.getKey(group), key -> {
+            KeywordDictionary dictionary = new KeywordDictionary(group);
+            for (int document = 0; document < documents.size(); document++) {
+                BibEntry entry = documents.get(document);
+                if (entry != null) {
+                    dictionary.add(document, entry);
+                }
+            }
+            return dictionary;
+        });
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent event) {
+        addDocument(event.getBibEntry());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent event) {
+        Integer document = documentNumbers.remove(event.getBibEntry().getId());
+        if (document != null) {
+            documents.set(document, null);
+            freeDocuments.set(document);
+            for (KeywordDictionary dictionary : dictionaries.values()) {
+                dictionary.remove(document);
+            }
+            for (BitSet groupMembers : members.values()) {
+                groupMembers.clear(document);
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        Integer document = documentNumbers.get(event.getBibEntry().getId());
+        if (document == null) {
+            return;
+        }
+
+        for (KeywordDictionary dictionary : dictionaries.values()) {
+            if (dictionary.isIndexedField(event.getFieldName())) {
+                dictionary.remove(document);
+                dictionary.add(document, event.getBibEntry());
+            }
+        }
+        for (Map.Entry<AbstractGroup, BitSet> groupMembers : members.entrySet()) {
+            if (dependsOnField(groupMembers.getKey(), event.getFieldName())) {
+                groupMembers.getValue().set(document, groupMembers.getKey().contains(event.getBibEntry()));
+            }
+        }
+    }
+
+    private void addDocument(BibEntry entry) {
+        int document = freeDocuments.nextSetBit(0);
+        if (document < 0) {
+            document = documents.size();
+            documents.add(entry);
+        } else {
+            freeDocuments.clear(document);
+            documents.set(document, entry);
+        }
+        documentNumbers.put(entry.getId(), document);
+
+        for (KeywordDictionary dictionary : dictionaries.values()) {
+            dictionary.add(document, entry);
+        }
+        for (Map.Entry<AbstractGroup, BitSet> groupMembers : members.entrySet()) {
+            groupMembers.getValue().set(document, groupMembers.getKey().contains(entry));
+        }
+    }
+
+    /**
+     * Returns whether a change of the given field may change whether an entry is contained in the group
+     */
+    private static boolean dependsOnField(AbstractGroup group, String fieldName) {
+        if (group instanceof AllEntriesGroup) {
+            return false;
+        }
+        if (group instanceof KeywordGroup) {
+            return ((KeywordGroup) group).getSearchField().equalsIgnoreCase(fieldName);
+        }
+        // search groups may check any field
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package net.sf.jabref.model.groups;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -176,6 +177,57 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         return groups;
     }
 
+    /**
+     * Same as {@link #getContainingGroups(List, boolean)}, but uses the cached group members of the given index. The
+     * entries have to be contained in the database of the index.
+     */
+    public List<GroupTreeNode> getContainingGroups(GroupMembershipIndex index, List<BibEntry> entries,
+            boolean requireAll) {
+        BitSet documents = index.getDocuments(entries);
+        List<GroupTreeNode> groups = new ArrayList<>();
+        addContainingGroups(index, documents, requireAll, groups);
+        return groups;
+    }
+
+    private void addContainingGroups(GroupMembershipIndex index, BitSet documents, boolean requireAll,
+            List<GroupTreeNode> groups) {
+        BitSet contained = index.getContainedEntries(group);
+        if (requireAll) {
+            BitSet notContained = (BitSet) documents.clone();
+            notContained.andNot(contained);
+            if (notContained.isEmpty()) {
+                groups.add(this);
+            }
+        } else if (contained.intersects(documents)) {
+            groups.add(this);
+        }
+
+        for (GroupTreeNode child : getChildren()) {
+            child.addContainingGroups(index, documents, requireAll, groups);
+        }
+    }
+
+    /**
+     * Same as {@link #getMatchingGroups(List)}, but uses the cached group members of the given index. The entries
+     * have to be contained in the database of the index.
+     */
+    public List<GroupTreeNode> getMatchingGroups(GroupMembershipIndex index, List<BibEntry> entries) {
+        BitSet documents = index.getDocuments(entries);
+        List<GroupTreeNode> groups = new ArrayList<>();
+        addMatchingGroups(index, documents, groups);
+        return groups;
+    }
+
+    private void addMatchingGroups(GroupMembershipIndex index, BitSet documents, List<GroupTreeNode> groups) {
+        if (index.getMatches(this).intersects(documents)) {
+            groups.add(this);
+        }
+
+        for (GroupTreeNode child : getChildren()) {
+            child.addMatchingGroups(index, documents, groups);
+        }
+    }
+
     public String getName() {
         return group.getName();
     }
@@ -206,4 +258,11 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         }
         return hits;
     }
+
+    /**
+     * Determines the number of entries in the database of the given index which are matched by this group.
+     */
+    public int numberOfMatches(GroupMembershipIndex index) {
+        return index.getMatches(this).cardinality();
+    }
 }
@@ -0,0 +1,106 @@
+package net.sf.jabref.model.groups;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Maps the case folded words of one field to the document numbers of the entries containing them, see
+ * {@link GroupMembershipIndex}. The field is split into words the same way as by a {@link WordKeywordGroup}, so all
+ * word keyword groups with the same field and splitting settings share one dictionary.
+ * <p>
+ * Each word is stored only once, the documents refer to the postings of their words, so that removing a document
+ * does not require any lookups.
+ */
+class KeywordDictionary {
+
+    /** the group used to split the field into words */
+    private final WordKeywordGroup splitter;
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Integer, Posting[]> documentPostings = new HashMap<>();
+
+
+    KeywordDictionary(WordKeywordGroup splitter) {
+        this.splitter = Objects.requireNonNull(splitter);
+    }
+
+    /**
+     * Returns the key of the dictionary which is used for the given group
+     */
+    static String getKey(WordKeywordGroup group) {
+        String separator = group.isOnlySplitWordsAtSeparator() ? String.valueOf(group.keywordSeparator) : "";
+        return group.getSearchField().toLowerCase() + '\u0000' + separator;
+    }
+
+    boolean isIndexedField(String fieldName) {
+        return splitter.getSearchField().equalsIgnoreCase(fieldName);
+    }
+
+    void add(int document, BibEntry entry) {
+        Set<String> words = splitter.getFieldContentAsWords(entry);
+        if (words.isEmpty()) {
+            return;
+        }
+
+        Map<String, Posting> wordPostings = new HashMap<>(words.size());
+        for (String word : words) {
+            String caseFoldedWord = WordKeywordGroup.foldCase(word);
+            wordPostings.computeIfAbsent(caseFoldedWord, key -> postings.computeIfAbsent(key, Posting::new));
+        }
+        Posting[] entryPostings = wordPostings.values().toArray(new Posting[wordPostings.size()]);
+        for (Posting posting : entryPostings) {
+            posting.documents.set(document);
+        }
+        documentPostings.put(document, entryPostings);
+    }
+
+    void remove(int document) {
+        Posting[] entryPostings = documentPostings.remove(document);
+        if (entryPostings == null) {
+            return;
+        }
+
+        for (Posting posting : entryPostings) {
+            posting.documents.clear(document);
+            if (posting.documents.isEmpty()) {
+                postings.remove(posting.word);
+            }
+        }
+    }
+
+    /**
+     * Returns the documents containing all given case folded words
+     */
+    BitSet getDocumentsContainingAll(Collection<String> caseFoldedWords) {
+        BitSet result = null;
+        for (String word : caseFoldedWords) {
+            Posting posting = postings.get(word);
+            if (posting == null) {
+                return new BitSet();
+            }
+            if (result == null) {
+                result = (BitSet) posting.documents.clone();
+            } else {
+                result.and(posting.documents);
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+
+    private static class Posting {
+
+        private final String word;
+        private final BitSet documents = new BitSet();
+
+
+        Posting(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -2,9 +2,11 @@ package net.sf.jabref.model.groups;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.model.FieldChange;
 import net.sf.jabref.model.entry.BibEntry;
@@ -18,6 +20,7 @@ public class WordKeywordGroup extends KeywordGroup implements GroupEntryChanger
 
     protected final Character keywordSeparator;
     private final List<String> searchWords;
+    private final Set<String> caseFoldedSearchWords;
     private final boolean onlySplitWordsAtSeparator;
 
     public WordKeywordGroup(String name, GroupHierarchyType context, String searchField,
@@ -27,25 +30,31 @@ public class WordKeywordGroup extends KeywordGroup implements GroupEntryChanger
 
         this.keywordSeparator = keywordSeparator;
         this.searchWords = StringUtil.getStringAsWords(searchExpression);
+        this.caseFoldedSearchWords = searchWords.stream().map(WordKeywordGroup::foldCase).collect(Collectors.toSet());
         this.onlySplitWordsAtSeparator = onlySplitWordsAtSeparator;
     }
 
-    private static boolean containsCaseInsensitive(Set<String> searchIn, List<String> searchFor) {
-        for (String searchWord : searchFor) {
-            if (!containsCaseInsensitive(searchIn, searchWord)) {
-                return false;
-            }
+    private boolean containsCaseInsensitive(Set<String> searchIn) {
+        if (searchIn.size() < caseFoldedSearchWords.size()) {
+            return false;
         }
-        return true;
+        Set<String> caseFoldedContent = new HashSet<>(searchIn.size());
+        for (String word : searchIn) {
+            caseFoldedContent.add(foldCase(word));
+        }
+        return caseFoldedContent.containsAll(caseFoldedSearchWords);
     }
 
-    private static boolean containsCaseInsensitive(Set<String> searchIn, String searchFor) {
-        for (String word : searchIn) {
-            if (word.equalsIgnoreCase(searchFor)) {
-                return true;
-            }
+    /**
+     * Maps the given word to a representative of all words equal to it when ignoring case, so that
+     * {@code first.equalsIgnoreCase(second)} iff {@code foldCase(first).equals(foldCase(second))}
+     */
+    static String foldCase(String word) {
+        char[] folded = new char[word.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(word.charAt(i)));
         }
-        return false;
+        return new String(folded);
     }
 
     @Override
@@ -105,11 +114,22 @@ public class WordKeywordGroup extends KeywordGroup implements GroupEntryChanger
         if (caseSensitive) {
             return content.containsAll(searchWords);
         } else {
-            return containsCaseInsensitive(content, searchWords);
+            return containsCaseInsensitive(content);
         }
     }
 
-    private Set<String> getFieldContentAsWords(BibEntry entry) {
+    /**
+     * Returns the case folded words to look up in a {@link KeywordDictionary}, see {@link #foldCase(String)}
+     */
+    Set<String> getCaseFoldedSearchWords() {
+        return Collections.unmodifiableSet(caseFoldedSearchWords);
+    }
+
+    boolean isOnlySplitWordsAtSeparator() {
+        return onlySplitWordsAtSeparator;
+    }
+
+    Set<String> getFieldContentAsWords(BibEntry entry) {
         if (onlySplitWordsAtSeparator) {
             return entry.getField(searchField)
                     .map(content -> KeywordList.parse(content, keywordSeparator).toStringList())
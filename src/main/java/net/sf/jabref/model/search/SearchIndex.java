@@ -0,0 +1,226 @@
+package net.sf.jabref.model.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * In-memory trigram index over the (LaTeX free, lower case) field contents of all entries of a {@link BibDatabase}.
+ * <p>
+ * The index is used to narrow down the entries which have to be checked by a search: an entry can only contain a
+ * word if it contains all trigrams of this word. The returned candidates are a superset of the matching entries, so
+ * each candidate still has to be checked by the actual search rule.
+ * <p>
+ * The index is kept up to date by listening to the events of the database. Changed fields only add trigrams, stale
+ * trigrams lead to additional candidates only. After many changes, the index is rebuilt on the next query.
+ */
+public class SearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * The index is rebuilt if there are more stale documents than this and than live documents
+     */
+    private static final int MIN_STALE_DOCUMENTS_FOR_REBUILD = 1000;
+
+    private final BibDatabase database;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    /** the indexed entries, the position in the list is the document number; removed entries are null */
+    private final List<BibEntry> documents = new ArrayList<>();
+    /** maps the ids of the entries to their document number */
+    private final Map<String, Integer> documentNumbers = new HashMap<>();
+    private int staleDocuments;
+
+
+    public SearchIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+        // registered first, so that no entry added in the meantime is missed
+        database.registerListener(this);
+        synchronized (this) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns all entries which may contain each of the given words (ignoring case) in at least one of their fields.
+     * The entries are returned in the order of the database. If none of the words is long enough to narrow down the
+     * result, all entries are returned.
+     */
+    public synchronized List<BibEntry> getCandidates(Collection<String> words) {
+        if (needsRebuild()) {
+            rebuild();
+        }
+
+        List<PostingList> requiredPostings = new ArrayList<>();
+        for (String word : words) {
+            Set<Long> grams = getGrams(word.toLowerCase(Locale.ROOT));
+            for (Long gram : grams) {
+                PostingList postingList = postings.get(gram);
+                if (postingList == null) {
+                    // no entry contains this word
+                    return Collections.emptyList();
+                }
+                requiredPostings.add(postingList);
+            }
+        }
+
+        if (requiredPostings.isEmpty()) {
+            return database.getEntries();
+        }
+
+        // iterate over the shortest list and check the others
+        requiredPostings.sort((first, second) -> Integer.compare(first.size, second.size));
+        PostingList shortest = requiredPostings.get(0);
+        List<BibEntry> candidates = new ArrayList<>();
+        for (int i = 0; i < shortest.size; i++) {
+            int document = shortest.documents[i];
+            BibEntry entry = documents.get(document);
+            if ((entry != null) && containedInAll(document, requiredPostings)) {
+                candidates.add(entry);
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean containedInAll(int document, List<PostingList> postingLists) {
+        for (int i = 1; i < postingLists.size(); i++) {
+            if (!postingLists.get(i).contains(document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent event) {
+        addDocument(event.getBibEntry());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent event) {
+        Integer document = documentNumbers.remove(event.getBibEntry().getId());
+        if (document != null) {
+            documents.set(document, null);
+            staleDocuments++;
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        Integer document = documentNumbers.get(event.getBibEntry().getId());
+        if (document == null) {
+            return;
+        }
+
+        // the old content stays in the index, so the document is counted as stale
+        event.getBibEntry().getLatexFreeField(event.getFieldName())
+                .ifPresent(content -> addGrams(document, getGrams(content.toLowerCase(Locale.ROOT))));
+        staleDocuments++;
+    }
+
+    private boolean needsRebuild() {
+        return (staleDocuments > MIN_STALE_DOCUMENTS_FOR_REBUILD) && (staleDocuments > documentNumbers.size());
+    }
+
+    private void rebuild() {
+        postings.clear();
+        documents.clear();
+        documentNumbers.clear();
+        staleDocuments = 0;
+        for (BibEntry entry : database.getEntries()) {
+            addDocument(entry);
+        }
+    }
+
+    private void addDocument(BibEntry entry) {
+        if (documentNumbers.containsKey(entry.getId())) {
+            // added while the index was built
+            return;
+        }
+
+        int document = documents.size();
+        documents.add(entry);
+        documentNumbers.put(entry.getId(), document);
+
+        Set<Long> grams = new HashSet<>();
+        for (String field : entry.getFieldNames()) {
+            entry.getLatexFreeField(field).ifPresent(content -> grams.addAll(getGrams(content.toLowerCase(Locale.ROOT))));
+        }
+        addGrams(document, grams);
+    }
+
+    private void addGrams(int document, Set<Long> grams) {
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(document);
+        }
+    }
+
+    /**
+     * Returns the trigrams of the given text, each encoded in a long. Texts shorter than a trigram have none.
+     */
+    static Set<Long> getGrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i <= (text.length() - GRAM_LENGTH); i++) {
+            long gram = 0;
+            for (int j = 0; j < GRAM_LENGTH; j++) {
+                gram = (gram << Character.SIZE) | text.charAt(i + j);
+            }
+            grams.add(gram);
+        }
+        return grams;
+    }
+
+
+    /**
+     * Sorted list of document numbers
+     */
+    private static class PostingList {
+
+        private int[] documents = new int[4];
+        private int size;
+
+
+        void add(int document) {
+            if ((size > 0) && (documents[size - 1] >= document)) {
+                // only happens for changed entries, which are added again with their old document number
+                int position = Arrays.binarySearch(documents, 0, size, document);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, document);
+            } else {
+                insert(size, document);
+            }
+        }
+
+        boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+
+        private void insert(int position, int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            documents[position] = document;
+            size++;
+        }
+    }
+}
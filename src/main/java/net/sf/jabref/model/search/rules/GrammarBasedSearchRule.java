@@ -1,15 +1,21 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.Keyword;
+import net.sf.jabref.model.search.SearchMatcher;
 import net.sf.jabref.search.SearchBaseVisitor;
 import net.sf.jabref.search.SearchLexer;
 import net.sf.jabref.search.SearchParser;
@@ -32,11 +38,18 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     private static final Log LOGGER = LogFactory.getLog(GrammarBasedSearchRule.class);
 
+    /**
+     * Estimated cost of checking all fields of an entry, relative to checking a single field
+     */
+    private static final double ALL_FIELDS_COST = 10;
+    private static final double MIN_PROBABILITY = 0.001;
+
     private final boolean caseSensitiveSearch;
     private final boolean regExpSearch;
 
     private ParseTree tree;
     private String query;
+    private SearchMatcher compiledQuery;
 
 
     public static class ThrowingErrorListener extends BaseErrorListener {
@@ -89,19 +102,44 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
+        compiledQuery = compile(tree);
         this.query = query;
     }
 
+    /**
+     * Compiles the parse tree once, so that it does not need to be walked again for every entry.
+     */
+    private SearchMatcher compile(ParseTree parseTree) {
+        try {
+            return new QueryCompiler(caseSensitiveSearch, regExpSearch).visit(parseTree).matcher;
+        } catch (PatternSyntaxException e) {
+            LOGGER.debug("Search failed", e);
+            return entry -> false;
+        }
+    }
+
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            return compiledQuery.isMatch(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return false;
         }
     }
 
+    /**
+     * Returns words which have to be contained in some field of each matching entry. For example, for
+     * <code>author=miller and (title=test or year=2016)</code> only "miller" is returned. Returns an empty list if no
+     * such words can be determined, e.g., for regular expressions.
+     */
+    public List<String> getRequiredWords() {
+        if (regExpSearch || (tree == null)) {
+            return Collections.emptyList();
+        }
+        return new RequiredWordsVisitor().visit(tree);
+    }
+
     @Override
     public boolean validateSearchStrings(String query) {
         try {
@@ -129,36 +167,75 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     public static class Comparator {
 
+        private static final String ANY_KEYWORD = "anykeyword";
+        private static final String ANY_FIELD = "anyfield";
+
         private final ComparisonOperator operator;
+        private final boolean regex;
         private final Pattern fieldPattern;
-        private final Pattern valuePattern;
+        private final ValueMatcher valueMatcher;
+
+        private final boolean searchType;
+        private final boolean searchKeywords;
+        private final boolean searchAllFields;
+        /**
+         * The only field a literal field name can match. Field names are stored in lower case, so this is empty if
+         * the pattern does not match the lower case name.
+         */
+        private final Optional<String> literalField;
+        /**
+         * Remembers which field names match a regular expression
+         */
+        private final Map<String, Boolean> matchingFields = new ConcurrentHashMap<>();
+
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
+            this.regex = regex;
 
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
-            this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            if (regex) {
+                this.valueMatcher = new RegexValueMatcher(Pattern.compile(value, option));
+            } else {
+                this.valueMatcher = new LiteralValueMatcher(value, caseSensitive);
+            }
+
+            this.searchType = fieldPattern.matcher(BibEntry.TYPE_HEADER).matches();
+            this.searchKeywords = fieldPattern.matcher(ANY_KEYWORD).matches();
+            this.searchAllFields = fieldPattern.matcher(ANY_FIELD).matches();
+            if (regex) {
+                this.literalField = Optional.empty();
+            } else {
+                String lowerCaseField = field.toLowerCase(Locale.ENGLISH);
+                this.literalField = Optional.of(lowerCaseField).filter(name -> fieldPattern.matcher(name).matches());
+            }
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher(BibEntry.TYPE_HEADER).matches()) {
+            if (searchType) {
                 return matchFieldValue(entry.getType());
             }
 
             // special case for searching a single keyword
-            if (fieldPattern.matcher("anykeyword").matches()) {
+            if (searchKeywords) {
                 return entry.getKeywords(',').stream().map(Keyword::toString).anyMatch(this::matchFieldValue);
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<String> fieldsKeys = entry.getFieldNames();
-
-            // special case for searching allfields=cat and title=dog
-            if (!fieldPattern.matcher("anyfield").matches()) {
+            Collection<String> fieldsKeys;
+            if (searchAllFields) {
+                // special case for searching allfields=cat and title=dog
+                fieldsKeys = entry.getFieldNames();
+            } else if (literalField.isPresent()) {
+                String field = literalField.get();
+                fieldsKeys = entry.hasField(field) ? Collections.singleton(field) : Collections.emptySet();
+            } else if (regex) {
                 // Filter out the requested fields
-                fieldsKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toSet());
+                fieldsKeys = entry.getFieldNames().stream().filter(this::matchFieldKey).collect(Collectors.toList());
+            } else {
+                fieldsKeys = Collections.emptySet();
             }
 
             for (String field : fieldsKeys) {
@@ -174,52 +251,177 @@ public class GrammarBasedSearchRule implements SearchRule {
             return fieldsKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<String> matchFieldKey() {
-            return s -> fieldPattern.matcher(s).matches();
+        private boolean matchFieldKey(String fieldName) {
+            return matchingFields.computeIfAbsent(fieldName, name -> fieldPattern.matcher(name).matches());
         }
 
         public boolean matchFieldValue(String content) {
-            Matcher matcher = valuePattern.matcher(content);
             if (operator == ComparisonOperator.CONTAINS) {
-                return matcher.find();
+                return valueMatcher.find(content);
             } else if (operator == ComparisonOperator.EXACT) {
-                return matcher.matches();
+                return valueMatcher.matches(content);
             } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
-                return !matcher.find();
+                return !valueMatcher.find(content);
             } else {
                 throw new IllegalStateException("MUST NOT HAPPEN");
             }
         }
 
+        /**
+         * Estimated time to evaluate this comparison for one entry, in the time needed to check one field.
+         */
+        double getEstimatedCost() {
+            double cost = (searchAllFields || regex) ? ALL_FIELDS_COST : 1;
+            return regex ? (2 * cost) : cost;
+        }
+
+        /**
+         * Estimated share of entries matching this comparison
+         */
+        double getEstimatedSelectivity() {
+            double selectivity = valueMatcher.getEstimatedSelectivity();
+            if (operator == ComparisonOperator.EXACT) {
+                selectivity = selectivity / 10;
+            } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
+                selectivity = 1 - selectivity;
+            }
+            return selectivity;
+        }
+    }
+
+    private interface ValueMatcher {
+
+        boolean find(String content);
+
+        boolean matches(String content);
+
+        double getEstimatedSelectivity();
+    }
+
+    private static class RegexValueMatcher implements ValueMatcher {
+
+        private final Pattern pattern;
+
+
+        RegexValueMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean find(String content) {
+            return pattern.matcher(content).find();
+        }
+
+        @Override
+        public boolean matches(String content) {
+            return pattern.matcher(content).matches();
+        }
+
+        @Override
+        public double getEstimatedSelectivity() {
+            return 0.5;
+        }
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * Matches a literal value without using regular expressions. Like {@link Pattern#CASE_INSENSITIVE}, only the case
+     * of US-ASCII characters is ignored.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    private static class LiteralValueMatcher implements ValueMatcher {
 
+        private final String value;
         private final boolean caseSensitive;
-        private final boolean regex;
 
-        private final BibEntry entry;
 
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
+        LiteralValueMatcher(String value, boolean caseSensitive) {
+            this.value = value;
             this.caseSensitive = caseSensitive;
-            this.regex = regex;
-            this.entry = bibEntry;
         }
 
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
+        @Override
+        public boolean find(String content) {
+            if (caseSensitive) {
+                return content.contains(value);
+            }
+
+            for (int start = 0; start <= (content.length() - value.length()); start++) {
+                if (regionMatches(content, start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean matches(String content) {
+            if (caseSensitive) {
+                return content.equals(value);
+            }
+            return (content.length() == value.length()) && regionMatches(content, 0);
+        }
+
+        private boolean regionMatches(String content, int start) {
+            for (int i = 0; i < value.length(); i++) {
+                if (!equalsIgnoreAsciiCase(content.charAt(start + i), value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equalsIgnoreAsciiCase(char first, char second) {
+            return (first == second) || ((first < 128) && (second < 128)
+                    && (Character.toLowerCase(first) == Character.toLowerCase(second)));
+        }
+
+        /**
+         * Longer values are assumed to be contained in less entries
+         */
+        @Override
+        public double getEstimatedSelectivity() {
+            return 1.0 / (1 + value.length());
+        }
+    }
+
+    /**
+     * A compiled part of the search expression together with the estimates used to order the parts
+     */
+    private static class CompiledExpression {
+
+        private final SearchMatcher matcher;
+        private final double cost;
+        private final double selectivity;
+
+
+        CompiledExpression(SearchMatcher matcher, double cost, double selectivity) {
+            this.matcher = matcher;
+            this.cost = cost;
+            this.selectivity = selectivity;
+        }
+    }
+
+    /**
+     * Compiles the parse tree into a tree of matchers. The operands of chained AND and OR expressions are reordered, so
+     * that operands which are cheap and likely to decide the result are evaluated first.
+     */
+    static class QueryCompiler extends SearchBaseVisitor<CompiledExpression> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+
+
+        public QueryCompiler(boolean caseSensitive, boolean regex) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
+        public CompiledExpression visitStart(SearchParser.StartContext ctx) {
             return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext context) {
+        public CompiledExpression visitComparison(SearchParser.ComparisonContext context) {
             // remove possible enclosing " symbols
             String right = context.right.getText();
             if(right.startsWith("\"") && right.endsWith("\"")) {
@@ -228,28 +430,153 @@ public class GrammarBasedSearchRule implements SearchRule {
 
             Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
             if (fieldDescriptor.isPresent()) {
-                return comparison(fieldDescriptor.get().getText(), ComparisonOperator.build(context.operator.getText()), right);
+                Comparator comparator = new Comparator(fieldDescriptor.get().getText(), right,
+                        ComparisonOperator.build(context.operator.getText()), caseSensitive, regex);
+                return new CompiledExpression(comparator::compare, comparator.getEstimatedCost(),
+                        comparator.getEstimatedSelectivity());
             } else {
-                return new ContainBasedSearchRule(caseSensitive).applyRule(right, entry);
+                String searchString = right;
+                ContainBasedSearchRule rule = new ContainBasedSearchRule(caseSensitive);
+                double selectivity = 1;
+                for (String word : new SentenceAnalyzer(searchString).getWords()) {
+                    selectivity *= 1.0 / (1 + word.length());
+                }
+                return new CompiledExpression(entry -> rule.applyRule(searchString, entry), ALL_FIELDS_COST,
+                        selectivity);
             }
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public CompiledExpression visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            CompiledExpression expression = visit(ctx.expression());
+            SearchMatcher matcher = expression.matcher;
+            return new CompiledExpression(entry -> !matcher.isMatch(entry), expression.cost,
+                    1 - expression.selectivity);
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        public CompiledExpression visitParenExpression(SearchParser.ParenExpressionContext ctx) {
             return visit(ctx.expression()); // ignore parenthesis
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public CompiledExpression visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            boolean and = "AND".equalsIgnoreCase(ctx.operator.getText());
+            List<CompiledExpression> operands = new ArrayList<>();
+            collectOperands(ctx, and, operands);
+
+            double cost = 0;
+            double noMatch = 1;
+            double allMatch = 1;
+            for (CompiledExpression operand : operands) {
+                cost += operand.cost;
+                allMatch *= operand.selectivity;
+                noMatch *= 1 - operand.selectivity;
+            }
+
+            if (and) {
+                // first evaluate the operands which are cheap and likely to fail
+                operands.sort(java.util.Comparator.comparingDouble(
+                        operand -> operand.cost / Math.max(1 - operand.selectivity, MIN_PROBABILITY)));
+                SearchMatcher[] matchers = getMatchers(operands);
+                return new CompiledExpression(entry -> {
+                    for (SearchMatcher matcher : matchers) {
+                        if (!matcher.isMatch(entry)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }, cost, allMatch);
+            } else {
+                // first evaluate the operands which are cheap and likely to match
+                operands.sort(java.util.Comparator.comparingDouble(
+                        operand -> operand.cost / Math.max(operand.selectivity, MIN_PROBABILITY)));
+                SearchMatcher[] matchers = getMatchers(operands);
+                return new CompiledExpression(entry -> {
+                    for (SearchMatcher matcher : matchers) {
+                        if (matcher.isMatch(entry)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }, cost, 1 - noMatch);
+            }
+        }
+
+        private static SearchMatcher[] getMatchers(List<CompiledExpression> operands) {
+            return operands.stream().map(operand -> operand.matcher).toArray(SearchMatcher[]::new);
+        }
+
+        /**
+         * Flattens chained expressions with the same operator, e.g., <code>a and (b and c)</code>
+         */
+        private void collectOperands(ParseTree expression, boolean and, List<CompiledExpression> operands) {
+            ParseTree unwrapped = expression;
+            while (unwrapped instanceof SearchParser.ParenExpressionContext) {
+                unwrapped = ((SearchParser.ParenExpressionContext) unwrapped).expression();
+            }
+
+            if (unwrapped instanceof SearchParser.BinaryExpressionContext) {
+                SearchParser.BinaryExpressionContext binary = (SearchParser.BinaryExpressionContext) unwrapped;
+                if ("AND".equalsIgnoreCase(binary.operator.getText()) == and) {
+                    collectOperands(binary.left, and, operands);
+                    collectOperands(binary.right, and, operands);
+                    return;
+                }
+            }
+            operands.add(visit(unwrapped));
+        }
+    }
+
+    /**
+     * Collects the words each matching entry has to contain. Negations and alternatives do not require anything.
+     */
+    static class RequiredWordsVisitor extends SearchBaseVisitor<List<String>> {
+
+        @Override
+        public List<String> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public List<String> visitComparison(SearchParser.ComparisonContext context) {
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                return new SentenceAnalyzer(right).getWords();
+            }
+
+            String field = context.left.getText();
+            ComparisonOperator operator = ComparisonOperator.build(context.operator.getText());
+            if ((operator == ComparisonOperator.DOES_NOT_CONTAIN) || BibEntry.TYPE_HEADER.equalsIgnoreCase(field)
+                    || Comparator.ANY_KEYWORD.equalsIgnoreCase(field)) {
+                // entry types and keywords are not matched against the field contents
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(right);
+        }
+
+        @Override
+        public List<String> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public List<String> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                List<String> words = new ArrayList<>(visit(ctx.left));
+                words.addAll(visit(ctx.right));
+                return words;
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                return Collections.emptyList();
             }
         }
     }
@@ -0,0 +1,156 @@
+package net.sf.jabref.model.strings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Converts LaTeX to Unicode using {@link LatexToUnicode} and caches the results by the raw value. Many entries share
+ * the same journal, publisher or author values, which are thus converted only once.
+ * <p>
+ * The cache can be written to a file next to the database and read again when the database is opened, so that
+ * unchanged values do not need to be converted again. The file stores the hash of the database file it was written
+ * for and is ignored if the database was changed in the meantime.
+ */
+public class LatexToUnicodeCache {
+
+    public static final LatexToUnicodeCache INSTANCE = new LatexToUnicodeCache(200_000);
+
+    private static final String FILE_EXTENSION = ".unicode-cache";
+    /**
+     * Has to be increased whenever the conversion changes, so that old cache files are ignored
+     */
+    private static final int FORMAT_VERSION = 2;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final LatexToUnicode converter = new LatexToUnicode();
+    private final Cache<String, String> cache;
+
+
+    public LatexToUnicodeCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public String format(String rawValue) {
+        Objects.requireNonNull(rawValue);
+
+        String converted = cache.getIfPresent(rawValue);
+        if (converted == null) {
+            converted = converter.format(rawValue);
+            cache.put(rawValue, converted);
+        }
+        return converted;
+    }
+
+    /**
+     * Returns the file the cache for the given database file is stored in
+     */
+    public static Path getCacheFile(Path databaseFile) {
+        return databaseFile.resolveSibling(databaseFile.getFileName() + FILE_EXTENSION);
+    }
+
+    /**
+     * Writes the conversions of the given values to the file. Values which are currently not cached are skipped.
+     * The file is bound to the current content of the given database file.
+     */
+    public void write(Path file, Path databaseFile, Collection<String> rawValues) throws IOException {
+        byte[] databaseHash = hash(databaseFile);
+        Map<String, String> conversions = cache.asMap();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(databaseHash.length);
+            out.write(databaseHash);
+            for (String rawValue : rawValues) {
+                String converted = conversions.get(rawValue);
+                if (converted != null) {
+                    out.writeBoolean(true);
+                    writeString(out, rawValue);
+                    writeString(out, converted);
+                }
+            }
+            out.writeBoolean(false);
+        }
+    }
+
+    /**
+     * Adds the conversions stored in the file to the cache. Nothing is added if the file was written by another
+     * version of the conversion or for another content of the database file.
+     *
+     * @return whether the conversions were added
+     * @throws IOException if the file could not be read or is corrupt. The cache is not changed in this case.
+     */
+    public boolean read(Path file, Path databaseFile) throws IOException {
+        long fileSize = Files.size(file);
+        Map<String, String> conversions = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            if (!Arrays.equals(readBytes(in, fileSize), hash(databaseFile))) {
+                return false;
+            }
+            while (in.readBoolean()) {
+                String rawValue = readString(in, fileSize);
+                conversions.put(rawValue, readString(in, fileSize));
+            }
+        }
+        cache.putAll(conversions);
+        return true;
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * {@link DataOutputStream#writeUTF(String)} is limited to 64 KB, which is not enough for, e.g., long abstracts
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, long fileSize) throws IOException {
+        return new String(readBytes(in, fileSize), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length prefixed byte array. Lengths which can not be right for a file of the given size are rejected.
+     */
+    private static byte[] readBytes(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        if ((length < 0) || (length > fileSize)) {
+            throw new IOException("Corrupt cache file, invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
 
 import net.sf.jabref.logic.l10n.Localization;
@@ -35,7 +36,7 @@ public class DBMSConnection {
 
             this.connection = DriverManager.getConnection(
                     properties.getType().getUrl(properties.getHost(), properties.getPort(), properties.getDatabase()),
-                    properties.getUser(), properties.getPassword());
+                    getDriverProperties(properties));
         } catch (SQLException e) {
             // Some systems like PostgreSQL retrieves 0 to every exception.
             // Therefore a stable error determination is not possible.
@@ -45,6 +46,25 @@ public class DBMSConnection {
         }
     }
 
+    /**
+     * Returns the credentials and the driver specific settings needed to stream large results (see
+     * {@link DBMSProcessor#forEachSharedEntry(java.util.function.Consumer)}).
+     */
+    private static Properties getDriverProperties(DBMSConnectionProperties properties) {
+        Properties driverProperties = new Properties();
+        if (properties.getUser() != null) {
+            driverProperties.setProperty("user", properties.getUser());
+        }
+        if (properties.getPassword() != null) {
+            driverProperties.setProperty("password", properties.getPassword());
+        }
+        if (properties.getType() == DBMSType.MYSQL) {
+            // Without a server side cursor, MySQL ignores the fetch size and transfers the complete result at once
+            driverProperties.setProperty("useCursorFetch", "true");
+        }
+        return driverProperties;
+    }
+
     public Connection getConnection() {
         return this.connection;
     }
@@ -5,15 +5,20 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.event.EntryEventSource;
@@ -36,6 +41,15 @@ public abstract class DBMSProcessor {
 
     public static final String PROCESSOR_ID = UUID.randomUUID().toString();
 
+    /**
+     * Maximum number of entries inserted within one transaction or fetched with one query. Oracle accepts at most 1000
+     * values in an IN condition.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private int fetchSize = DEFAULT_FETCH_SIZE;
 
     protected DBMSProcessor(DBMSConnection dbmsConnection) {
         this.connection = dbmsConnection.getConnection();
@@ -49,7 +63,7 @@ public abstract class DBMSProcessor {
      * @throws SQLException
      */
     public boolean checkBaseIntegrity() throws SQLException {
-        return checkTableAvailibility("ENTRY", "FIELD", "METADATA");
+        return checkTableAvailibility("ENTRY", "FIELD", "METADATA", "VERSION_COUNTER");
     }
 
     /**
@@ -98,7 +112,13 @@ public abstract class DBMSProcessor {
      * @throws SQLException
      */
     public void setupSharedDatabase() throws SQLException {
-        setUp();
+        if (!checkTableAvailibility("ENTRY", "FIELD", "METADATA")) {
+            setUp();
+        }
+        // the counter is missing on shared databases set up by older versions
+        if (!checkTableAvailibility("VERSION_COUNTER")) {
+            setUpVersionCounter();
+        }
 
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
@@ -113,6 +133,34 @@ public abstract class DBMSProcessor {
      */
     protected abstract void setUp() throws SQLException;
 
+    /**
+     * Creates the table holding the counter of the shared versions, see {@link #getNextSharedVersion()}. The counter
+     * starts at the highest version of the existing entries.
+     */
+    private void setUpVersionCounter() throws SQLException {
+        StringBuilder createTableQuery = new StringBuilder()
+                .append("CREATE TABLE ")
+                .append(escape("VERSION_COUNTER"))
+                .append(" (")
+                .append(escape("VERSION"))
+                .append(" INTEGER NOT NULL)");
+
+        StringBuilder insertCounterQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("VERSION_COUNTER"))
+                .append(" (")
+                .append(escape("VERSION"))
+                .append(") SELECT COALESCE(MAX(")
+                .append(escape("VERSION"))
+                .append("), 1) FROM ")
+                .append(escape("ENTRY"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createTableQuery.toString());
+            statement.executeUpdate(insertCounterQuery.toString());
+        }
+    }
+
     /**
      * Escapes parts of SQL expressions like table or field name to match the conventions
      * of the database system using the current dbmsType.
@@ -131,11 +179,77 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be inserted
      */
     public void insertEntry(BibEntry bibEntry) {
-        if (!checkForBibEntryExistence(bibEntry)) {
-            insertIntoEntryTable(bibEntry);
-            insertIntoFieldTable(bibEntry);
+        insertEntries(Collections.singletonList(bibEntry));
+    }
+
+    /**
+     * Inserts the given entries into shared database. Entries which already exist on shared database are skipped.
+     * The entries are inserted in chunks of {@link #CHUNK_SIZE} entries, each chunk within one transaction using
+     * batched statements.
+     *
+     * @param bibEntries {@link BibEntry} objects to be inserted
+     */
+    public void insertEntries(List<BibEntry> bibEntries) {
+        for (int start = 0; start < bibEntries.size(); start += CHUNK_SIZE) {
+            List<BibEntry> chunk = bibEntries.subList(start, Math.min(start + CHUNK_SIZE, bibEntries.size()));
+            List<BibEntry> notExistingEntries = filterForNotExistingEntries(chunk);
+            if (notExistingEntries.isEmpty()) {
+                continue;
+            }
+
+            try {
+                connection.setAutoCommit(false); // disable auto commit due to transaction
+                try {
+                    insertIntoEntryTable(notExistingEntries);
+                    insertIntoFieldTable(notExistingEntries);
+                    connection.commit();
+                } catch (SQLException e) {
+                    LOGGER.error("SQL Error: ", e);
+                    connection.rollback(); // undo changes made in current transaction
+                    for (BibEntry bibEntry : notExistingEntries) {
+                        bibEntry.getSharedBibEntryData().setSharedID(-1); // the generated IDs are not valid anymore
+                    }
+                } finally {
+                    connection.setAutoCommit(true); // enable auto commit mode again
+                }
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+            }
+        }
+    }
+
+    /**
+     * Inserts the given entries into ENTRY table using one multi-row statement and sets the generated IDs locally.
+     *
+     * @param bibEntries {@link BibEntry} objects to be inserted
+     */
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder insertIntoEntryQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("ENTRY"))
+                .append("(")
+                .append(escape("TYPE"))
+                .append(") VALUES(?)");
+        for (int i = 1; i < bibEntries.size(); i++) {
+            insertIntoEntryQuery.append(", (?)");
         }
 
+        try (PreparedStatement preparedEntryStatement = prepareStatementReturningSharedID(insertIntoEntryQuery.toString())) {
+            for (int i = 0; i < bibEntries.size(); i++) {
+                preparedEntryStatement.setString(i + 1, bibEntries.get(i).getType());
+            }
+            preparedEntryStatement.executeUpdate();
+
+            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                // the keys are returned in the order of the inserted rows
+                for (BibEntry bibEntry : bibEntries) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Not all generated keys were returned");
+                    }
+                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                }
+            }
+        }
     }
 
     /**
@@ -143,7 +257,7 @@ public abstract class DBMSProcessor {
      *
      * @param bibEntry {@link BibEntry} to be inserted
      */
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
+    protected void insertIntoEntryTable(BibEntry bibEntry) throws SQLException {
         // Inserting into ENTRY table
         StringBuilder insertIntoEntryQuery = new StringBuilder()
                 .append("INSERT INTO ")
@@ -152,10 +266,7 @@ public abstract class DBMSProcessor {
                 .append(escape("TYPE"))
                 .append(") VALUES(?)");
 
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                new String[] {"SHARED_ID"})) {
-
+        try (PreparedStatement preparedEntryStatement = prepareStatementReturningSharedID(insertIntoEntryQuery.toString())) {
             preparedEntryStatement.setString(1, bibEntry.getType());
             preparedEntryStatement.executeUpdate();
 
@@ -164,73 +275,86 @@ public abstract class DBMSProcessor {
                     bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
     }
 
     /**
-     * Checks whether the given bibEntry already exists on shared database.
-     * @param bibEntry {@link BibEntry} to be checked
-     * @return <code>true</code> if existent, else <code>false</code>
+     * Prepares the given INSERT statement so that the generated SHARED_ID values can be retrieved.
      */
-    private boolean checkForBibEntryExistence(BibEntry bibEntry) {
-        try {
-            // Check if already exists
-            int sharedID = bibEntry.getSharedBibEntryData().getSharedID();
-            if (sharedID != -1) {
-                StringBuilder selectQuery = new StringBuilder()
-                        .append("SELECT * FROM ")
-                        .append(escape("ENTRY"))
-                        .append(" WHERE ")
-                        .append(escape("SHARED_ID"))
-                        .append(" = ?");
-
-                try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
-                    preparedSelectStatement.setInt(1, sharedID);
-                    try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
-                        if (resultSet.next()) {
-                            return true;
-                        }
-                    }
+    protected PreparedStatement prepareStatementReturningSharedID(String query) throws SQLException {
+        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
+        return connection.prepareStatement(query, new String[] {"SHARED_ID"});
+    }
+
+    /**
+     * Returns the given entries which do not exist on shared database yet. Entries with a shared ID are checked using
+     * one query.
+     */
+    private List<BibEntry> filterForNotExistingEntries(List<BibEntry> bibEntries) {
+        List<BibEntry> entriesWithSharedID = bibEntries.stream()
+                .filter(bibEntry -> bibEntry.getSharedBibEntryData().getSharedID() != -1).collect(Collectors.toList());
+        if (entriesWithSharedID.isEmpty()) {
+            return bibEntries;
+        }
+
+        Set<Integer> existingSharedIDs = new HashSet<>();
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("SHARED_ID"))
+                .append(" FROM ")
+                .append(escape("ENTRY"))
+                .append(" WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" IN (")
+                .append(getPlaceholders(entriesWithSharedID.size()))
+                .append(")");
+
+        try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
+            for (int i = 0; i < entriesWithSharedID.size(); i++) {
+                preparedSelectStatement.setInt(i + 1, entriesWithSharedID.get(i).getSharedBibEntryData().getSharedID());
+            }
+            try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    existingSharedIDs.add(resultSet.getInt(1));
                 }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
-        return false;
+
+        return bibEntries.stream()
+                .filter(bibEntry -> !existingSharedIDs.contains(bibEntry.getSharedBibEntryData().getSharedID()))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Inserts the given bibEntry into FIELD table.
+     * Inserts the fields of the given entries into FIELD table using one batch.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} objects to be inserted
      */
-    private void insertIntoFieldTable(BibEntry bibEntry) {
-        try {
-            // Inserting into FIELD table
-            for (String fieldName : bibEntry.getFieldNames()) {
-                StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT INTO ")
-                    .append(escape("FIELD"))
-                    .append("(")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(", ")
-                    .append(escape("NAME"))
-                    .append(", ")
-                    .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
+    private void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder insertFieldQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)");
 
-                try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+        try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            for (BibEntry bibEntry : bibEntries) {
+                for (String fieldName : bibEntry.getFieldNames()) {
                     // columnIndex starts with 1
                     preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
                     preparedFieldStatement.setString(2, fieldName);
                     preparedFieldStatement.setString(3, bibEntry.getField(fieldName).get());
-                    preparedFieldStatement.executeUpdate();
+                    preparedFieldStatement.addBatch();
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+            preparedFieldStatement.executeBatch();
         }
     }
 
@@ -261,7 +385,8 @@ public abstract class DBMSProcessor {
 
                 insertOrUpdateFields(localBibEntry);
 
-                // updating entry type
+                // updating entry type and version. The new version is higher than all other versions, so that clients
+                // can pull the changes by the highest version they know (see getSharedIDVersionMapping(int, int)).
                 StringBuilder updateEntryTypeQuery = new StringBuilder()
                     .append("UPDATE ")
                     .append(escape("ENTRY"))
@@ -269,15 +394,15 @@ public abstract class DBMSProcessor {
                     .append(escape("TYPE"))
                     .append(" = ?, ")
                     .append(escape("VERSION"))
-                    .append(" = ")
-                    .append(escape("VERSION"))
-                    .append(" + 1 WHERE ")
+                    .append(" = ? WHERE ")
                     .append(escape("SHARED_ID"))
                     .append(" = ?");
 
+                int newVersion = getNextSharedVersion();
                 try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery.toString())) {
                     preparedUpdateEntryTypeStatement.setString(1, localBibEntry.getType());
-                    preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
+                    preparedUpdateEntryTypeStatement.setInt(2, newVersion);
+                    preparedUpdateEntryTypeStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
                     preparedUpdateEntryTypeStatement.executeUpdate();
                 }
 
@@ -294,6 +419,37 @@ public abstract class DBMSProcessor {
         }
     }
 
+    /**
+     * Helping method. Increments the version counter and returns the new version. The counter row stays locked until
+     * the current transaction ends, so that concurrent updates get different versions, which are committed in order.
+     */
+    private int getNextSharedVersion() throws SQLException {
+        StringBuilder incrementVersionQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("VERSION_COUNTER"))
+                .append(" SET ")
+                .append(escape("VERSION"))
+                .append(" = ")
+                .append(escape("VERSION"))
+                .append(" + 1");
+
+        StringBuilder selectVersionQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("VERSION"))
+                .append(" FROM ")
+                .append(escape("VERSION_COUNTER"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(incrementVersionQuery.toString());
+            try (ResultSet resultSet = statement.executeQuery(selectVersionQuery.toString())) {
+                if (!resultSet.next()) {
+                    throw new SQLException("The version counter is missing");
+                }
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
     /**
      * Helping method. Removes shared fields which do not exist locally
      */
@@ -417,85 +573,216 @@ public abstract class DBMSProcessor {
      * @return instance of {@link BibEntry}
      */
     public Optional<BibEntry> getSharedEntry(int sharedID) {
-        List<BibEntry> sharedEntries = getSharedEntryList(sharedID);
-        if (!sharedEntries.isEmpty()) {
-            return Optional.of(sharedEntries.get(0));
-        }
-        return Optional.empty();
+        return getSharedEntries(Collections.singletonList(sharedID)).stream().findFirst();
     }
 
+    /**
+     * @return List of all shared {@link BibEntry} instances ordered by their ID
+     */
     public List<BibEntry> getSharedEntries() {
-        return getSharedEntryList(0);
+        List<BibEntry> sharedEntries = new ArrayList<>();
+        forEachSharedEntry(sharedEntries::add);
+        return sharedEntries;
     }
 
     /**
-     * @param sharedID Entry ID. If 0, all entries are going to be fetched.
-     * @return List of {@link BibEntry} instances
+     * Fetches all shared entries ordered by their ID and passes each one to the consumer as soon as it is complete.
+     * The entries and their fields are fetched with a single joined query, whose rows are retrieved in portions of
+     * the fetch size (see {@link #setFetchSize(int)}). The query runs within a transaction, as PostgreSQL ignores the
+     * fetch size otherwise. MySQL needs a server side cursor for this, which is enabled by {@link DBMSConnection}.
+     *
+     * @param consumer called for every {@link BibEntry} in the order of their IDs
      */
-    private List<BibEntry> getSharedEntryList(int sharedID) {
-        List<BibEntry> sharedEntries = new ArrayList<>();
+    public void forEachSharedEntry(Consumer<BibEntry> consumer) {
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT E.")
+                .append(escape("SHARED_ID"))
+                .append(", E.")
+                .append(escape("TYPE"))
+                .append(", E.")
+                .append(escape("VERSION"))
+                .append(", F.")
+                .append(escape("NAME"))
+                .append(", F.")
+                .append(escape("VALUE"))
+                .append(" FROM ")
+                .append(escape("ENTRY"))
+                .append(" E LEFT OUTER JOIN ")
+                .append(escape("FIELD"))
+                .append(" F ON E.")
+                .append(escape("SHARED_ID"))
+                .append(" = F.")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" ORDER BY E.")
+                .append(escape("SHARED_ID"));
+
+        try {
+            connection.setAutoCommit(false); // the fetch size is only honored within a transaction
+            try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet resultSet = statement.executeQuery(selectQuery.toString())) {
+                    streamSharedEntries(resultSet, consumer);
+                }
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+    }
 
-        StringBuilder selectEntryQuery = new StringBuilder();
-        selectEntryQuery.append("SELECT * FROM ");
-        selectEntryQuery.append(escape("ENTRY"));
+    /**
+     * Helping method. Builds the entries from the rows of the joined query and passes them to the consumer.
+     */
+    private void streamSharedEntries(ResultSet resultSet, Consumer<BibEntry> consumer) throws SQLException {
+        BibEntry bibEntry = null;
+        while (resultSet.next()) {
+            int sharedID = resultSet.getInt(1);
+            if ((bibEntry == null) || (bibEntry.getSharedBibEntryData().getSharedID() != sharedID)) {
+                if (bibEntry != null) {
+                    consumer.accept(bibEntry);
+                }
+                // setting the base attributes once
+                bibEntry = new BibEntry();
+                bibEntry.getSharedBibEntryData().setSharedID(sharedID);
+                bibEntry.setType(resultSet.getString(2));
+                bibEntry.getSharedBibEntryData().setVersion(resultSet.getInt(3));
+            }
 
-        if (sharedID != 0) {
-            selectEntryQuery.append(" WHERE ");
-            selectEntryQuery.append(escape("SHARED_ID"));
-            selectEntryQuery.append(" = ");
-            selectEntryQuery.append(sharedID);
+            String fieldName = resultSet.getString(4);
+            if (fieldName != null) { // entries without fields have only one row without field
+                bibEntry.setField(fieldName, Optional.ofNullable(resultSet.getString(5)),
+                        EntryEventSource.SHARED);
+            }
+        }
+        if (bibEntry != null) {
+            consumer.accept(bibEntry);
         }
+    }
 
-        selectEntryQuery.append(" ORDER BY ");
-        selectEntryQuery.append(escape("SHARED_ID"));
+    /**
+     * Sets the number of rows retrieved at once when fetching all shared entries
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
-            while (selectEntryResultSet.next()) {
-                BibEntry bibEntry = new BibEntry();
-                // setting the base attributes once
-                bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
-                bibEntry.setType(selectEntryResultSet.getString("TYPE"));
-                bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
+    /**
+     * Fetches the entries with the given IDs. Per {@link #CHUNK_SIZE} IDs, one query fetches the entries and one
+     * query fetches all their fields.
+     *
+     * @param sharedIDs Entry IDs
+     * @return List of {@link BibEntry} instances ordered by their ID
+     */
+    public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
+        List<Integer> sortedSharedIDs = new ArrayList<>(sharedIDs);
+        Collections.sort(sortedSharedIDs);
+
+        List<BibEntry> sharedEntries = new ArrayList<>();
+        for (int start = 0; start < sortedSharedIDs.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = sortedSharedIDs.subList(start, Math.min(start + CHUNK_SIZE, sortedSharedIDs.size()));
+            Map<Integer, BibEntry> chunkEntries = new LinkedHashMap<>();
+
+            StringBuilder selectEntryQuery = new StringBuilder()
+                    .append("SELECT * FROM ")
+                    .append(escape("ENTRY"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append(getPlaceholders(chunk.size()))
+                    .append(") ORDER BY ")
+                    .append(escape("SHARED_ID"));
 
-                StringBuilder selectFieldQuery = new StringBuilder()
+            StringBuilder selectFieldQuery = new StringBuilder()
                     .append("SELECT * FROM ")
                     .append(escape("FIELD"))
                     .append(" WHERE ")
                     .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+                    .append(" IN (")
+                    .append(getPlaceholders(chunk.size()))
+                    .append(")");
+
+            try (PreparedStatement preparedSelectEntryStatement = connection.prepareStatement(selectEntryQuery.toString());
+                    PreparedStatement preparedSelectFieldStatement = connection.prepareStatement(selectFieldQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedSelectEntryStatement.setInt(i + 1, chunk.get(i));
+                    preparedSelectFieldStatement.setInt(i + 1, chunk.get(i));
+                }
 
-                try (PreparedStatement preparedSelectFieldStatement = connection.prepareStatement(selectFieldQuery.toString())) {
-                    preparedSelectFieldStatement.setInt(1, selectEntryResultSet.getInt("SHARED_ID"));
-                    try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                        while (selectFieldResultSet.next()) {
+                try (ResultSet selectEntryResultSet = preparedSelectEntryStatement.executeQuery()) {
+                    while (selectEntryResultSet.next()) {
+                        BibEntry bibEntry = new BibEntry();
+                        bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
+                        bibEntry.setType(selectEntryResultSet.getString("TYPE"));
+                        bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
+                        chunkEntries.put(bibEntry.getSharedBibEntryData().getSharedID(), bibEntry);
+                    }
+                }
+
+                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
+                    while (selectFieldResultSet.next()) {
+                        BibEntry bibEntry = chunkEntries.get(selectFieldResultSet.getInt("ENTRY_SHARED_ID"));
+                        if (bibEntry != null) {
                             bibEntry.setField(selectFieldResultSet.getString("NAME"),
                                     Optional.ofNullable(selectFieldResultSet.getString("VALUE")), EntryEventSource.SHARED);
                         }
                     }
                 }
-                sharedEntries.add(bibEntry);
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error", e);
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error", e);
+            sharedEntries.addAll(chunkEntries.values());
         }
-
         return sharedEntries;
     }
 
+    /**
+     * Returns the given number of comma separated placeholders for a prepared statement
+     */
+    private static String getPlaceholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
     /**
      * Retrieves a mapping between the columns SHARED_ID and VERSION.
      */
     public Map<Integer, Integer> getSharedIDVersionMapping() {
+        return getSharedIDVersionMapping(-1, -1);
+    }
+
+    /**
+     * Retrieves a mapping between the columns SHARED_ID and VERSION of the entries which were changed or added since
+     * the given watermarks were taken. As every update assigns a version higher than all others and the IDs are
+     * increasing, these are the entries having a higher version or a higher ID.
+     *
+     * @param minVersion Highest version known locally
+     * @param minSharedID Highest ID known locally
+     */
+    public Map<Integer, Integer> getSharedIDVersionMapping(int minVersion, int minSharedID) {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
-            .append("SELECT * FROM ")
+            .append("SELECT ")
+            .append(escape("SHARED_ID"))
+            .append(", ")
+            .append(escape("VERSION"))
+            .append(" FROM ")
             .append(escape("ENTRY"))
-            .append(" ORDER BY ")
+            .append(" WHERE ")
+            .append(escape("VERSION"))
+            .append(" > ? OR ")
+            .append(escape("SHARED_ID"))
+            .append(" > ? ORDER BY ")
             .append(escape("SHARED_ID"));
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
-            while (selectEntryResultSet.next()) {
-                sharedIDVersionMapping.put(selectEntryResultSet.getInt("SHARED_ID"), selectEntryResultSet.getInt("VERSION"));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectEntryQuery.toString())) {
+            preparedStatement.setInt(1, minVersion);
+            preparedStatement.setInt(2, minSharedID);
+            try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
+                while (selectEntryResultSet.next()) {
+                    sharedIDVersionMapping.put(selectEntryResultSet.getInt("SHARED_ID"),
+                            selectEntryResultSet.getInt("VERSION"));
+                }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error", e);
@@ -504,6 +791,27 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Checks whether the shared database contains the given number of entries and whether their versions add up to
+     * the given sum. This detects removed entries and changes which were missed by the watermarks (e.g., because two
+     * clients assigned the same version concurrently) without transferring a row per entry.
+     */
+    public boolean hasSharedEntryCountAndVersionSum(int entryCount, long versionSum) {
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT COUNT(*), SUM(")
+                .append(escape("VERSION"))
+                .append(") FROM ")
+                .append(escape("ENTRY"));
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(selectQuery.toString())) {
+            return resultSet.next() && (resultSet.getInt(1) == entryCount) && (resultSet.getLong(2) == versionSum);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return false;
+        }
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
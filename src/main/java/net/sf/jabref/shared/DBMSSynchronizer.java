@@ -2,11 +2,14 @@ package net.sf.jabref.shared;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.MetaDataSerializer;
@@ -43,6 +46,11 @@ public class DBMSSynchronizer {
 
     private static final Log LOGGER = LogFactory.getLog(DBMSSynchronizer.class);
 
+    /**
+     * Estimated number of rows per entry returned when fetching all shared entries
+     */
+    private static final int ROWS_PER_ENTRY = 10;
+
     private DBMSProcessor dbmsProcessor;
     private DBMSType dbmsType;
     private String dbName;
@@ -53,6 +61,19 @@ public class DBMSSynchronizer {
     private Connection currentConnection;
     private final Character keywordSeparator;
     private GlobalBibtexKeyPattern globalCiteKeyPattern;
+    /**
+     * Highest shared version and shared ID known locally. Only entries above these watermarks are pulled. They are
+     * raised by the loading thread during {@link #loadSharedEntries(int, Consumer)} and by the thread changing the
+     * local database afterwards.
+     */
+    private volatile int versionWatermark = -1;
+    private volatile int sharedIDWatermark = -1;
+    private DBMSConnectionProperties connectionProperties;
+    /**
+     * Set while the shared entries are loaded by {@link #loadSharedEntries(int, Consumer)}, which suspends the
+     * synchronization of the local database.
+     */
+    private volatile boolean initialLoadPending;
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
             GlobalBibtexKeyPattern globalCiteKeyPattern) {
@@ -155,6 +176,15 @@ public class DBMSSynchronizer {
         }
 
         dbmsProcessor.startNotificationListener(this);
+
+        // Upload entries which only exist locally, e.g., when sharing a database which already contains entries.
+        // Otherwise they would be removed by the synchronization below.
+        List<BibEntry> localOnlyEntries = bibDatabase.getEntries().stream()
+                .filter(entry -> entry.getSharedBibEntryData().getSharedID() == -1).collect(Collectors.toList());
+        if (!localOnlyEntries.isEmpty()) {
+            dbmsProcessor.insertEntries(localOnlyEntries);
+        }
+
         synchronizeLocalMetaData();
         synchronizeLocalDatabase();
     }
@@ -162,53 +192,162 @@ public class DBMSSynchronizer {
     /**
      * Synchronizes the local database with shared one.
      * Possible update types are removal, update or insert of a {@link BibEntry}.
+     * Only the IDs and versions of entries above the watermarks are pulled. Just if the number of shared entries or
+     * the sum of their versions show that this missed something (e.g., removed entries), all IDs and versions are
+     * pulled. In both cases, only entries which are new or have a higher version on shared database are fetched.
      */
     public void synchronizeLocalDatabase() {
-        if (!checkCurrentConnection()) {
+        if (initialLoadPending || !checkCurrentConnection()) {
             return;
         }
 
         List<BibEntry> localEntries = bibDatabase.getEntries();
-        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        if (localEntries.isEmpty()) {
+            // initial load: insert the entries while they arrive instead of waiting for all of them
+            versionWatermark = -1;
+            sharedIDWatermark = -1;
+            dbmsProcessor.forEachSharedEntry(sharedEntry -> {
+                bibDatabase.insertEntry(sharedEntry, EntryEventSource.SHARED);
+                raiseWatermarks(sharedEntry.getSharedBibEntryData().getSharedID(),
+                        sharedEntry.getSharedBibEntryData().getVersion());
+            });
+            return;
+        }
+
+        Map<Integer, BibEntry> localEntriesBySharedID = new HashMap<>();
+        for (BibEntry localEntry : localEntries) {
+            localEntriesBySharedID.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+        }
 
-        // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping(versionWatermark,
+                sharedIDWatermark);
+        if (isCompleteChangeSet(localEntriesBySharedID, idVersionMap)) {
+            raiseWatermarks(idVersionMap);
+        } else {
+            idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+            versionWatermark = -1;
+            sharedIDWatermark = -1;
+            raiseWatermarks(idVersionMap);
+
+            // remove old entries locally
+            removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        }
 
-        // compare versions and update local entry if needed
+        // collect the entries which are missing or outdated locally
+        List<Integer> changedSharedIDs = new ArrayList<>();
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean match = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey() == localEntry.getSharedBibEntryData().getSharedID()) {
-                    match = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntryEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                    .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            for (String field : sharedEntry.get().getFieldNames()) {
-                                localEntry.setField(field, sharedEntry.get().getField(field), EntryEventSource.SHARED);
-                            }
-
-                            Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
-                            redundantLocalEntryFields.removeAll(sharedEntry.get().getFieldNames());
-
-                            // remove not existing fields
-                            for (String redundantField : redundantLocalEntryFields) {
-                                localEntry.clearField(redundantField, EntryEventSource.SHARED);
-                            }
-                        }
-                    }
+            BibEntry localEntry = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if ((localEntry == null)
+                    || (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                changedSharedIDs.add(idVersionEntry.getKey());
+            }
+        }
+        if (changedSharedIDs.isEmpty()) {
+            return;
+        }
+
+        for (BibEntry sharedEntry : dbmsProcessor.getSharedEntries(changedSharedIDs)) {
+            BibEntry localEntry = localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                bibDatabase.insertEntry(sharedEntry, EntryEventSource.SHARED);
+            } else {
+                // update fields
+                localEntry.setType(sharedEntry.getType(), EntryEventSource.SHARED);
+                localEntry.getSharedBibEntryData().setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+                for (String field : sharedEntry.getFieldNames()) {
+                    localEntry.setField(field, sharedEntry.getField(field), EntryEventSource.SHARED);
+                }
+
+                Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
+                redundantLocalEntryFields.removeAll(sharedEntry.getFieldNames());
+
+                // remove not existing fields
+                for (String redundantField : redundantLocalEntryFields) {
+                    localEntry.clearField(redundantField, EntryEventSource.SHARED);
                 }
             }
-            if (!match) {
-                Optional<BibEntry> bibEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                if (bibEntry.isPresent()) {
-                    bibDatabase.insertEntry(bibEntry.get(), EntryEventSource.SHARED);
+        }
+    }
+
+    /**
+     * Loads all shared entries into the local database after it has been opened by
+     * {@link #openSharedDatabaseWithoutEntries(DBMSConnectionProperties)}. The entries are streamed through a separate
+     * connection, so that local changes can be pushed meanwhile, and are inserted in pages of the given size.
+     * Afterwards, the changes made on shared database meanwhile are pulled. This method blocks until all entries are
+     * loaded and should thus be run by a worker thread.
+     *
+     * @param pageSize Number of entries inserted at once
+     * @param localDatabaseChanger Runs the given change of the local database, i.e., the insertion of a page or the
+     *          final synchronization, on the thread which changes the local database and waits for it
+     */
+    public void loadSharedEntries(int pageSize, Consumer<Runnable> localDatabaseChanger) {
+        try {
+            DBMSConnection loadingConnection = new DBMSConnection(connectionProperties);
+            try (Connection connection = loadingConnection.getConnection()) {
+                DBMSProcessor loadingProcessor = DBMSProcessor.getProcessorInstance(loadingConnection);
+                // the joined query returns one row per field
+                loadingProcessor.setFetchSize(pageSize * ROWS_PER_ENTRY);
+
+                List<BibEntry> page = new ArrayList<>(pageSize);
+                loadingProcessor.forEachSharedEntry(sharedEntry -> {
+                    raiseWatermarks(sharedEntry.getSharedBibEntryData().getSharedID(),
+                            sharedEntry.getSharedBibEntryData().getVersion());
+                    page.add(sharedEntry);
+                    if (page.size() == pageSize) {
+                        insertEntries(new ArrayList<>(page), localDatabaseChanger);
+                        page.clear();
+                    }
+                });
+                if (!page.isEmpty()) {
+                    insertEntries(page, localDatabaseChanger);
                 }
             }
+        } catch (SQLException | InvalidDBMSConnectionPropertiesException e) {
+            LOGGER.error("SQL Error: ", e);
+        } finally {
+            initialLoadPending = false;
+        }
+
+        localDatabaseChanger.accept(this::synchronizeLocalDatabase);
+    }
+
+    private void insertEntries(List<BibEntry> entries, Consumer<Runnable> localDatabaseChanger) {
+        localDatabaseChanger.accept(() -> bibDatabase.insertEntries(entries, EntryEventSource.SHARED));
+    }
+
+    /**
+     * Checks whether the local entries updated by the given changes match the shared entries, i.e., whether no entry
+     * was removed and no change was missed by the watermarks.
+     *
+     * @param localEntriesBySharedID local entries by their shared ID
+     * @param changedIDVersionMap shared IDs and versions of the entries changed since the watermarks were taken
+     */
+    private boolean isCompleteChangeSet(Map<Integer, BibEntry> localEntriesBySharedID,
+            Map<Integer, Integer> changedIDVersionMap) {
+        int expectedCount = localEntriesBySharedID.size();
+        long expectedVersionSum = 0;
+        for (Map.Entry<Integer, BibEntry> localEntry : localEntriesBySharedID.entrySet()) {
+            expectedVersionSum += changedIDVersionMap.getOrDefault(localEntry.getKey(),
+                    localEntry.getValue().getSharedBibEntryData().getVersion());
+        }
+        for (Map.Entry<Integer, Integer> changedEntry : changedIDVersionMap.entrySet()) {
+            if (!localEntriesBySharedID.containsKey(changedEntry.getKey())) {
+                expectedCount++;
+                expectedVersionSum += changedEntry.getValue();
+            }
         }
+        return dbmsProcessor.hasSharedEntryCountAndVersionSum(expectedCount, expectedVersionSum);
+    }
+
+    private void raiseWatermarks(Map<Integer, Integer> idVersionMap) {
+        for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
+            raiseWatermarks(idVersionEntry.getKey(), idVersionEntry.getValue());
+        }
+    }
+
+    private void raiseWatermarks(int sharedID, int version) {
+        sharedIDWatermark = Math.max(sharedIDWatermark, sharedID);
+        versionWatermark = Math.max(versionWatermark, version);
     }
 
     /**
@@ -218,21 +357,15 @@ public class DBMSSynchronizer {
      * @param sharedIDs Set of all IDs which are present on shared database
      */
     private void removeNotSharedEntries(List<BibEntry> localEntries, Set<Integer> sharedIDs) {
-        for (int i = 0; i < localEntries.size(); i++) {
-            BibEntry localEntry = localEntries.get(i);
-            boolean match = false;
-            for (int sharedID : sharedIDs) {
-                if (localEntry.getSharedBibEntryData().getSharedID() == sharedID) {
-                    match = true;
-                    break;
-                }
-            }
-            if (!match) {
+        List<BibEntry> notSharedEntries = new ArrayList<>();
+        for (BibEntry localEntry : localEntries) {
+            if (!sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID())) {
                 eventBus.post(new SharedEntryNotPresentEvent(localEntry));
-                bibDatabase.removeEntry(localEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
-                i--; // due to index shift on localEntries
+                notSharedEntries.add(localEntry);
             }
         }
+        // Removing all entries at once rebuilds the entry list only once. Should not reach the listeners above.
+        bibDatabase.removeEntries(notSharedEntries, EntryEventSource.SHARED);
     }
 
     /**
@@ -346,6 +479,7 @@ public class DBMSSynchronizer {
     }
 
     public void openSharedDatabase(DBMSConnection connection) throws DatabaseNotSupportedException, SQLException {
+        this.connectionProperties = connection.getProperties();
         this.dbmsType = connection.getProperties().getType();
         this.dbName = connection.getProperties().getDatabase();
         this.currentConnection = connection.getConnection();
@@ -358,6 +492,22 @@ public class DBMSSynchronizer {
         openSharedDatabase(new DBMSConnection(properties));
     }
 
+    /**
+     * Opens the shared database like {@link #openSharedDatabase(DBMSConnectionProperties)}, but does not pull the shared
+     * entries. They have to be loaded by {@link #loadSharedEntries(int, Consumer)} afterwards, which allows to display
+     * the database before all entries have arrived.
+     */
+    public void openSharedDatabaseWithoutEntries(DBMSConnectionProperties properties)
+            throws SQLException, DatabaseNotSupportedException, InvalidDBMSConnectionPropertiesException {
+        initialLoadPending = true;
+        try {
+            openSharedDatabase(properties);
+        } catch (SQLException | DatabaseNotSupportedException | InvalidDBMSConnectionPropertiesException e) {
+            initialLoadPending = false;
+            throw e;
+        }
+    }
+
     public void closeSharedDatabase() {
         try {
             dbmsProcessor.stopNotificationListener();
@@ -2,8 +2,10 @@ package net.sf.jabref.shared;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
 
+import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.shared.listener.OracleNotificationListener;
 
 import oracle.jdbc.OracleConnection;
@@ -59,6 +61,17 @@ public class OracleProcessor extends DBMSProcessor {
                 "\"VALUE\"  CLOB NOT NULL)");
     }
 
+    /**
+     * Oracle does not support multiple tuple insertion in one INSERT INTO command, thus the entries are inserted one
+     * by one.
+     */
+    @Override
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        for (BibEntry bibEntry : bibEntries) {
+            insertIntoEntryTable(bibEntry);
+        }
+    }
+
     @Override
     String escape(String expression) {
         return "\"" + expression + "\"";
@@ -0,0 +1,82 @@
+package net.sf.jabref.collab;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileUpdateMonitorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final CountDownLatch updated = new CountDownLatch(1);
+    private FileUpdateMonitor monitor;
+    private Thread monitorThread;
+    private Path file;
+    private String handle;
+
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("test.bib").toPath();
+        Files.write(file, "@Article{key,}".getBytes(StandardCharsets.UTF_8));
+
+        monitor = new FileUpdateMonitor();
+        handle = monitor.addUpdateListener(new FileUpdateListener() {
+
+            @Override
+            public void fileUpdated() {
+                updated.countDown();
+            }
+
+            @Override
+            public void fileRemoved() {
+                // not tested
+            }
+        }, file.toFile());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (monitorThread != null) {
+            monitorThread.interrupt();
+            monitorThread.join();
+        }
+    }
+
+    @Test
+    public void externalChangeIsDetected() throws Exception {
+        Files.write(file, "@Article{changedKey,}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(monitor.hasBeenModified(handle));
+    }
+
+    @Test
+    public void ownChangeIsIgnoredAfterUpdatingTimeStamp() throws Exception {
+        Files.write(file, "@Article{changedKey,}".getBytes(StandardCharsets.UTF_8));
+        monitor.updateTimeStamp(handle);
+
+        assertFalse(monitor.hasBeenModified(handle));
+    }
+
+    @Test
+    public void listenerIsNotifiedAboutExternalChange() throws Exception {
+        monitorThread = new Thread(monitor);
+        monitorThread.start();
+
+        Files.write(file, "@Article{changedKey,}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(updated.await(30, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,64 @@
+package net.sf.jabref.fulltext.indexing;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FullTextSearchResultTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+    private BibEntry third;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        first = createEntry("first", "Lucene in action");
+        second = createEntry("second", "Indexing with Lucene");
+        third = createEntry("third", "Something else");
+    }
+
+    private BibEntry createEntry(String key, String title) {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey(key);
+        entry.setField("title", title);
+        database.insertEntry(entry);
+        return entry;
+    }
+
+    private static FullTextSearchResult.Hit hit(String key, float score) {
+        return new FullTextSearchResult.Hit(key, score);
+    }
+
+    @Test
+    public void entriesAreReturnedInOrderOfRelevance() {
+        FullTextSearchResult result = new FullTextSearchResult(
+                Arrays.asList(hit("third", 3f), hit("first", 2f), hit("second", 1f)));
+
+        assertEquals(Arrays.asList(third, first, second), result.getEntries(database));
+    }
+
+    @Test
+    public void hitsWithoutEntryAreIgnored() {
+        FullTextSearchResult result = new FullTextSearchResult(Arrays.asList(hit("removed", 2f), hit("second", 1f)));
+
+        assertEquals(Collections.singletonList(second), result.getEntries(database));
+    }
+
+    @Test
+    public void entriesWithSameKeyAreReturnedForOneHit() {
+        BibEntry duplicate = createEntry("first", "Duplicate");
+        FullTextSearchResult result = new FullTextSearchResult(Collections.singletonList(hit("first", 1f)));
+
+        assertEquals(Arrays.asList(first, duplicate), result.getEntries(database));
+    }
+}
@@ -0,0 +1,199 @@
+package net.sf.jabref.fulltext.indexing;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexingPipelineTest {
+
+    private static final long TIMEOUT = 30000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private LuceneTools lt;
+    private IndexingPipeline pipeline;
+    private Path indexDirectory;
+    private LuceneID pdf;
+
+
+    @Before
+    public void setUp() throws Exception {
+        indexDirectory = temporaryFolder.newFolder("index").toPath();
+        lt = new LuceneTools();
+        lt.open(indexDirectory);
+        pipeline = new IndexingPipeline(lt);
+
+        Path source = Paths.get(IndexingPipelineTest.class
+                .getResource("/net/sf/jabref/logic/importer/fileformat/LNCS-minimal.pdf").toURI());
+        File file = temporaryFolder.getRoot().toPath().resolve("paper.pdf").toFile();
+        Files.copy(source, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        pdf = new LuceneID(file, "key");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pipeline.shutdown();
+        lt.close();
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!pipeline.getProgress().isIdle()) {
+            assertTrue("Indexing did not finish", (System.currentTimeMillis() - start) < TIMEOUT);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Indexes the file with a pipeline, which is shut down afterwards, so that the changes are committed
+     */
+    private IndexingProgress indexAndCommit(LuceneID lID) throws InterruptedException {
+        pipeline.index(lID, false);
+        waitUntilIdle();
+        IndexingProgress progress = pipeline.getProgress();
+        pipeline.shutdown();
+        pipeline = new IndexingPipeline(lt);
+        return progress;
+    }
+
+    @Test
+    public void indexedFileIsFound() throws Exception {
+        IndexingProgress progress = indexAndCommit(pdf);
+
+        assertEquals(1, progress.getIndexedFiles());
+        assertTrue(lt.lookupDocument(pdf).isPresent());
+    }
+
+    @Test
+    public void fileQueuedTwiceIsIndexedOnce() throws Exception {
+        pipeline.index(pdf, false);
+        pipeline.index(pdf, false);
+        waitUntilIdle();
+
+        IndexingProgress progress = pipeline.getProgress();
+        assertEquals(2, progress.getProcessedFiles());
+        assertEquals(1, progress.getIndexedFiles());
+        assertEquals(1, progress.getSkippedFiles());
+    }
+
+    @Test
+    public void unchangedFileIsSkipped() throws Exception {
+        indexAndCommit(pdf);
+
+        IndexingProgress progress = indexAndCommit(pdf);
+
+        assertEquals(0, progress.getIndexedFiles());
+        assertEquals(1, progress.getSkippedFiles());
+    }
+
+    @Test
+    public void touchedFileWithSameContentIsSkippedAndKeepsNewModificationTime() throws Exception {
+        indexAndCommit(pdf);
+        long modificationTime = pdf.file.lastModified() + 10000L;
+        assertTrue(pdf.file.setLastModified(modificationTime));
+
+        IndexingProgress progress = indexAndCommit(pdf);
+
+        assertEquals(0, progress.getIndexedFiles());
+        assertEquals(1, progress.getSkippedFiles());
+        Optional<LuceneTools.IndexedFile> indexedFile = lt.lookupDocument(pdf);
+        assertTrue(indexedFile.isPresent());
+        assertEquals(pdf.file.lastModified(), indexedFile.get().modificationTime);
+    }
+
+    @Test
+    public void forcedFileIsIndexedAgain() throws Exception {
+        indexAndCommit(pdf);
+
+        pipeline.index(pdf, true);
+        waitUntilIdle();
+
+        assertEquals(1, pipeline.getProgress().getIndexedFiles());
+    }
+
+    @Test
+    public void removedFileIsNotFound() throws Exception {
+        indexAndCommit(pdf);
+
+        pipeline.remove(pdf);
+        pipeline.shutdown();
+
+        assertFalse(lt.lookupDocument(pdf).isPresent());
+    }
+
+    @Test
+    public void shutdownCommitsIndexedFiles() throws Exception {
+        pipeline.index(pdf, false);
+        waitUntilIdle();
+        pipeline.shutdown();
+        lt.close();
+
+        lt = new LuceneTools();
+        lt.open(indexDirectory);
+        assertTrue(lt.lookupDocument(pdf).isPresent());
+    }
+
+    @Test
+    public void indexCanBeClosedRightAfterShutdown() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            pipeline.index(new LuceneID(pdf.file, "key" + i), false);
+        }
+        pipeline.shutdown();
+        lt.close();
+
+        lt.open(indexDirectory);
+        assertTrue(lt.isOpen());
+    }
+
+    @Test
+    public void indexOfOlderVersionIsEmptiedOnOpen() throws Exception {
+        Path oldIndexDirectory = temporaryFolder.newFolder("old").toPath();
+        try (Directory directory = FSDirectory.open(oldIndexDirectory);
+                IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            // documents of the older version have no id
+            Document doc = new Document();
+            doc.add(new StringField(LuceneTools.LUCENE_FIELDS.KEY.name(), "key", Store.YES));
+            doc.add(new TextField(LuceneTools.LUCENE_FIELDS.FULL_CONTENT.name(), "text", Store.NO));
+            writer.addDocument(doc);
+        }
+        lt.close();
+
+        lt.open(oldIndexDirectory);
+
+        assertEquals(Collections.emptySet(), lt.searchForString("text"));
+    }
+
+    @Test
+    public void indexIsKeptWhenOpenedAgain() throws Exception {
+        indexAndCommit(pdf);
+        lt.close();
+
+        lt.open(indexDirectory);
+
+        assertTrue(lt.lookupDocument(pdf).isPresent());
+    }
+}
@@ -0,0 +1,92 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class AutoCompleterUpdaterTest {
+
+    private DefaultAutoCompleter autoCompleter;
+    private AutoCompleterUpdater updater;
+
+
+    @Before
+    public void setUp() {
+        autoCompleter = new DefaultAutoCompleter("field", mock(AutoCompletePreferences.class));
+        updater = new AutoCompleterUpdater(Collections.singletonList(autoCompleter));
+    }
+
+    private static BibEntry createEntry(String value) {
+        BibEntry entry = new BibEntry();
+        entry.setField("field", value);
+        return entry;
+    }
+
+    @Test
+    public void fieldChangedDuringFillIsCountedOnce() {
+        BibEntry changed = createEntry("testalpha");
+        BibEntry other = createEntry("testaaa");
+
+        changed.setField("field", "testbeta");
+        updater.listen(new FieldChangedEvent(changed, "field", "testbeta", "testalpha"));
+        updater.addEntries(Arrays.asList(changed, other));
+
+        // both words occur once, so they are ordered alphabetically
+        assertEquals(Arrays.asList("testaaa", "testbeta"), autoCompleter.complete("test"));
+    }
+
+    @Test
+    public void fieldChangedAfterEntryWasCopiedIsCountedOnce() {
+        BibEntry changed = createEntry("testalpha");
+        BibEntry other = createEntry("testaaa");
+
+        // the entry is copied after the field was changed, but before the change is reported
+        changed.setField("field", "testbeta");
+        updater.listen(new EntryAddedEvent(changed));
+        updater.listen(new FieldChangedEvent(changed, "field", "testbeta", "testalpha"));
+        updater.addEntries(Arrays.asList(changed, other));
+
+        assertEquals(Arrays.asList("testaaa", "testbeta"), autoCompleter.complete("test"));
+    }
+
+    @Test
+    public void fieldChangedAfterEntryWasCountedReplacesItsWords() {
+        BibEntry changed = createEntry("testalpha");
+        updater.listen(new EntryAddedEvent(changed));
+
+        changed.setField("field", "testbeta");
+        updater.listen(new FieldChangedEvent(changed, "field", "testbeta", "testalpha"));
+        updater.addEntries(Collections.singletonList(changed));
+
+        assertEquals(Collections.singletonList("testbeta"), autoCompleter.complete("test"));
+    }
+
+    @Test
+    public void entryRemovedDuringFillIsRemoved() {
+        BibEntry removed = createEntry("testalpha");
+
+        updater.listen(new EntryRemovedEvent(removed));
+        updater.addEntries(Collections.singletonList(removed));
+
+        assertEquals(Collections.emptyList(), autoCompleter.complete("test"));
+    }
+
+    @Test
+    public void changesAfterFillAreAppliedRightAway() {
+        updater.addEntries(Collections.emptyList());
+
+        updater.listen(new EntryAddedEvent(createEntry("testalpha")));
+
+        assertEquals(Collections.singletonList("testalpha"), autoCompleter.complete("test"));
+    }
+}
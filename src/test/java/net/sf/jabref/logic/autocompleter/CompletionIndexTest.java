@@ -0,0 +1,93 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompletionIndexTest {
+
+    private CompletionIndex index;
+
+
+    @Before
+    public void setUp() {
+        index = new CompletionIndex();
+    }
+
+    @Test
+    public void completeReturnsMostFrequentItemsFirst() {
+        index.add("testa");
+        index.add("testb");
+        index.add("testb");
+        index.add("testc");
+
+        assertEquals(Arrays.asList("testb", "testa", "testc"), index.complete("test", false, 10));
+    }
+
+    @Test
+    public void completeRespectsLimit() {
+        index.add("testa");
+        index.add("testb");
+        index.add("testc");
+
+        assertEquals(Arrays.asList("testa", "testb"), index.complete("test", false, 2));
+    }
+
+    @Test
+    public void completeIgnoresCaseIfNotCaseSensitive() {
+        index.add("Testa");
+        index.add("testb");
+
+        assertEquals(Arrays.asList("Testa", "testb"), index.complete("TEST", false, 10));
+    }
+
+    @Test
+    public void completeFiltersCaseIfCaseSensitive() {
+        index.add("Testa");
+        index.add("testb");
+
+        assertEquals(Collections.singletonList("Testa"), index.complete("Test", true, 10));
+    }
+
+    @Test
+    public void completeWithPrefixInsideNodeLabel() {
+        index.add("testing");
+        index.add("tester");
+
+        assertEquals(Arrays.asList("tester", "testing"), index.complete("tes", false, 10));
+        assertEquals(Collections.singletonList("tester"), index.complete("teste", false, 10));
+        assertEquals(Collections.singletonList("testing"), index.complete("testi", false, 10));
+    }
+
+    @Test
+    public void removeDecreasesWeight() {
+        index.add("test");
+        index.add("test");
+        index.remove("test");
+
+        assertEquals(1, index.getWeight("test"));
+    }
+
+    @Test
+    public void removeLastOccurrenceRemovesItem() {
+        index.add("testa");
+        index.add("testb");
+        index.remove("testa");
+
+        assertEquals(0, index.getWeight("testa"));
+        assertEquals(Collections.singletonList("testb"), index.complete("test", false, 10));
+    }
+
+    @Test
+    public void removeUnknownItemDoesNothing() {
+        index.add("testa");
+        index.remove("tes");
+        index.remove("other");
+
+        assertEquals(Collections.singletonList("testa"), index.complete("t", false, 10));
+    }
+}
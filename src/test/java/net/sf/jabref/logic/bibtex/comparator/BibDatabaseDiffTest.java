@@ -0,0 +1,111 @@
+package net.sf.jabref.logic.bibtex.comparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BibDatabaseDiffTest {
+
+    private List<BibEntry> originalEntries;
+
+
+    @Before
+    public void setUp() {
+        originalEntries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            originalEntries.add(createEntry(i));
+        }
+    }
+
+    private static BibEntry createEntry(int number) {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key" + number);
+        entry.setField("author", "Author " + number);
+        entry.setField("title", "Title " + number);
+        entry.setField("year", String.valueOf(1900 + number));
+        return entry;
+    }
+
+    private static List<BibEntry> copy(List<BibEntry> entries) {
+        List<BibEntry> copies = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            copies.add((BibEntry) entry.clone());
+        }
+        return copies;
+    }
+
+    @Test
+    public void unchangedEntriesAreMatched() {
+        List<BibEntry> newEntries = copy(originalEntries);
+        Collections.reverse(newEntries);
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(originalEntries, newEntries);
+
+        assertTrue(diff.getModifiedEntries().isEmpty());
+        assertTrue(diff.getRemovedEntries().isEmpty());
+        assertTrue(diff.getAddedEntries().isEmpty());
+    }
+
+    @Test
+    public void modifiedEntryIsMatchedWithOriginalEntry() {
+        List<BibEntry> newEntries = copy(originalEntries);
+        newEntries.get(42).setField("title", "Changed title");
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(originalEntries, newEntries);
+
+        assertEquals(1, diff.getModifiedEntries().size());
+        assertSame(originalEntries.get(42), diff.getModifiedEntries().get(0).getOriginalEntry());
+        assertSame(newEntries.get(42), diff.getModifiedEntries().get(0).getNewEntry());
+        assertTrue(diff.getRemovedEntries().isEmpty());
+        assertTrue(diff.getAddedEntries().isEmpty());
+    }
+
+    @Test
+    public void entryWithChangedKeyIsMatchedBySimilarity() {
+        List<BibEntry> newEntries = copy(originalEntries);
+        newEntries.get(7).setCiteKey("changedKey");
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(originalEntries, newEntries);
+
+        assertEquals(1, diff.getModifiedEntries().size());
+        assertSame(originalEntries.get(7), diff.getModifiedEntries().get(0).getOriginalEntry());
+        assertSame(newEntries.get(7), diff.getModifiedEntries().get(0).getNewEntry());
+    }
+
+    @Test
+    public void removedAndAddedEntriesAreFound() {
+        List<BibEntry> newEntries = copy(originalEntries);
+        newEntries.remove(3);
+        BibEntry addedEntry = new BibEntry();
+        addedEntry.setCiteKey("new");
+        addedEntry.setField("journal", "Journal");
+        newEntries.add(addedEntry);
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(originalEntries, newEntries);
+
+        assertTrue(diff.getModifiedEntries().isEmpty());
+        assertEquals(Collections.singletonList(originalEntries.get(3)), diff.getRemovedEntries());
+        assertEquals(Collections.singletonList(addedEntry), diff.getAddedEntries());
+    }
+
+    @Test
+    public void identicalEntriesAreMatchedOnlyOnce() {
+        BibEntry entry = createEntry(1);
+        List<BibEntry> newEntries = Arrays.asList(createEntry(1), createEntry(1));
+
+        BibDatabaseDiff diff = BibDatabaseDiff.compare(Collections.singletonList(entry), newEntries);
+
+        assertEquals(1, diff.getAddedEntries().size());
+        assertSame(newEntries.get(1), diff.getAddedEntries().get(0));
+    }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,22 @@ public class TestVM {
         Assert.assertEquals(expected.replaceAll("\\s", ""), vm.run(v).replaceAll("\\s", ""));
     }
 
+    @Test
+    public void testAbbrvRunTwiceWithSameVM() throws RecognitionException, IOException {
+        VM vm = new VM(new File("src/test/resources/net/sf/jabref/logic/bst/abbrv.bst"));
+        List<BibEntry> v = new ArrayList<>();
+        v.add(t1BibtexEntry());
+
+        String first = vm.run(v);
+        v.add(TestVM.bibtexString2BibtexEntry("@article{sartre, author = \"Jean-Paul Sartre\" }"));
+        String second = vm.run(v);
+
+        Assert.assertTrue(second.contains("J.-P. Sartre"));
+        Assert.assertTrue(second.contains("\\bibitem{canh05}"));
+        Assert.assertEquals(first.replaceAll("\\s", ""),
+                vm.run(Collections.singletonList(t1BibtexEntry())).replaceAll("\\s", ""));
+    }
+
     @Test
     public void testVMSimple() throws RecognitionException, IOException {
 
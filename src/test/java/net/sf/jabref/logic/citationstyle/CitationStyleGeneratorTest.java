@@ -1,5 +1,9 @@
 package net.sf.jabref.logic.citationstyle;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
@@ -7,6 +11,7 @@ import net.sf.jabref.model.entry.FieldName;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CitationStyleGeneratorTest {
 
@@ -43,4 +48,57 @@ public class CitationStyleGeneratorTest {
         assertEquals(expected, citation);
     }
 
+    @Test
+    public void testGenerateCitationsNumbersEntriesOfOneBibliography() {
+        BibEntry first = new BibEntry();
+        first.setCiteKey("key");
+        first.setField(FieldName.AUTHOR, "Last, First");
+        BibEntry second = new BibEntry();
+        second.setCiteKey("key");
+        second.setField(FieldName.AUTHOR, "Doe, Jane");
+
+        List<String> citations = CitationStyleGenerator.generateCitations(Arrays.asList(first, second),
+                CitationStyle.getDefault().getSource(), CitationStyleOutputFormat.HTML);
+
+        assertEquals(2, citations.size());
+        assertTrue(citations.get(0).contains("[1]") && citations.get(0).contains("F. Last"));
+        assertTrue(citations.get(1).contains("[2]") && citations.get(1).contains("J. Doe"));
+    }
+
+    @Test
+    public void testGenerateCitationsKeepsOrderOfEntriesForSortingStyle() {
+        BibEntry first = new BibEntry();
+        first.setCiteKey("first");
+        first.setField(FieldName.AUTHOR, "Zweig, Stefan");
+        BibEntry second = new BibEntry();
+        second.setCiteKey("second");
+        second.setField(FieldName.AUTHOR, "Austen, Jane");
+
+        // APA sorts the bibliography by author
+        List<String> citations = CitationStyleGenerator.generateCitations(Arrays.asList(first, second), "apa",
+                CitationStyleOutputFormat.TEXT);
+
+        assertEquals(2, citations.size());
+        assertTrue(citations.get(0).contains("Zweig"));
+        assertTrue(citations.get(1).contains("Austen"));
+    }
+
+    @Test
+    public void testGenerateCitationsOfNoEntries() {
+        assertEquals(Collections.emptyList(), CitationStyleGenerator.generateCitations(Collections.emptyList(),
+                CitationStyle.getDefault().getSource(), CitationStyleOutputFormat.HTML));
+    }
+
+    @Test
+    public void testEngineIsReusedForChangedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key");
+        entry.setField(FieldName.AUTHOR, "Last, First");
+        CitationStyleGenerator.generateCitation(entry, CitationStyle.getDefault());
+
+        entry.setField(FieldName.AUTHOR, "Doe, Jane");
+        String citation = CitationStyleGenerator.generateCitation(entry, CitationStyle.getDefault());
+
+        assertTrue(citation.contains("J. Doe"));
+    }
 }
@@ -0,0 +1,103 @@
+package net.sf.jabref.logic.duplicates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateFinderTest {
+
+    private DuplicateFinder finder;
+
+
+    @Before
+    public void setUp() {
+        finder = new DuplicateFinder(BibDatabaseMode.BIBTEX);
+    }
+
+    @Test
+    public void findsDuplicates() {
+        BibEntry one = createArticle("Smith, John", "Marine larviculture in the Atlantic", "2001");
+        BibEntry two = createArticle("Smith, J.", "Marine Larviculture in the {Atlantic}", "2001");
+        BibEntry other = createArticle("Doe, Jane", "Something completely different", "2001");
+
+        assertEquals(Collections.singleton(Arrays.asList(one, two)), findDuplicates(Arrays.asList(one, other, two)));
+    }
+
+    @Test
+    public void findsDuplicatesWithSameDoiAndDifferentTitle() {
+        BibEntry one = createArticle("Smith, John", "A title", "2001");
+        one.setField("doi", "10.1000/182");
+        BibEntry two = createArticle("Smith, John", "Another title", "2001");
+        two.setField("doi", "https://doi.org/10.1000/182");
+
+        assertTrue(DuplicateFinder.getBlockingKeys(one).contains("article|doi|10.1000/182"));
+        assertEquals(findDuplicatesPairwise(Arrays.asList(one, two)), findDuplicates(Arrays.asList(one, two)));
+    }
+
+    @Test
+    public void comparesEntriesWithoutKeyWithAllEntriesOfSameType() {
+        BibEntry one = new BibEntry();
+        one.setType("article");
+        one.setField("journal", "Nature");
+        BibEntry two = new BibEntry();
+        two.setType("article");
+        two.setField("journal", "Nature");
+        BibEntry three = createArticle("Smith, John", "A title", "2001");
+        three.setField("journal", "Nature");
+
+        List<BibEntry> entries = Arrays.asList(one, two, three);
+        assertEquals(findDuplicatesPairwise(entries), findDuplicates(entries));
+    }
+
+    @Test
+    public void findsSameDuplicatesAsPairwiseComparison() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(createArticle("Author" + (i % 7) + ", First", "Title number " + (i % 20) + " of the test",
+                    String.valueOf(2000 + (i % 3))));
+        }
+
+        Set<List<BibEntry>> duplicates = findDuplicates(entries);
+        assertEquals(findDuplicatesPairwise(entries), duplicates);
+    }
+
+    private Set<List<BibEntry>> findDuplicates(List<BibEntry> entries) {
+        Set<List<BibEntry>> duplicates = Collections.synchronizedSet(new HashSet<>());
+        finder.findDuplicates(entries, (first, second) -> duplicates.add(Arrays.asList(first, second)), () -> false);
+        return duplicates;
+    }
+
+    private static Set<List<BibEntry>> findDuplicatesPairwise(List<BibEntry> entries) {
+        Set<List<BibEntry>> duplicates = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                if (DuplicateCheck.isDuplicate(entries.get(i), entries.get(j), BibDatabaseMode.BIBTEX)) {
+                    duplicates.add(Arrays.asList(entries.get(i), entries.get(j)));
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    private static BibEntry createArticle(String author, String title, String year) {
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("author", author);
+        entry.setField("title", title);
+        entry.setField("year", year);
+        return entry;
+    }
+}
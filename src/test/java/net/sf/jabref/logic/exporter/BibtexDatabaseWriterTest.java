@@ -575,4 +575,22 @@ public class BibtexDatabaseWriterTest {
                 , session.getStringValue());
     }
 
+    @Test
+    public void writeManyEntriesInSortedOrder() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType(BibtexEntryTypes.ARTICLE);
+            entry.setField("author", "Author " + i);
+            database.insertEntry(entry);
+            expected.append(OS.NEWLINE).append("@Article{,").append(OS.NEWLINE).append("  author = {Author ")
+                    .append(i).append("},").append(OS.NEWLINE).append("}").append(OS.NEWLINE);
+        }
+        expected.append(OS.NEWLINE).append("@Comment{jabref-meta: databaseType:bibtex;}").append(OS.NEWLINE);
+
+        StringSaveSession session = databaseWriter.savePartOfDatabase(bibtexContext, database.getEntries(),
+                new SavePreferences().withSaveInOriginalOrder(true));
+
+        assertEquals(expected.toString(), session.getStringValue());
+    }
 }
@@ -0,0 +1,119 @@
+package net.sf.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FileSaveSessionTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path file;
+    private String content;
+
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.getRoot().toPath().resolve("test.bib");
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append("@Article{key").append(i).append(",\n  title = {Title ").append(i).append("},\n}\n\n");
+        }
+        content = builder.toString();
+        save(content, file);
+    }
+
+    @Test
+    public void commitReplacesFile() throws Exception {
+        String changed = content.replace("{Title 5000}", "{Changed 5000}");
+        save(changed, file);
+
+        assertEquals(changed, read());
+    }
+
+    @Test
+    public void commitKeepsOldContentAsBackup() throws Exception {
+        String changed = content.replace("{Title 5000}", "{Changed 5000}");
+        FileSaveSession session = new FileSaveSession(StandardCharsets.UTF_8, true,
+                temporaryFolder.newFile().toPath());
+        session.getWriter().write(changed);
+        session.getWriter().close();
+        session.commit(file);
+
+        assertEquals(changed, read());
+        assertEquals(content, new String(Files.readAllBytes(file.resolveSibling("test.bib.bak")),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void commitKeepsSymbolicLink() throws Exception {
+        Path link = temporaryFolder.getRoot().toPath().resolve("link.bib");
+        try {
+            Files.createSymbolicLink(link, file);
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+        String changed = content.replace("{Title 5000}", "{Changed 5000}");
+        save(changed, link);
+
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals(changed, read());
+    }
+
+    @Test
+    public void commitKeepsHardLink() throws Exception {
+        Path link = temporaryFolder.getRoot().toPath().resolve("link.bib");
+        try {
+            Files.createLink(link, file);
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+        String changed = content.replace("{Title 5000}", "{Changed 5000}");
+        save(changed, file);
+
+        assertEquals(changed, new String(Files.readAllBytes(link), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void commitKeepsOldContentAsBackupOfHardLinkedFile() throws Exception {
+        Path link = temporaryFolder.getRoot().toPath().resolve("link.bib");
+        try {
+            Files.createLink(link, file);
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+        String changed = content.replace("{Title 5000}", "{Changed 5000}");
+        FileSaveSession session = new FileSaveSession(StandardCharsets.UTF_8, true,
+                temporaryFolder.newFile().toPath());
+        session.getWriter().write(changed);
+        session.getWriter().close();
+        session.commit(file);
+
+        assertEquals(changed, read());
+        assertEquals(content, new String(Files.readAllBytes(file.resolveSibling("test.bib.bak")),
+                StandardCharsets.UTF_8));
+    }
+
+    private void save(String newContent, Path target) throws Exception {
+        FileSaveSession session = new FileSaveSession(StandardCharsets.UTF_8, false,
+                temporaryFolder.newFile().toPath());
+        session.getWriter().write(newContent);
+        session.getWriter().close();
+        session.commit(target);
+    }
+
+    private String read() throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
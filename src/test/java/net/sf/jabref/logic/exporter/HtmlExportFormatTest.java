@@ -3,6 +3,7 @@ package net.sf.jabref.logic.exporter;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class HtmlExportFormatTest {
     private IExportFormat exportFormat;
@@ -65,4 +67,39 @@ public class HtmlExportFormatTest {
         List<String> lines = Files.readAllLines(tmpFile.toPath());
         assertEquals("</html>", lines.get(lines.size() - 1));
     }
+
+    @Test
+    public void exportAgainWithCachedLayouts() throws Exception {
+        File firstFile = testFolder.newFile();
+        File secondFile = testFolder.newFile();
+        exportFormat.performExport(databaseContext, firstFile.getCanonicalPath(), charset, entries);
+        exportFormat.performExport(databaseContext, secondFile.getCanonicalPath(), charset, entries);
+        List<String> firstLines = Files.readAllLines(firstFile.toPath());
+        List<String> secondLines = Files.readAllLines(secondFile.toPath());
+        // the footer contains the time of the export
+        assertEquals(firstLines.size(), secondLines.size());
+        assertEquals(firstLines.get(firstLines.size() - 1), secondLines.get(secondLines.size() - 1));
+        assertEquals(firstLines.subList(0, 20), secondLines.subList(0, 20));
+    }
+
+    @Test
+    public void exportManyEntriesKeepsTheirOrder() throws Exception {
+        List<BibEntry> manyEntries = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("title", "my paper title " + i);
+            entry.setCiteKey(String.format("key%04d", i));
+            manyEntries.add(entry);
+        }
+        File tmpFile = testFolder.newFile();
+        exportFormat.performExport(databaseContext, tmpFile.getCanonicalPath(), charset, manyEntries);
+
+        String content = new String(Files.readAllBytes(tmpFile.toPath()), charset);
+        int previousIndex = -1;
+        for (int i = 0; i < 2500; i++) {
+            int index = content.indexOf(String.format("<a name=\"key%04d\">", i));
+            assertTrue(index > previousIndex);
+            previousIndex = index;
+        }
+    }
 }
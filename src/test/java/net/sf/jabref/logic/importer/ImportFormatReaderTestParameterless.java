@@ -1,17 +1,25 @@
 package net.sf.jabref.logic.importer;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 public class ImportFormatReaderTestParameterless {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ImportFormatReader reader;
 
     @Before
@@ -39,4 +47,41 @@ public class ImportFormatReaderTestParameterless {
         reader.importFromFile("someunknownformat", Paths.get("somepath"));
         fail();
     }
+
+    @Test
+    public void importUnknownFormatReadsWholeFileLargerThanDetectionPrefix() throws Exception {
+        StringBuilder ris = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            ris.append("TY  - JOUR\nAU  - Lastname, Firstname\nTI  - This is my title ").append(i)
+                    .append("\nPY  - 2001\nER  - \n");
+        }
+        Path file = temporaryFolder.newFile("large.ris").toPath();
+        Files.write(file, ris.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+
+        assertEquals("RIS", unknownFormat.format);
+        assertEquals(20000, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
+
+    @Test
+    public void importUnknownFormatRecognizesXmlLargerThanDetectionPrefix() throws Exception {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+                + "<b:Sources xmlns:b=\"http://schemas.openxmlformats.org/officeDocument/2006/bibliography\" "
+                + "xmlns=\"http://schemas.openxmlformats.org/officeDocument/2006/bibliography\" SelectedStyle=\"\">\n");
+        for (int i = 0; i < 8000; i++) {
+            xml.append("<b:Source>\n<b:SourceType>JournalArticle</b:SourceType>\n<b:Tag>key").append(i)
+                    .append("</b:Tag>\n<b:Title>This is my title ").append(i)
+                    .append("</b:Title>\n<b:Year>2001</b:Year>\n<b:JournalName>Journal Title</b:JournalName>\n")
+                    .append("</b:Source>\n");
+        }
+        xml.append("</b:Sources>\n");
+        Path file = temporaryFolder.newFile("large.xml").toPath();
+        Files.write(file, xml.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+
+        assertEquals("MSBib", unknownFormat.format);
+        assertEquals(8000, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
 }
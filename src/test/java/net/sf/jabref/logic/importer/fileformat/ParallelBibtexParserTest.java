@@ -0,0 +1,143 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelBibtexParserTest {
+
+    private ImportFormatPreferences importFormatPreferences;
+    private ForkJoinPool pool;
+
+
+    @Before
+    public void setUp() {
+        importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
+        pool = new ForkJoinPool(4);
+    }
+
+    @Test
+    public void findChunkBoundariesSplitsAfterEntries() {
+        String content = "@article{a,title={A}}\n@article{b,title={B}}\n@article{c,title={C}}";
+
+        assertEquals(Arrays.asList(0, 22, 44, content.length()),
+                ParallelBibtexParser.findChunkBoundaries(content, 1));
+    }
+
+    @Test
+    public void findChunkBoundariesDoesNotSplitAfterStringsPreamblesAndComments() {
+        String content = "@string{a={A}}\n@preamble{{B}}\n@comment{C}\n@article{d,title={D}}\n";
+
+        assertEquals(Arrays.asList(0, content.length()), ParallelBibtexParser.findChunkBoundaries(content, 1));
+    }
+
+    @Test
+    public void findChunkBoundariesIgnoresAtSignInsideEntry() {
+        String content = "@misc{a,note={mail@example.org \\} @article{b,}}}\n@misc{c,}";
+
+        assertEquals(Arrays.asList(0, 49, content.length()), ParallelBibtexParser.findChunkBoundaries(content, 1));
+    }
+
+    @Test
+    public void findChunkBoundariesRespectsMinimumChunkLength() {
+        String content = "@article{a,title={A}}\n@article{b,title={B}}\n@article{c,title={C}}";
+
+        assertEquals(Arrays.asList(0, 44, content.length()), ParallelBibtexParser.findChunkBoundaries(content, 30));
+    }
+
+    @Test
+    public void findChunkBoundaryNeedsContentAfterEntry() {
+        String content = "@article{a,}\n@article{b,}";
+
+        assertEquals(13, ParallelBibtexParser.findChunkBoundary(content, 0, 1));
+        assertEquals(-1, ParallelBibtexParser.findChunkBoundary(content, 13, 1));
+    }
+
+    @Test
+    public void findChunkBoundaryNeedsEndOfUnfinishedEntry() {
+        assertEquals(-1, ParallelBibtexParser.findChunkBoundary("@article{a, title = {x", 0, 1));
+    }
+
+    @Test
+    public void parseLargeFileReturnsSameResultAsSequentialParser() throws IOException {
+        String content = createLargeBibtexFile();
+
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(new StringReader(content));
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences, pool).parse(new StringReader(content));
+
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        assertEquals(getParsedSerializations(expected.getDatabase().getEntries()),
+                getParsedSerializations(result.getDatabase().getEntries()));
+        assertEquals(expected.getDatabase().getPreamble(), result.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getStringCount(), result.getDatabase().getStringCount());
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+        assertEquals(expected.getDuplicateKeys(), result.getDuplicateKeys());
+        assertEquals(expected.getMetaData().getGroups(), result.getMetaData().getGroups());
+        assertEquals(expected.getEntryTypes().keySet(), result.getEntryTypes().keySet());
+    }
+
+    @Test
+    public void parseCharBufferReturnsSameResultAsSequentialParser() throws IOException {
+        String content = createLargeBibtexFile();
+
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(new StringReader(content));
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences, pool).parse(CharBuffer.wrap(content));
+
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        assertEquals(getParsedSerializations(expected.getDatabase().getEntries()),
+                getParsedSerializations(result.getDatabase().getEntries()));
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+    }
+
+    @Test
+    public void parseLargeFileWithMalformedEntryReturnsSameResultAsSequentialParser() throws IOException {
+        String content = createLargeBibtexFile() + "@article{broken, title = {x} author = {y}}\n@article{afterBroken,}\n";
+
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(new StringReader(content));
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences, pool).parse(new StringReader(content));
+
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        assertEquals(expected.warnings(), result.warnings());
+    }
+
+    private static List<String> getParsedSerializations(List<BibEntry> entries) {
+        return entries.stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList());
+    }
+
+    private static String createLargeBibtexFile() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("% Encoding: UTF-8\n\n");
+        builder.append("@Preamble{{\\newcommand{\\noop}[1]{}}}\n\n");
+        for (int i = 0; i < 5000; i++) {
+            if ((i % 1000) == 0) {
+                builder.append("@String{journal").append(i).append(" = {Journal ").append(i).append("}}\n\n");
+            }
+            builder.append("% comment before entry ").append(i).append("\n");
+            builder.append("@Article{key").append(i % 4000).append(",\n");
+            builder.append("  author  = {Firstname Lastname and Other {\\}} Author ").append(i).append("},\n");
+            builder.append("  title   = \"Title {with} braces ").append(i).append("\",\n");
+            builder.append("  journal = journal").append((i / 1000) * 1000).append(",\n");
+            builder.append("  year    = ").append(1900 + (i % 100)).append(",\n");
+            builder.append("}\n\n");
+        }
+        builder.append("@Comment{jabref-meta: databaseType:bibtex;}\n\n");
+        builder.append("@Comment{jabref-meta: groupstree:\n0 AllEntriesGroup:;\n1 KeywordGroup:Test\\;0\\;keywords\\;test\\;0\\;0\\;;\n}\n\n");
+        builder.append("@Comment{jabref-entrytype: Lecturenotes: req[author;title] opt[language;url]}\n\n");
+        builder.append("Some text after the last entry");
+        return builder.toString();
+    }
+}
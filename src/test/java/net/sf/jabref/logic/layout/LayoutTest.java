@@ -3,6 +3,7 @@ package net.sf.jabref.logic.layout;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -132,4 +133,32 @@ JabRefPreferences.getInstance().getImportFormatPreferences());
                 "1. Test file (" + new File("src/test/resources/pdfs/encrypted.pdf").getCanonicalPath() + ")",
                 layoutText);
     }
+
+    @Test
+    public void testFieldBlockWithAlternativeFields() throws IOException {
+        Assert.assertEquals("2005", layout("\\begin{date||year}\\year\\end{date||year}",
+                "@article{bla, year={2005}}"));
+        Assert.assertEquals("", layout("\\begin{author&&year}\\year\\end{author&&year}",
+                "@article{bla, year={2005}}"));
+    }
+
+    @Test
+    public void testDoLayoutToWriter() throws IOException {
+        BibEntry entry = LayoutTest.bibtexString2BibtexEntry(t1BibtexString());
+        Layout layout = new LayoutHelper(new StringReader("\\bibtextype: \\begin{title}\\title\\end{title}"), prefs)
+                .getLayoutFromText();
+        StringWriter writer = new StringWriter();
+
+        layout.doLayout(entry, null, 1, writer);
+
+        Assert.assertEquals(layout.doLayout(entry, null), writer.toString());
+    }
+
+    @Test
+    public void testEntryNumberIsPassedExplicitly() throws IOException {
+        BibEntry entry = LayoutTest.bibtexString2BibtexEntry(t1BibtexString());
+        Layout layout = new LayoutHelper(new StringReader("\\format[Number]{\\title}"), prefs).getLayoutFromText();
+
+        Assert.assertEquals("42", layout.doLayout(entry, null, 42));
+    }
 }
@@ -1,9 +1,14 @@
 package net.sf.jabref.logic.search;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexEntryTypes;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.model.search.SearchIndex;
 
 import org.junit.Test;
 
@@ -186,4 +191,23 @@ public class SearchQueryTest {
 
     }
 
+    @Test
+    public void getMatchesUsingIndexReturnsSameEntriesAsScanning() {
+        BibDatabase database = new BibDatabase();
+        BibEntry first = new BibEntry();
+        first.setField("author", "asdf");
+        first.setField("title", "text");
+        BibEntry second = new BibEntry();
+        second.setField("author", "other");
+        second.setField("title", "Text");
+        database.insertEntry(first);
+        database.insertEntry(second);
+        SearchIndex index = new SearchIndex(database);
+
+        assertEquals(Collections.singletonList(first), new SearchQuery("text and author=asdf", false, false).getMatches(index));
+        assertEquals(Arrays.asList(first, second), new SearchQuery("author=asdf or title=text", false, false).getMatches(index));
+        assertEquals(Collections.singletonList(second), new SearchQuery("text and not author=asdf", false, false).getMatches(index));
+        assertEquals(Collections.singletonList(first), new SearchQuery("text", true, false).getMatches(index));
+    }
+
 }
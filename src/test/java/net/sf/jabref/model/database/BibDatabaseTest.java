@@ -1,11 +1,13 @@
 package net.sf.jabref.model.database;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
 import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.event.TestEventListener;
 
 import org.junit.Before;
@@ -70,6 +72,40 @@ public class BibDatabaseTest {
         assertFalse(database.containsEntryWithId(entry.getId()));
     }
 
+    @Test
+    public void insertEntriesAddsEntriesInOrder() {
+        BibEntry first = new BibEntry();
+        database.insertEntry(first);
+        BibEntry second = new BibEntry();
+        BibEntry third = new BibEntry();
+
+        database.insertEntries(Arrays.asList(second, third), EntryEventSource.LOCAL);
+        assertEquals(Arrays.asList(first, second, third), database.getEntries());
+        assertTrue(database.containsEntryWithId(third.getId()));
+    }
+
+    @Test(expected = KeyCollisionException.class)
+    public void insertEntriesWithSameIdThrowsException() {
+        BibEntry entry0 = new BibEntry();
+        database.insertEntries(Arrays.asList(entry0, new BibEntry(entry0.getId())), EntryEventSource.LOCAL);
+        fail();
+    }
+
+    @Test
+    public void removeEntriesRemovesOnlyGivenEntries() {
+        BibEntry first = new BibEntry();
+        database.insertEntry(first);
+        BibEntry second = new BibEntry();
+        database.insertEntry(second);
+        BibEntry third = new BibEntry();
+        database.insertEntry(third);
+
+        database.removeEntries(Arrays.asList(first, third), EntryEventSource.LOCAL);
+        assertEquals(Collections.singletonList(second), database.getEntries());
+        assertFalse(database.containsEntryWithId(first.getId()));
+        assertFalse(database.containsEntryWithId(third.getId()));
+    }
+
     @Test(expected = NullPointerException.class)
     public void insertNullEntryThrowsException() {
         database.insertEntry(null);
@@ -260,4 +296,53 @@ public class BibDatabaseTest {
         assertEquals(Optional.of("Oh yeah!"), database.getPreamble());
     }
 
+    @Test
+    public void getEntryByKeyFindsEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        assertEquals(Optional.of(entry), database.getEntryByKey("AAA"));
+        assertEquals(Optional.empty(), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntryByKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntryByKeyDoesNotFindRemovedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+    }
+
+    @Test
+    public void getEntryByKeyIgnoresKeyChangeOfRemovedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntriesByKeyKeepsDatabaseOrder() {
+        BibEntry first = new BibEntry();
+        first.setField("title", "first");
+        database.insertEntry(first);
+        BibEntry second = new BibEntry();
+        second.setCiteKey("AAA");
+        database.insertEntry(second);
+        first.setCiteKey("AAA");
+        assertEquals(Arrays.asList(first, second), database.getEntriesByKey("AAA"));
+    }
 }
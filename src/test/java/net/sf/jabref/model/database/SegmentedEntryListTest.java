@@ -0,0 +1,95 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SegmentedEntryListTest {
+
+    private List<BibEntry> expected;
+    private SegmentedEntryList list;
+
+
+    @Before
+    public void setUp() {
+        expected = new ArrayList<>();
+        list = SegmentedEntryList.EMPTY;
+        for (int i = 0; i < 2000; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("number", String.valueOf(i));
+            expected.add(entry);
+            list = list.withAdded(entry);
+        }
+    }
+
+    @Test
+    public void withAddedKeepsOrder() {
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+        assertEquals(expected, new ArrayList<>(list));
+    }
+
+    @Test
+    public void withAddedDoesNotChangeSnapshot() {
+        SegmentedEntryList snapshot = list;
+        list.withAdded(new BibEntry());
+
+        assertEquals(expected.size(), snapshot.size());
+    }
+
+    @Test
+    public void withAddedListKeepsOrder() {
+        SegmentedEntryList bulkList = SegmentedEntryList.EMPTY.withAdded(expected.subList(0, 100));
+        bulkList = bulkList.withAdded(expected.subList(100, 2000));
+
+        assertEquals(expected.size(), bulkList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), bulkList.get(i));
+        }
+        assertEquals(expected, new ArrayList<>(bulkList));
+    }
+
+    @Test
+    public void withRemovedRemovesMatchingEntries() {
+        SegmentedEntryList snapshot = list;
+        list = list.withRemoved(SegmentedEntryListTest::isDivisibleByThree);
+        expected.removeIf(SegmentedEntryListTest::isDivisibleByThree);
+
+        assertEquals(expected, new ArrayList<>(list));
+        assertEquals(2000, snapshot.size());
+    }
+
+    @Test
+    public void withRemovedRemovesCompleteSegment() {
+        list = list.withRemoved(entry -> Integer.parseInt(entry.getField("number").get()) < 600);
+        expected.subList(0, 600).clear();
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void withRemovedReturnsSameListIfNothingMatches() {
+        assertSame(list, list.withRemoved(entry -> false));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listIsUnmodifiable() {
+        list.add(new BibEntry());
+    }
+
+    private static boolean isDivisibleByThree(BibEntry entry) {
+        return (Integer.parseInt(entry.getField("number").get()) % 3) == 0;
+    }
+}
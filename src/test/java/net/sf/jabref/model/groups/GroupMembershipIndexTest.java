@@ -0,0 +1,128 @@
+package net.sf.jabref.model.groups;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibEntry firstEntry;
+    private BibEntry secondEntry;
+    private GroupTreeNode root;
+    private GroupTreeNode parent;
+    private GroupTreeNode child;
+    private GroupMembershipIndex index;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        firstEntry = new BibEntry().withField("keywords", "A, B");
+        secondEntry = new BibEntry().withField("keywords", "B");
+        database.insertEntry(firstEntry);
+        database.insertEntry(secondEntry);
+
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        parent = root.addSubgroup(new WordKeywordGroup("B", GroupHierarchyType.INCLUDING, "keywords", "B", true,
+                ',', false));
+        child = parent.addSubgroup(new WordKeywordGroup("A", GroupHierarchyType.REFINING, "keywords", "A", true,
+                ',', false));
+        index = new GroupMembershipIndex(database);
+    }
+
+    @Test
+    public void numberOfMatchesEqualsSearchMatcherResult() {
+        assertEquals(root.numberOfMatches(database.getEntries()), root.numberOfMatches(index));
+        assertEquals(parent.numberOfMatches(database.getEntries()), parent.numberOfMatches(index));
+        assertEquals(child.numberOfMatches(database.getEntries()), child.numberOfMatches(index));
+        assertEquals(1, child.numberOfMatches(index));
+    }
+
+    @Test
+    public void changedFieldUpdatesMatches() {
+        assertEquals(1, child.numberOfMatches(index));
+
+        secondEntry.setField("keywords", "A, B");
+
+        assertEquals(2, child.numberOfMatches(index));
+    }
+
+    @Test
+    public void addedAndRemovedEntriesUpdateMatches() {
+        assertEquals(2, parent.numberOfMatches(index));
+
+        database.removeEntry(firstEntry);
+        assertEquals(1, parent.numberOfMatches(index));
+
+        database.insertEntry(new BibEntry().withField("keywords", "B"));
+        database.insertEntry(new BibEntry().withField("keywords", "C"));
+        assertEquals(2, parent.numberOfMatches(index));
+        assertEquals(3, root.numberOfMatches(index));
+    }
+
+    @Test
+    public void getMatcherAcceptsOnlyMatchingEntries() {
+        assertTrue(index.getMatcher(index.getMatches(child)).isMatch(firstEntry));
+        assertFalse(index.getMatcher(index.getMatches(child)).isMatch(secondEntry));
+    }
+
+    @Test
+    public void getContainingGroupsEqualsResultWithoutIndex() {
+        assertEquals(root.getContainingGroups(Arrays.asList(firstEntry, secondEntry), true),
+                root.getContainingGroups(index, Arrays.asList(firstEntry, secondEntry), true));
+        assertEquals(root.getContainingGroups(Collections.singletonList(secondEntry), false),
+                root.getContainingGroups(index, Collections.singletonList(secondEntry), false));
+    }
+
+    @Test
+    public void getMatchingGroupsEqualsResultWithoutIndex() {
+        assertEquals(root.getMatchingGroups(Collections.singletonList(secondEntry)),
+                root.getMatchingGroups(index, Collections.singletonList(secondEntry)));
+    }
+
+    @Test
+    public void caseInsensitiveKeywordGroupIgnoresCase() {
+        secondEntry.setField("keywords", "a");
+        GroupTreeNode node = root.addSubgroup(new WordKeywordGroup("a", GroupHierarchyType.INDEPENDENT, "keywords",
+                "A", false, ',', true));
+
+        assertEquals(2, node.numberOfMatches(index));
+    }
+
+    @Test
+    public void caseSensitiveKeywordGroupRespectsCase() {
+        secondEntry.setField("keywords", "a");
+        GroupTreeNode node = root.addSubgroup(new WordKeywordGroup("a", GroupHierarchyType.INDEPENDENT, "keywords",
+                "A", true, ',', true));
+
+        assertEquals(1, node.numberOfMatches(index));
+        assertTrue(index.getMatcher(index.getMatches(node)).isMatch(firstEntry));
+    }
+
+    @Test
+    public void explicitGroupMatchesAssignedEntries() {
+        ExplicitGroup group = new ExplicitGroup("Explicit", GroupHierarchyType.INDEPENDENT, ',');
+        GroupTreeNode node = root.addSubgroup(group);
+        assertEquals(0, node.numberOfMatches(index));
+
+        group.add(Collections.singletonList(secondEntry));
+        assertEquals(1, node.numberOfMatches(index));
+
+        BibEntry newEntry = new BibEntry().withField("groups", "Other, Explicit");
+        database.insertEntry(newEntry);
+        assertEquals(2, node.numberOfMatches(index));
+
+        group.remove(Collections.singletonList(secondEntry));
+        assertEquals(1, node.numberOfMatches(index));
+    }
+}
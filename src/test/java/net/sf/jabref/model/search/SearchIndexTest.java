@@ -0,0 +1,92 @@
+package net.sf.jabref.model.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchIndexTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+    private SearchIndex index;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        first = new BibEntry();
+        first.setField("author", "Smith, John");
+        first.setField("title", "Marine larviculture");
+        second = new BibEntry();
+        second.setField("author", "Miller, Anna");
+        second.setField("title", "Marine {\\\"O}kologie");
+        database.insertEntry(first);
+        database.insertEntry(second);
+        index = new SearchIndex(database);
+    }
+
+    @Test
+    public void getCandidatesReturnsEntriesContainingAllWords() {
+        assertEquals(Collections.singletonList(first), index.getCandidates(Arrays.asList("smith", "MARINE")));
+    }
+
+    @Test
+    public void getCandidatesKeepsDatabaseOrder() {
+        assertEquals(Arrays.asList(first, second), index.getCandidates(Collections.singletonList("marine")));
+    }
+
+    @Test
+    public void getCandidatesUsesLatexFreeContent() {
+        assertEquals(Collections.singletonList(second), index.getCandidates(Collections.singletonList("Ökologie")));
+    }
+
+    @Test
+    public void getCandidatesReturnsAllEntriesForShortWords() {
+        assertEquals(Arrays.asList(first, second), index.getCandidates(Collections.singletonList("ma")));
+    }
+
+    @Test
+    public void getCandidatesReturnsNothingForUnknownWord() {
+        assertEquals(Collections.emptyList(), index.getCandidates(Collections.singletonList("unknown")));
+    }
+
+    @Test
+    public void getCandidatesFindsAddedEntry() {
+        BibEntry third = new BibEntry();
+        third.setField("title", "Unknown territory");
+        database.insertEntry(third);
+
+        assertEquals(Collections.singletonList(third), index.getCandidates(Collections.singletonList("unknown")));
+    }
+
+    @Test
+    public void getCandidatesIgnoresRemovedEntry() {
+        database.removeEntry(first);
+
+        assertEquals(Collections.singletonList(second), index.getCandidates(Collections.singletonList("marine")));
+    }
+
+    @Test
+    public void getCandidatesFindsChangedField() {
+        second.setField("title", "Unknown territory");
+
+        assertEquals(Collections.singletonList(second), index.getCandidates(Collections.singletonList("territory")));
+    }
+
+    @Test
+    public void entryAddedWhileIndexIsBuiltIsReturnedOnce() {
+        // the event of an entry which was already indexed
+        index.listen(new EntryAddedEvent(first));
+
+        assertEquals(Collections.singletonList(first), index.getCandidates(Collections.singletonList("smith")));
+    }
+}
@@ -0,0 +1,72 @@
+package net.sf.jabref.model.search.rules;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GrammarBasedSearchRuleTest {
+
+    private BibEntry entry;
+
+
+    @Before
+    public void setUp() {
+        entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("author", "Smith, John");
+        entry.setField("title", "Marine Larviculture");
+        entry.setField("year", "2016");
+    }
+
+    @Test
+    public void literalComparisonIgnoresCase() {
+        assertTrue(applyRule("title=larviculture", false, false));
+        assertFalse(applyRule("title=larviculture", true, false));
+    }
+
+    @Test
+    public void literalFieldNameIgnoresCase() {
+        assertTrue(applyRule("TITLE=marine", false, false));
+        assertFalse(applyRule("TITLE=Marine", true, false));
+    }
+
+    @Test
+    public void exactComparisonMatchesWholeValue() {
+        assertTrue(applyRule("year==2016", false, false));
+        assertFalse(applyRule("year==201", false, false));
+    }
+
+    @Test
+    public void doesNotContainMatchesMissingField() {
+        assertTrue(applyRule("journal!=nature", false, false));
+        assertFalse(applyRule("title!=marine", false, false));
+    }
+
+    @Test
+    public void regularExpressionsMatchFieldNamesAndValues() {
+        assertTrue(applyRule("title|journal=lar.*ure", false, true));
+        assertFalse(applyRule("author|journal=lar.*ure", false, true));
+    }
+
+    @Test
+    public void reorderedOperandsKeepResult() {
+        assertTrue(applyRule("year=2016 and (author=miller or title=marine) and not anyfield=nature", false, false));
+        assertFalse(applyRule("author=smith and year=2016 and title=\"marine biology\"", false, false));
+        assertTrue(applyRule("author=miller or entrytype=article or title=biology", false, false));
+    }
+
+    @Test
+    public void invalidRegularExpressionMatchesNothing() {
+        assertFalse(applyRule("title=[", false, true));
+    }
+
+    private boolean applyRule(String query, boolean caseSensitive, boolean regex) {
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(caseSensitive, regex);
+        assertTrue(rule.validateSearchStrings(query));
+        return rule.applyRule(query, entry);
+    }
+}
@@ -0,0 +1,84 @@
+package net.sf.jabref.model.strings;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatexToUnicodeCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void formatReturnsSameResultAsConverter() {
+        LatexToUnicodeCache cache = new LatexToUnicodeCache(10);
+        String value = "M{\\\"{o}}nch, Bj{\\o}rn";
+
+        assertEquals(new LatexToUnicode().format(value), cache.format(value));
+        assertEquals(new LatexToUnicode().format(value), cache.format(value));
+    }
+
+    @Test
+    public void getCacheFileIsNextToDatabase() {
+        assertEquals(Paths.get("dir", "test.bib.unicode-cache"),
+                LatexToUnicodeCache.getCacheFile(Paths.get("dir", "test.bib")));
+    }
+
+    @Test
+    public void readReturnsWrittenConversions() throws IOException {
+        LatexToUnicodeCache cache = new LatexToUnicodeCache(10);
+        cache.format("{\\\"{a}}");
+        Path databaseFile = createDatabaseFile("@article{a, title = {{\\\"{a}}}}");
+        Path file = temporaryFolder.newFile().toPath();
+        cache.write(file, databaseFile, Arrays.asList("{\\\"{a}}", "not cached"));
+
+        LatexToUnicodeCache otherCache = new LatexToUnicodeCache(10);
+
+        assertTrue(otherCache.read(file, databaseFile));
+        assertEquals("ä", otherCache.format("{\\\"{a}}"));
+    }
+
+    @Test
+    public void readIgnoresFileOfChangedDatabase() throws IOException {
+        LatexToUnicodeCache cache = new LatexToUnicodeCache(10);
+        cache.format("{\\\"{a}}");
+        Path databaseFile = createDatabaseFile("@article{a, title = {{\\\"{a}}}}");
+        Path file = temporaryFolder.newFile().toPath();
+        cache.write(file, databaseFile, Collections.singletonList("{\\\"{a}}"));
+        Files.write(databaseFile, "@article{b}".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(new LatexToUnicodeCache(10).read(file, databaseFile));
+    }
+
+    @Test(expected = IOException.class)
+    public void readRejectsCorruptLength() throws IOException {
+        Path databaseFile = createDatabaseFile("@article{a}");
+        Path file = temporaryFolder.newFile().toPath();
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(2);
+            out.writeInt(-1);
+        }
+
+        new LatexToUnicodeCache(10).read(file, databaseFile);
+    }
+
+    private Path createDatabaseFile(String content) throws IOException {
+        Path databaseFile = temporaryFolder.newFile().toPath();
+        Files.write(databaseFile, content.getBytes(StandardCharsets.UTF_8));
+        return databaseFile;
+    }
+}
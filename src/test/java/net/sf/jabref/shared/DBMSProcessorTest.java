@@ -2,6 +2,7 @@ package net.sf.jabref.shared;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -92,6 +93,35 @@ public class DBMSProcessorTest {
         Assert.assertEquals(expectedFieldMap, actualFieldMap);
     }
 
+    @Test
+    public void testInsertEntries() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = new BibEntry();
+        secondEntry.setType("article");
+        secondEntry.setField("author", "Author");
+        BibEntry thirdEntry = new BibEntry();
+        thirdEntry.setType("book");
+
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry, thirdEntry));
+
+        Assert.assertNotEquals(-1, firstEntry.getSharedBibEntryData().getSharedID());
+        Assert.assertNotEquals(-1, secondEntry.getSharedBibEntryData().getSharedID());
+        Assert.assertNotEquals(-1, thirdEntry.getSharedBibEntryData().getSharedID());
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry, thirdEntry), dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    public void testInsertEntriesSkipsExistingEntries() {
+        BibEntry existingEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(existingEntry);
+        BibEntry newEntry = new BibEntry();
+        newEntry.setType("article");
+
+        dbmsProcessor.insertEntries(Arrays.asList(existingEntry, newEntry));
+
+        Assert.assertEquals(Arrays.asList(existingEntry, newEntry), dbmsProcessor.getSharedEntries());
+    }
+
     @Test
     public void testUpdateEntry() throws OfflineLockException, SQLException {
         BibEntry expectedEntry = getBibEntryExample();
@@ -170,6 +200,40 @@ public class DBMSProcessorTest {
         Assert.assertEquals(expectedEntries, actualEntries);
     }
 
+    @Test
+    public void testGetSharedEntriesByID() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = new BibEntry();
+        secondEntry.setType("article");
+        secondEntry.setField("author", "Author");
+        BibEntry thirdEntry = new BibEntry();
+        thirdEntry.setType("book");
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry, thirdEntry));
+
+        List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries(
+                Arrays.asList(thirdEntry.getSharedBibEntryData().getSharedID(),
+                        firstEntry.getSharedBibEntryData().getSharedID()));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, thirdEntry), actualEntries);
+    }
+
+    @Test
+    public void testForEachSharedEntry() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = new BibEntry();
+        secondEntry.setType("book");
+        BibEntry thirdEntry = new BibEntry();
+        thirdEntry.setType("article");
+        thirdEntry.setField("author", "Author");
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry, thirdEntry));
+
+        List<BibEntry> actualEntries = new ArrayList<>();
+        dbmsProcessor.setFetchSize(1);
+        dbmsProcessor.forEachSharedEntry(actualEntries::add);
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry, thirdEntry), actualEntries);
+    }
+
     @Test
     public void testGetSharedEntry() {
         BibEntry expectedBibEntry = getBibEntryExampleWithEmptyFields();
@@ -211,6 +275,79 @@ public class DBMSProcessorTest {
 
     }
 
+    @Test
+    public void testGetSharedIDVersionMappingAboveWatermarks() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        BibEntry thirdEntry = getBibEntryExample();
+
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        int sharedIDWatermark = secondEntry.getSharedBibEntryData().getSharedID();
+        dbmsProcessor.updateEntry(firstEntry);
+        dbmsProcessor.insertEntry(thirdEntry);
+
+        Map<Integer, Integer> expectedIDVersionMap = new HashMap<>();
+        expectedIDVersionMap.put(firstEntry.getSharedBibEntryData().getSharedID(), 2);
+        expectedIDVersionMap.put(thirdEntry.getSharedBibEntryData().getSharedID(), 1);
+
+        Map<Integer, Integer> actualIDVersionMap = dbmsProcessor.getSharedIDVersionMapping(1, sharedIDWatermark);
+
+        Assert.assertEquals(expectedIDVersionMap, actualIDVersionMap);
+    }
+
+    @Test
+    public void testUpdateEntryAssignsHighestVersion() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.updateEntry(firstEntry);
+        dbmsProcessor.updateEntry(secondEntry);
+
+        Map<Integer, Integer> expectedIDVersionMap = new HashMap<>();
+        expectedIDVersionMap.put(firstEntry.getSharedBibEntryData().getSharedID(), 2);
+        expectedIDVersionMap.put(secondEntry.getSharedBibEntryData().getSharedID(), 3);
+
+        Assert.assertEquals(expectedIDVersionMap, dbmsProcessor.getSharedIDVersionMapping());
+    }
+
+    @Test
+    public void testVersionCounterStartsAtHighestExistingVersion() throws OfflineLockException, SQLException {
+        BibEntry bibEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(bibEntry);
+
+        // simulate a shared database set up by an older version
+        dbmsConnection.getConnection().createStatement().executeUpdate("UPDATE " + escape("ENTRY") + " SET "
+                + escape("VERSION") + " = 5");
+        dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE " + escape("VERSION_COUNTER"));
+        Assert.assertFalse(dbmsProcessor.checkBaseIntegrity());
+
+        dbmsProcessor.setupSharedDatabase();
+        bibEntry.getSharedBibEntryData().setVersion(5);
+        dbmsProcessor.updateEntry(bibEntry);
+
+        Map<Integer, Integer> expectedIDVersionMap = new HashMap<>();
+        expectedIDVersionMap.put(bibEntry.getSharedBibEntryData().getSharedID(), 6);
+
+        Assert.assertEquals(expectedIDVersionMap, dbmsProcessor.getSharedIDVersionMapping());
+    }
+
+    @Test
+    public void testHasSharedEntryCountAndVersionSum() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.updateEntry(secondEntry);
+
+        Assert.assertTrue(dbmsProcessor.hasSharedEntryCountAndVersionSum(2, 3));
+        Assert.assertFalse(dbmsProcessor.hasSharedEntryCountAndVersionSum(2, 2));
+        Assert.assertFalse(dbmsProcessor.hasSharedEntryCountAndVersionSum(1, 3));
+    }
+
     @Test
     public void testGetSharedMetaData() {
         insertMetaData("databaseType", "bibtex;");